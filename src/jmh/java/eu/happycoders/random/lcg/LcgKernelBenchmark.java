@@ -0,0 +1,87 @@
+package eu.happycoders.random.lcg;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares generating {@code nextInt()} outputs of the java.util.Random LCG one step per output
+ * with the batch methods of {@link LcgKernel}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LcgKernelBenchmark {
+
+  @Param({"1024", "65536"})
+  int size;
+
+  int[] ints;
+  long seed;
+  Random random;
+  LcgKernel kernel;
+
+  @Setup
+  public void setUp() {
+    ints = new int[size];
+    seed = 4711;
+    random = new Random(4711);
+    kernel = LcgKernel.javaUtilRandom();
+  }
+
+  @Benchmark
+  public int[] randomNextInt() {
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = random.nextInt();
+    }
+    return ints;
+  }
+
+  @Benchmark
+  public int[] perCallStepping() {
+    long s = seed;
+    for (int i = 0; i < ints.length; i++) {
+      s = LcgKernel.nextSeed(s);
+      ints[i] = LcgKernel.intFromSeed(s);
+    }
+    seed = s;
+    return ints;
+  }
+
+  @Benchmark
+  public int[] batchesOf4() {
+    long s = seed;
+    for (int i = 0; i < ints.length; i += 4) {
+      s = LcgKernel.nextInts4(s, ints, i);
+    }
+    seed = s;
+    return ints;
+  }
+
+  @Benchmark
+  public int[] batchesOf8() {
+    seed = LcgKernel.nextInts(seed, ints, 0, ints.length);
+    return ints;
+  }
+
+  @Benchmark
+  public int[] parameterizedBatchesOf4() {
+    seed = kernel.outputs(seed, ints, 0, ints.length);
+    return ints;
+  }
+}
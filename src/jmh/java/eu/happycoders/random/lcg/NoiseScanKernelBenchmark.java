@@ -0,0 +1,65 @@
+package eu.happycoders.random.lcg;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar {@link NoiseScanKernel} with the one selected by {@link
+ * NoiseScanKernels#get()}.
+ *
+ * <p>The forks are started with {@code --add-modules jdk.incubator.vector}, so that the "best"
+ * kernel is the Vector API kernel if the benchmarks were built with {@code mvn -Pjmh,vector
+ * package}. Otherwise, both parameters measure the scalar kernel; {@link #setUp()} prints which
+ * kernel is used.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class NoiseScanKernelBenchmark {
+
+  @Param({"scalar", "best"})
+  String kernelName;
+
+  NoiseScanKernel kernel;
+  int[] nextInts;
+  int[] noises;
+  long seedBase;
+  int nextInt;
+
+  @Setup
+  public void setUp() {
+    kernel = kernelName.equals("scalar") ? NoiseScanKernels.scalar() : NoiseScanKernels.get();
+    System.out.printf("%nKernel: %s%n", kernel);
+
+    nextInts = new int[NoiseScanKernel.NUMBER_OF_NOISES];
+    noises = new int[4];
+    seedBase = 0x1234_5678_0000L;
+    nextInt = LcgKernel.intFromSeed(LcgKernel.nextSeed(seedBase | 0x9ABC));
+  }
+
+  @Benchmark
+  public int findMatchingNoises() {
+    return kernel.findMatchingNoises(seedBase, nextInt, noises);
+  }
+
+  @Benchmark
+  public int[] nextInts() {
+    kernel.nextInts(seedBase, nextInts);
+    return nextInts;
+  }
+}
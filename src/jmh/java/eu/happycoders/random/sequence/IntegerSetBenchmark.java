@@ -0,0 +1,92 @@
+package eu.happycoders.random.sequence;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the duplicate detection strategies for {@link RandomIntegerPairRepetitionFinder}: the
+ * {@link HashSet} variants listed in its comments and {@link IntHashSet}.
+ *
+ * <p>Each invocation checks the 2<sup>16</sup> successors of the next first number for duplicates;
+ * multiply the average time by 2<sup>32</sup> to estimate the time for all first numbers.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerSetBenchmark {
+
+  private static final int SEED_NOISE_BITS = 16;
+  private static final int NUMBER_OF_POSSIBLE_SEEDS = 1 << SEED_NOISE_BITS;
+
+  @Param({
+    "newHashSet",
+    "newHashSet65536",
+    "newHashSet131072",
+    "newHashSet262144",
+    "sharedHashSet",
+    "sharedIntHashSet"
+  })
+  String strategy;
+
+  /** Called once per first number; returns an "add" function that returns false for duplicates. */
+  private Supplier<IntPredicate> setSupplier;
+
+  private int firstNumber;
+
+  @Setup
+  public void setUp() {
+    Set<Integer> sharedHashSet = new HashSet<>();
+    IntHashSet sharedIntHashSet = new IntHashSet(NUMBER_OF_POSSIBLE_SEEDS);
+    setSupplier =
+        switch (strategy) {
+          case "newHashSet" -> () -> new HashSet<Integer>()::add;
+          case "newHashSet65536" -> () -> new HashSet<Integer>(65_536)::add;
+          case "newHashSet131072" -> () -> new HashSet<Integer>(131_072)::add;
+          case "newHashSet262144" -> () -> new HashSet<Integer>(262_144)::add;
+          case "sharedHashSet" -> () -> {
+            sharedHashSet.clear();
+            return sharedHashSet::add;
+          };
+          case "sharedIntHashSet" -> () -> {
+            sharedIntHashSet.clear();
+            return sharedIntHashSet::add;
+          };
+          default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+  }
+
+  /** Returns the number of duplicates among the successors of the next first number. */
+  @Benchmark
+  public int findPairRepetition() {
+    IntPredicate add = setSupplier.get();
+    long firstNumberSeedBase = Integer.toUnsignedLong(firstNumber++) << SEED_NOISE_BITS;
+    int duplicates = 0;
+    for (int noise = 0; noise < NUMBER_OF_POSSIBLE_SEEDS; noise++) {
+      long seed = firstNumberSeedBase | noise;
+      if (!add.test(LcgKernel.intFromSeed(LcgKernel.nextSeed(seed)))) {
+        duplicates++;
+      }
+    }
+    return duplicates;
+  }
+}
@@ -0,0 +1,71 @@
+package eu.happycoders.random.sequence;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Shows that the time per scanned number of {@link MultiPatternSequenceFinder} hardly depends on
+ * the number of patterns, as long as the hash index fits into the CPU caches. {@code generateOnly}
+ * measures the generator alone, as a baseline.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiPatternSequenceFinderBenchmark {
+
+  private static final int NUMBERS_PER_INVOCATION = 1_000_000;
+
+  @Param({"1", "100", "10000", "1000000"})
+  int numberOfPatterns;
+
+  private int[][] patterns;
+  private final SplittableRandom random = new SplittableRandom(42);
+  private MultiPatternSequenceFinder finder;
+
+  @Setup
+  public void setUp() {
+    patterns =
+        MultiPatternSequenceFinder.prefixesOfSeeds(
+            8, LongStream.range(0, numberOfPatterns).toArray());
+  }
+
+  @Setup(Level.Invocation)
+  public void createFinder() {
+    finder = new MultiPatternSequenceFinder(random, NUMBERS_PER_INVOCATION, false, patterns);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUMBERS_PER_INVOCATION)
+  public Object scan() {
+    return finder.run();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUMBERS_PER_INVOCATION)
+  public long generateOnly() {
+    long blackhole = 0;
+    for (int i = 0; i < NUMBERS_PER_INVOCATION; i++) {
+      blackhole += random.nextInt();
+    }
+    return blackhole;
+  }
+}
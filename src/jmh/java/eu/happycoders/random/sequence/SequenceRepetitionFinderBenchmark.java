@@ -0,0 +1,98 @@
+package eu.happycoders.random.sequence;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the comparison loop of {@link SequenceRepetitionFinder} with a replayed sequence that,
+ * like the sequences in the unit tests, contains many partial matches of the stored sequence.
+ * Matches are passed to a no-op listener so that printing them doesn't distort the result.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SequenceRepetitionFinderBenchmark {
+
+  private static final int BODY_LENGTH = 100_000;
+
+  @Param({"8", "100"})
+  int storedSequenceLength;
+
+  private int[] numbers;
+  private long randomSequenceLength;
+
+  @Setup
+  public void setUp() {
+    int[] storedSequence = new int[storedSequenceLength];
+    Arrays.setAll(storedSequence, i -> i + 1);
+
+    // Body: prefixes of the stored sequence of varying length, each followed by a non-matching
+    // number, so that several sequences are being compared at the same time
+    int[] body = new int[BODY_LENGTH];
+    int position = 0;
+    int prefixLength = 1;
+    while (position < BODY_LENGTH) {
+      for (int i = 0; i < prefixLength && position < BODY_LENGTH; i++) {
+        body[position++] = storedSequence[i];
+      }
+      if (position < BODY_LENGTH) {
+        body[position++] = 1; // starts the next candidate before the previous one ends
+      }
+      prefixLength = prefixLength % (storedSequenceLength - 1) + 1;
+    }
+
+    numbers = new int[storedSequenceLength + BODY_LENGTH + storedSequenceLength];
+    System.arraycopy(storedSequence, 0, numbers, 0, storedSequenceLength);
+    System.arraycopy(body, 0, numbers, storedSequenceLength, BODY_LENGTH);
+    System.arraycopy(
+        storedSequence, 0, numbers, storedSequenceLength + BODY_LENGTH, storedSequenceLength);
+    randomSequenceLength = storedSequenceLength + BODY_LENGTH;
+  }
+
+  @Benchmark
+  public SequenceRepetitionFinder.Result run() {
+    return new SequenceRepetitionFinder(
+            new ReplayingRandomGenerator(numbers),
+            randomSequenceLength,
+            storedSequenceLength,
+            (matchLength, sequenceStartPosition) -> {})
+        .run();
+  }
+
+  /** Returns the given numbers in order, like the mocked generators in the unit tests. */
+  private static class ReplayingRandomGenerator implements RandomGenerator {
+    private final int[] numbers;
+    private int position;
+
+    private ReplayingRandomGenerator(int[] numbers) {
+      this.numbers = numbers;
+    }
+
+    @Override
+    public int nextInt() {
+      return numbers[position++];
+    }
+
+    @Override
+    public long nextLong() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package eu.happycoders.random.threads;
+
+import eu.happycoders.random.util.StripedRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH version of the {@code *MultipleThreadsDemo} classes: measures {@code nextInt()} of a shared
+ * {@link Random}, a shared {@link StripedRandom}, a {@link Random} per thread, {@link
+ * ThreadLocalRandom}, a {@link SplittableRandom} per thread, and a generator per thread for each
+ * {@link RandomGeneratorFactory} algorithm.
+ *
+ * <p>Run with {@link RandomGeneratorBenchmarkRunner} to measure 1 to N threads and write the
+ * results as JSON, or directly via {@code java -jar target/benchmarks.jar RandomGeneratorBenchmark
+ * -t 4}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomGeneratorBenchmark {
+
+  /** One {@link Random} shared by all threads, like in {@link RandomMultipleThreadsDemo}. */
+  @State(Scope.Benchmark)
+  public static class SharedRandom {
+    final Random random = new Random();
+  }
+
+  /**
+   * One {@link StripedRandom} shared by all threads, like in {@link
+   * StripedRandomMultipleThreadsDemo}.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedStripedRandom {
+    final StripedRandom random = new StripedRandom();
+  }
+
+  /** One {@link Random} per thread, like in {@link MultipleRandomMultipleThreadsDemo}. */
+  @State(Scope.Thread)
+  public static class PerThreadRandom {
+    final Random random = new Random();
+  }
+
+  @State(Scope.Thread)
+  public static class PerThreadSplittableRandom {
+    final SplittableRandom random = new SplittableRandom();
+  }
+
+  /** One generator per thread, created by the {@link RandomGeneratorFactory} of the algorithm. */
+  @State(Scope.Thread)
+  public static class PerThreadGenerator {
+    @Param({
+      "L32X64MixRandom",
+      "L64X128MixRandom",
+      "L64X128StarStarRandom",
+      "L64X256MixRandom",
+      "L64X1024MixRandom",
+      "L128X128MixRandom",
+      "L128X256MixRandom",
+      "L128X1024MixRandom",
+      "Xoroshiro128PlusPlus",
+      "Xoshiro256PlusPlus",
+      "SplittableRandom",
+      "Random",
+      "SecureRandom"
+    })
+    String algorithm;
+
+    RandomGenerator random;
+
+    @Setup
+    public void setUp() {
+      random = RandomGeneratorFactory.of(algorithm).create();
+    }
+  }
+
+  @Benchmark
+  public int sharedRandom(SharedRandom state) {
+    return state.random.nextInt();
+  }
+
+  @Benchmark
+  public int sharedStripedRandom(SharedStripedRandom state) {
+    return state.random.nextInt();
+  }
+
+  @Benchmark
+  public int perThreadRandom(PerThreadRandom state) {
+    return state.random.nextInt();
+  }
+
+  @Benchmark
+  public int threadLocalRandom() {
+    return ThreadLocalRandom.current().nextInt();
+  }
+
+  @Benchmark
+  public int perThreadSplittableRandom(PerThreadSplittableRandom state) {
+    return state.random.nextInt();
+  }
+
+  @Benchmark
+  public int perThreadGenerator(PerThreadGenerator state) {
+    return state.random.nextInt();
+  }
+}
@@ -0,0 +1,57 @@
+package eu.happycoders.random.threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.random.RandomGeneratorFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link RandomGeneratorBenchmark} with 1 to N threads and writes one JSON result file per
+ * thread count, named {@code random-generators-<release>-t<threads>.json}. The JSON files contain
+ * the throughput (ops/µs) and the latency percentiles of the sample time mode.
+ *
+ * <p>Parameters: [max. number of threads (default: number of cores), output directory (default:
+ * target/jmh), release name (default: "snapshot")]. All {@link RandomGeneratorFactory} algorithms
+ * of the running JVM are measured, not only those listed in the benchmark's {@code @Param}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class RandomGeneratorBenchmarkRunner {
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    int maxThreads =
+        args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    Path outputDirectory = Path.of(args.length > 1 ? args[1] : "target/jmh");
+    String release = args.length > 2 ? args[2] : "snapshot";
+
+    Files.createDirectories(outputDirectory);
+
+    String[] algorithms =
+        RandomGeneratorFactory.all()
+            .map(RandomGeneratorFactory::name)
+            .sorted()
+            .toArray(String[]::new);
+
+    for (int threads = 1; threads <= maxThreads; threads++) {
+      Path resultFile =
+          outputDirectory.resolve("random-generators-" + release + "-t" + threads + ".json");
+
+      Options options =
+          new OptionsBuilder()
+              .include(RandomGeneratorBenchmark.class.getName())
+              .threads(threads)
+              .param("algorithm", algorithms)
+              .resultFormat(ResultFormatType.JSON)
+              .result(resultFile.toString())
+              .build();
+
+      new Runner(options).run();
+      System.out.printf("Results for %d thread(s) written to %s%n", threads, resultFile);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package eu.happycoders.random.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link RandomStringGenerator} with the per-character {@code StringBuilder} loop that
+ * {@link RandomUtils#randomString(int, String)} used before, and with {@link
+ * RandomUtils#randomStringWithStream(int, String)}. Run with {@code -prof gc} to see the allocation
+ * rates.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomStringBenchmark {
+
+  private static final String ALPHABET =
+      " 0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+  private static final RandomStringGenerator GENERATOR = new RandomStringGenerator(ALPHABET);
+
+  @Param({"16", "256"})
+  int length;
+
+  private final StringBuilder sink = new StringBuilder();
+
+  @Benchmark
+  public String stringBuilderLoop() {
+    StringBuilder sb = new StringBuilder();
+    Random r = ThreadLocalRandom.current();
+    for (int i = 0; i < length; i++) {
+      sb.append(ALPHABET.charAt(r.nextInt(ALPHABET.length())));
+    }
+    return sb.toString();
+  }
+
+  @Benchmark
+  public String stream() {
+    return RandomUtils.randomStringWithStream(length, ALPHABET);
+  }
+
+  @Benchmark
+  public String randomUtilsRandomString() {
+    return RandomUtils.randomString(length, ALPHABET);
+  }
+
+  @Benchmark
+  public String generatorNextString() {
+    return GENERATOR.nextString(length);
+  }
+
+  @Benchmark
+  public StringBuilder generatorAppendToReusedBuilder() {
+    sink.setLength(0);
+    GENERATOR.appendTo(ThreadLocalRandom.current(), sink, length);
+    return sink;
+  }
+}
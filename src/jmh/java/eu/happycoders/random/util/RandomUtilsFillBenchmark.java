@@ -0,0 +1,133 @@
+package eu.happycoders.random.util;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the bulk {@code fill} methods of {@link RandomUtils} with per-element loops.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomUtilsFillBenchmark {
+
+  private static final int ORIGIN = 10;
+  private static final int BOUND = 1_000;
+
+  @Param({"1024", "65536"})
+  int size;
+
+  int[] ints;
+  long[] longs;
+  double[] doubles;
+  byte[] bytes;
+  ByteBuffer heapBuffer;
+  ByteBuffer directBuffer;
+
+  @Setup
+  public void setUp() {
+    ints = new int[size];
+    longs = new long[size];
+    doubles = new double[size];
+    bytes = new byte[size];
+    heapBuffer = ByteBuffer.allocate(size);
+    directBuffer = ByteBuffer.allocateDirect(size);
+  }
+
+  @Benchmark
+  public int[] intsPerElementWithRandomUtilsNextInt() {
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = RandomUtils.nextInt(ThreadLocalRandom.current(), ORIGIN, BOUND);
+    }
+    return ints;
+  }
+
+  @Benchmark
+  public int[] intsPerElementWithThreadLocalRandom() {
+    for (int i = 0; i < ints.length; i++) {
+      ints[i] = ThreadLocalRandom.current().nextInt(ORIGIN, BOUND);
+    }
+    return ints;
+  }
+
+  @Benchmark
+  public int[] intsFill() {
+    RandomUtils.fill(ints, ORIGIN, BOUND);
+    return ints;
+  }
+
+  @Benchmark
+  public long[] longsPerElement() {
+    for (int i = 0; i < longs.length; i++) {
+      longs[i] = ThreadLocalRandom.current().nextLong();
+    }
+    return longs;
+  }
+
+  @Benchmark
+  public long[] longsFill() {
+    RandomUtils.fill(longs);
+    return longs;
+  }
+
+  @Benchmark
+  public double[] doublesPerElement() {
+    for (int i = 0; i < doubles.length; i++) {
+      doubles[i] = ThreadLocalRandom.current().nextDouble();
+    }
+    return doubles;
+  }
+
+  @Benchmark
+  public double[] doublesFill() {
+    RandomUtils.fill(doubles);
+    return doubles;
+  }
+
+  @Benchmark
+  public byte[] bytesWithNextBytes() {
+    ((Random) ThreadLocalRandom.current()).nextBytes(bytes);
+    return bytes;
+  }
+
+  @Benchmark
+  public ByteBuffer heapBufferPerByte() {
+    heapBuffer.clear();
+    while (heapBuffer.hasRemaining()) {
+      heapBuffer.put((byte) ThreadLocalRandom.current().nextInt());
+    }
+    return heapBuffer;
+  }
+
+  @Benchmark
+  public ByteBuffer heapBufferFill() {
+    heapBuffer.clear();
+    RandomUtils.fill(heapBuffer);
+    return heapBuffer;
+  }
+
+  @Benchmark
+  public ByteBuffer directBufferFill() {
+    directBuffer.clear();
+    RandomUtils.fill(directBuffer);
+    return directBuffer;
+  }
+}
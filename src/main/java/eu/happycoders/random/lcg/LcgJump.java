@@ -0,0 +1,105 @@
+package eu.happycoders.random.lcg;
+
+/**
+ * Jumps ahead (or back) in the sequence of states of the java.util.{@link java.util.Random} LCG
+ * {@code s' = (s * multiplier + addend) mod 2^48} in O(log n) steps instead of n steps.
+ *
+ * <p>Applying the LCG twice gives another LCG: {@code s'' = s * multiplier^2 + addend * (multiplier
+ * + 1)}. By squaring the step function and combining the squares selected by the bits of {@code n},
+ * the LCG for n steps is composed with at most 48 squarings (Brown, "Random Number Generation with
+ * Arbitrary Strides", 1994). Since the LCG has a full period of 2<sup>48</sup>, stepping back n
+ * steps is the same as stepping ahead {@code 2^48 - n} steps; for single steps back, {@link
+ * #previousState(long)} uses the modular inverse of the multiplier.
+ *
+ * <p>States are internal 48-bit states of {@code Random} (not the scrambled value passed to {@code
+ * setSeed()}). The output of {@code nextInt()} is the upper 32 bits of the state <i>after</i> the
+ * call.
+ *
+ * <p>Instances represent a fixed jump distance and can be applied to many states, e.g., to split
+ * the sequence into segments of equal length.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class LcgJump {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  /** {@code multiplier * inverseMultiplier = 1 (mod 2^48)}. */
+  private static final long inverseMultiplier = 0xDFE05BCB1365L;
+
+  /** The period of the LCG, i.e., the number of different states. */
+  public static final long PERIOD = 1L << 48;
+
+  private final long steps;
+  private final long jumpMultiplier;
+  private final long jumpAddend;
+
+  private LcgJump(long steps, long jumpMultiplier, long jumpAddend) {
+    this.steps = steps;
+    this.jumpMultiplier = jumpMultiplier;
+    this.jumpAddend = jumpAddend;
+  }
+
+  /**
+   * Creates a jump over the given number of steps. Negative numbers jump backwards; all numbers are
+   * taken modulo the period 2<sup>48</sup>.
+   */
+  public static LcgJump of(long steps) {
+    long n = steps & mask;
+
+    // Invariant: (accMultiplier, accAddend) = LCG for the bits of n processed so far,
+    // (curMultiplier, curAddend) = LCG for 2^i steps. Overflowing 64-bit arithmetic is fine, as
+    // only the lower 48 bits are used.
+    long accMultiplier = 1;
+    long accAddend = 0;
+    long curMultiplier = multiplier;
+    long curAddend = addend;
+    while (n != 0) {
+      if ((n & 1) != 0) {
+        accMultiplier *= curMultiplier;
+        accAddend = accAddend * curMultiplier + curAddend;
+      }
+      curAddend = (curMultiplier + 1) * curAddend;
+      curMultiplier *= curMultiplier;
+      n >>>= 1;
+    }
+
+    return new LcgJump(steps & mask, accMultiplier & mask, accAddend & mask);
+  }
+
+  /** Returns the number of steps of this jump, in the range [0, 2<sup>48</sup>). */
+  public long steps() {
+    return steps;
+  }
+
+  /** Returns the state this jump leads to from the given state. */
+  public long apply(long state) {
+    return (state * jumpMultiplier + jumpAddend) & mask;
+  }
+
+  /** Returns the state after the given number of steps (negative: before). */
+  public static long stateAfter(long state, long steps) {
+    return of(steps).apply(state);
+  }
+
+  /** Returns the state following the given state. */
+  public static long nextState(long state) {
+    return LcgKernel.nextSeed(state);
+  }
+
+  /** Returns the state preceding the given state. */
+  public static long previousState(long state) {
+    return ((state - addend) * inverseMultiplier) & mask;
+  }
+
+  /**
+   * Returns the n-th {@code nextInt()} output relative to the given state: {@code n = 1} is the
+   * next output, {@code n = 2} the one after it; {@code n = 0} is the output of the call that led
+   * to the given state, {@code n = -1} the one before it.
+   */
+  public static int nthInt(long state, long n) {
+    return (int) (stateAfter(state, n) >>> 16);
+  }
+}
@@ -0,0 +1,46 @@
+package eu.happycoders.random.lcg;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Calculates the billionth {@code nextInt()} output of a {@link Random} by calling {@code
+ * nextInt()} a billion times and by jumping ahead with {@link LcgJump}, and compares the times.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class LcgJumpDemo {
+
+  private static final long SEED = 4711;
+  private static final int N = 1_000_000_000;
+  private static final int JUMPS = 1_000_000;
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long mask = LcgKernel.mask;
+
+  public static void main(String[] args) {
+    long time = System.currentTimeMillis();
+    Random random = new Random(SEED);
+    int stepped = 0;
+    for (int i = 0; i < N; i++) {
+      stepped = random.nextInt();
+    }
+    time = System.currentTimeMillis() - time;
+    System.out.printf(Locale.US, "Stepping: %,d numbers -> %d in %,d ms%n", N, stepped, time);
+
+    long initialState = (SEED ^ multiplier) & mask;
+    long blackhole = 0;
+    long nanos = System.nanoTime();
+    for (int i = 0; i < JUMPS; i++) {
+      blackhole += LcgJump.nthInt(initialState, N - (i & 1));
+    }
+    nanos = System.nanoTime() - nanos;
+    System.out.printf(
+        Locale.US,
+        "Jumping:  %,d numbers -> %d in %,.0f ns per jump; blackhole = %d%n",
+        N,
+        LcgJump.nthInt(initialState, N),
+        (double) nanos / JUMPS,
+        blackhole);
+  }
+}
@@ -0,0 +1,205 @@
+package eu.happycoders.random.lcg;
+
+/**
+ * The hot path of truncated linear congruential generators: {@code s' = (s * multiplier + addend)
+ * mod 2^stateBits}, output = the upper {@code outputBits} bits of the state.
+ *
+ * <p>The static methods implement the LCG of java.util.{@link java.util.Random} with compile-time
+ * constants, so the JIT inlines them into the caller's loop. Seeds are internal 48-bit states, as
+ * in {@link LcgJump}; the output of {@code nextInt()} is the upper 32 bits of the seed after the
+ * call.
+ *
+ * <p>Stepping the LCG once per output is a chain of dependent multiplications: each one has to wait
+ * for the previous one. The batch methods {@link #nextInts4(long, int[], int)} and {@link
+ * #nextInts8(long, int[], int)} calculate the next 4 or 8 seeds directly from the current seed with
+ * the precomputed jumps {@code s_k = s * multiplier^k + addend_k}. These multiplications are
+ * independent of each other and can be executed in parallel by the CPU; only one multiplication per
+ * batch remains on the critical path.
+ *
+ * <p>Instances, created with {@link #of(long, long, int, int)}, do the same for other truncated
+ * LCGs, e.g., to analyze generators with different parameters.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class LcgKernel {
+
+  /** The multiplier of the java.util.Random LCG. */
+  public static final long multiplier = 0x5DEECE66DL;
+
+  /** The addend of the java.util.Random LCG. */
+  public static final long addend = 0xBL;
+
+  /** The mask of the 48-bit state of the java.util.Random LCG. */
+  public static final long mask = (1L << 48) - 1;
+
+  // Jumps over 2..8 steps of the java.util.Random LCG, calculated at compile time (the JIT
+  // treats static finals as constants)
+  private static final long multiplier2 = multiplier * multiplier;
+  private static final long multiplier3 = multiplier2 * multiplier;
+  private static final long multiplier4 = multiplier3 * multiplier;
+  private static final long multiplier5 = multiplier4 * multiplier;
+  private static final long multiplier6 = multiplier5 * multiplier;
+  private static final long multiplier7 = multiplier6 * multiplier;
+  private static final long multiplier8 = multiplier7 * multiplier;
+  private static final long addend2 = addend * multiplier + addend;
+  private static final long addend3 = addend2 * multiplier + addend;
+  private static final long addend4 = addend3 * multiplier + addend;
+  private static final long addend5 = addend4 * multiplier + addend;
+  private static final long addend6 = addend5 * multiplier + addend;
+  private static final long addend7 = addend6 * multiplier + addend;
+  private static final long addend8 = addend7 * multiplier + addend;
+
+  private final long lcgMultiplier;
+  private final long lcgAddend;
+  private final long lcgMask;
+  private final int outputShift;
+  private final long lcgMultiplier2;
+  private final long lcgMultiplier3;
+  private final long lcgMultiplier4;
+  private final long lcgAddend2;
+  private final long lcgAddend3;
+  private final long lcgAddend4;
+
+  private LcgKernel(long multiplier, long addend, int stateBits, int outputBits) {
+    this.lcgMultiplier = multiplier;
+    this.lcgAddend = addend;
+    this.lcgMask = stateBits == 64 ? -1L : (1L << stateBits) - 1;
+    this.outputShift = stateBits - outputBits;
+    this.lcgMultiplier2 = multiplier * multiplier;
+    this.lcgMultiplier3 = lcgMultiplier2 * multiplier;
+    this.lcgMultiplier4 = lcgMultiplier3 * multiplier;
+    this.lcgAddend2 = addend * multiplier + addend;
+    this.lcgAddend3 = lcgAddend2 * multiplier + addend;
+    this.lcgAddend4 = lcgAddend3 * multiplier + addend;
+  }
+
+  /**
+   * Creates a kernel for the LCG {@code s' = (s * multiplier + addend) mod 2^stateBits} whose
+   * outputs are the upper {@code outputBits} bits of the state.
+   *
+   * @throws IllegalArgumentException if {@code stateBits} is not in [1, 64] or {@code outputBits}
+   *     not in [1, min(32, stateBits)]
+   */
+  public static LcgKernel of(long multiplier, long addend, int stateBits, int outputBits) {
+    if (stateBits < 1 || stateBits > 64) {
+      throw new IllegalArgumentException("stateBits must be in [1, 64]");
+    }
+    if (outputBits < 1 || outputBits > Math.min(32, stateBits)) {
+      throw new IllegalArgumentException("outputBits must be in [1, min(32, stateBits)]");
+    }
+    return new LcgKernel(multiplier, addend, stateBits, outputBits);
+  }
+
+  /** Returns a kernel for the LCG of java.util.Random, equivalent to the static methods. */
+  public static LcgKernel javaUtilRandom() {
+    return new LcgKernel(multiplier, addend, 48, 32);
+  }
+
+  // ----- java.util.Random -----
+
+  /** Returns the seed following the given seed. */
+  public static long nextSeed(long seed) {
+    return (seed * multiplier + addend) & mask;
+  }
+
+  /** Returns the {@code nextInt()} output of the call that led to the given seed. */
+  public static int intFromSeed(long seed) {
+    // The cast drops the bits above bit 47, so the seed doesn't need to be masked
+    return (int) (seed >>> 16);
+  }
+
+  /**
+   * Writes the next 4 {@code nextInt()} outputs following the given seed to {@code dest[offset]} to
+   * {@code dest[offset + 3]}.
+   *
+   * @return the seed after the 4th output
+   */
+  public static long nextInts4(long seed, int[] dest, int offset) {
+    dest[offset] = intFromSeed(seed * multiplier + addend);
+    dest[offset + 1] = intFromSeed(seed * multiplier2 + addend2);
+    dest[offset + 2] = intFromSeed(seed * multiplier3 + addend3);
+    long seed4 = seed * multiplier4 + addend4;
+    dest[offset + 3] = intFromSeed(seed4);
+    return seed4 & mask;
+  }
+
+  /**
+   * Writes the next 8 {@code nextInt()} outputs following the given seed to {@code dest[offset]} to
+   * {@code dest[offset + 7]}.
+   *
+   * @return the seed after the 8th output
+   */
+  public static long nextInts8(long seed, int[] dest, int offset) {
+    dest[offset] = intFromSeed(seed * multiplier + addend);
+    dest[offset + 1] = intFromSeed(seed * multiplier2 + addend2);
+    dest[offset + 2] = intFromSeed(seed * multiplier3 + addend3);
+    dest[offset + 3] = intFromSeed(seed * multiplier4 + addend4);
+    dest[offset + 4] = intFromSeed(seed * multiplier5 + addend5);
+    dest[offset + 5] = intFromSeed(seed * multiplier6 + addend6);
+    dest[offset + 6] = intFromSeed(seed * multiplier7 + addend7);
+    long seed8 = seed * multiplier8 + addend8;
+    dest[offset + 7] = intFromSeed(seed8);
+    return seed8 & mask;
+  }
+
+  /**
+   * Writes the next {@code length} {@code nextInt()} outputs following the given seed to {@code
+   * dest}, starting at {@code offset}, 8 at a time.
+   *
+   * @return the seed after the last output
+   */
+  public static long nextInts(long seed, int[] dest, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    for (; i <= end - 8; i += 8) {
+      seed = nextInts8(seed, dest, i);
+    }
+    for (; i < end; i++) {
+      seed = nextSeed(seed);
+      dest[i] = intFromSeed(seed);
+    }
+    return seed;
+  }
+
+  // ----- Parameterized LCG -----
+
+  /** Returns the state following the given state. */
+  public long step(long state) {
+    return (state * lcgMultiplier + lcgAddend) & lcgMask;
+  }
+
+  /** Returns the output of the call that led to the given state. */
+  public int output(long state) {
+    return (int) ((state & lcgMask) >>> outputShift);
+  }
+
+  /**
+   * Writes the next {@code length} outputs following the given state to {@code dest}, starting at
+   * {@code offset}, 4 at a time.
+   *
+   * @return the state after the last output
+   */
+  public long outputs(long state, int[] dest, int offset, int length) {
+    int end = offset + length;
+    int i = offset;
+    for (; i <= end - 4; i += 4) {
+      dest[i] = output(state * lcgMultiplier + lcgAddend);
+      dest[i + 1] = output(state * lcgMultiplier2 + lcgAddend2);
+      dest[i + 2] = output(state * lcgMultiplier3 + lcgAddend3);
+      state = (state * lcgMultiplier4 + lcgAddend4) & lcgMask;
+      dest[i + 3] = output(state);
+    }
+    for (; i < end; i++) {
+      state = step(state);
+      dest[i] = output(state);
+    }
+    return state;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "LcgKernel[multiplier=0x%X, addend=0x%X, stateBits=%d, outputBits=%d]",
+        lcgMultiplier, lcgAddend, Long.bitCount(lcgMask), Long.bitCount(lcgMask) - outputShift);
+  }
+}
@@ -0,0 +1,36 @@
+package eu.happycoders.random.lcg;
+
+/**
+ * Scans all 2<sup>16</sup> "noise" values, i.e., the lower 16 bits of a java.util.{@link
+ * java.util.Random} seed that are not part of the {@code nextInt()} output.
+ *
+ * <p>All methods take a seed base: the 32 bits of a {@code nextInt()} output shifted left by 16
+ * bits. The seeds scanned are {@code seedBase | noise} for all noise values from 0 to 65,535.
+ *
+ * <p>Use {@link NoiseScanKernels#get()} to get the fastest implementation available at runtime.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public interface NoiseScanKernel {
+
+  int SEED_NOISE_BITS = 16;
+  int NUMBER_OF_NOISES = 1 << SEED_NOISE_BITS;
+
+  /**
+   * Finds all noise values for which the seed {@code seedBase | noise} is followed by the given
+   * {@code nextInt()} output.
+   *
+   * @param noises array to write the matching noise values to (in ascending order); if there are
+   *     more matches than the array can hold, the surplus matches are counted but not written
+   * @return the number of matching noise values
+   */
+  int findMatchingNoises(long seedBase, int nextInt, int[] noises);
+
+  /**
+   * Writes the {@code nextInt()} output following the seed {@code seedBase | noise} to {@code
+   * nextInts[noise]}, for all noise values.
+   *
+   * @param nextInts array of at least {@link #NUMBER_OF_NOISES} elements
+   */
+  void nextInts(long seedBase, int[] nextInts);
+}
@@ -0,0 +1,48 @@
+package eu.happycoders.random.lcg;
+
+/**
+ * Selects the {@link NoiseScanKernel} implementation at runtime.
+ *
+ * <p>The Vector API kernel is used if it was compiled (with the Maven profile {@code vector}), the
+ * module {@code jdk.incubator.vector} is available (start the JVM with {@code --add-modules
+ * jdk.incubator.vector}), and the CPU supports SIMD operations on at least two 64-bit lanes.
+ * Otherwise, the scalar kernel is used. Setting the system property {@value
+ * #DISABLE_VECTOR_PROPERTY} to {@code true} forces the scalar kernel.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class NoiseScanKernels {
+
+  public static final String DISABLE_VECTOR_PROPERTY = "eu.happycoders.random.disableVector";
+
+  private static final NoiseScanKernel SCALAR = new ScalarNoiseScanKernel();
+  private static final NoiseScanKernel BEST = selectBest();
+
+  private NoiseScanKernels() {}
+
+  /** Returns the fastest kernel available in this JVM. */
+  public static NoiseScanKernel get() {
+    return BEST;
+  }
+
+  /** Returns the scalar kernel, which is available in every JVM. */
+  public static NoiseScanKernel scalar() {
+    return SCALAR;
+  }
+
+  private static NoiseScanKernel selectBest() {
+    if (Boolean.getBoolean(DISABLE_VECTOR_PROPERTY)
+        || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return SCALAR;
+    }
+
+    try {
+      return (NoiseScanKernel)
+          Class.forName("eu.happycoders.random.lcg.VectorNoiseScanKernel")
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      return SCALAR;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package eu.happycoders.random.lcg;
+
+/**
+ * Scalar {@link NoiseScanKernel}, available on every JVM.
+ *
+ * <p>As {@code seedBase} has its lower 16 bits cleared, {@code (seedBase | noise) * multiplier} is
+ * the same as {@code seedBase * multiplier + noise * multiplier}. The next seed for consecutive
+ * noise values thus grows by {@code multiplier}, and the loop needs one addition instead of one
+ * multiplication per noise value. The mask only has to be applied when extracting the output.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class ScalarNoiseScanKernel implements NoiseScanKernel {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  @Override
+  public int findMatchingNoises(long seedBase, int nextInt, int[] noises) {
+    long nextSeed = seedBase * multiplier + addend;
+    int count = 0;
+    for (int noise = 0; noise < NUMBER_OF_NOISES; noise++) {
+      if ((int) ((nextSeed & mask) >>> 16) == nextInt) {
+        if (count < noises.length) {
+          noises[count] = noise;
+        }
+        count++;
+      }
+      nextSeed += multiplier;
+    }
+    return count;
+  }
+
+  @Override
+  public void nextInts(long seedBase, int[] nextInts) {
+    long nextSeed = seedBase * multiplier + addend;
+    for (int noise = 0; noise < NUMBER_OF_NOISES; noise++) {
+      nextInts[noise] = (int) ((nextSeed & mask) >>> 16);
+      nextSeed += multiplier;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "ScalarNoiseScanKernel";
+  }
+}
@@ -0,0 +1,288 @@
+package eu.happycoders.random.lcg;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * {@link NoiseScanKernel} that finds the noise values matching a {@code nextInt()} output with a
+ * table lookup instead of scanning all 2<sup>16</sup> noise values.
+ *
+ * <p>The seed following {@code seedBase | noise} is {@code (seedBase * multiplier + addend + noise
+ * * multiplier) mod 2^48}. The first summand only depends on the seed base, the second one only on
+ * the noise. The output {@code nextInt} is generated if the seed lies in {@code [nextInt << 16,
+ * (nextInt << 16) + 2^16)}, i.e., if {@code noise * multiplier mod 2^48} lies in the window of
+ * 2<sup>16</sup> values starting at {@code (nextInt << 16) - seedBase * multiplier - addend}.
+ *
+ * <p>So a single table of the 2<sup>16</sup> values {@code noise * multiplier mod 2^48} serves all
+ * seed bases. The noise values are sorted into 2<sup>16</sup> buckets by the upper 16 bits of their
+ * value; the window touches one or two buckets, which hold one noise value on average. A lookup
+ * thus takes constant time.
+ *
+ * <p>The table is built in a few milliseconds, or mapped from a file written by a previous run (see
+ * {@link #loadOrBuild(Path)}). It occupies {@value #SIZE_BYTES} bytes; mapped tables are read
+ * directly from the page cache. The file is written to a temporary file first and then moved to its
+ * final name, so a crashed or concurrent run never leaves a partially written table behind.
+ *
+ * <p>The file is in big-endian byte order:
+ *
+ * <pre>
+ * int  magic ("RNDS")
+ * int  version
+ * int[2^16 + 1] bucket starts
+ * char[2^16] noise values, sorted by bucket
+ * </pre>
+ *
+ * <p>Lookup tables are immutable and thread-safe.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class SuccessorLookupTable implements NoiseScanKernel {
+
+  private static final int MAGIC = 0x52_4E_44_53; // "RNDS"
+  private static final int VERSION = 1;
+
+  private static final int BUCKET_BITS = 16;
+  private static final int NUMBER_OF_BUCKETS = 1 << BUCKET_BITS;
+  private static final int BUCKET_SHIFT = 48 - BUCKET_BITS;
+
+  private static final int HEADER_SIZE_BYTES = 8;
+  private static final int BUCKET_STARTS_SIZE_BYTES = (NUMBER_OF_BUCKETS + 1) * Integer.BYTES;
+  private static final int NOISES_SIZE_BYTES = NUMBER_OF_NOISES * Character.BYTES;
+  private static final int SIZE_BYTES =
+      HEADER_SIZE_BYTES + BUCKET_STARTS_SIZE_BYTES + NOISES_SIZE_BYTES;
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  private final IntBuffer bucketStarts;
+  private final CharBuffer noises;
+  private final boolean mapped;
+
+  private SuccessorLookupTable(ByteBuffer buffer, boolean mapped) {
+    this.bucketStarts = buffer.slice(HEADER_SIZE_BYTES, BUCKET_STARTS_SIZE_BYTES).asIntBuffer();
+    this.noises =
+        buffer
+            .slice(HEADER_SIZE_BYTES + BUCKET_STARTS_SIZE_BYTES, NOISES_SIZE_BYTES)
+            .asCharBuffer();
+    this.mapped = mapped;
+  }
+
+  /** Builds the table in memory. */
+  public static SuccessorLookupTable build() {
+    // Counting sort of the noise values by bucket
+    int[] bucketStarts = new int[NUMBER_OF_BUCKETS + 1];
+    for (int noise = 0; noise < NUMBER_OF_NOISES; noise++) {
+      bucketStarts[bucketOf(noise * multiplier) + 1]++;
+    }
+    for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+      bucketStarts[bucket + 1] += bucketStarts[bucket];
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(SIZE_BYTES);
+    buffer.putInt(MAGIC).putInt(VERSION);
+    buffer.asIntBuffer().put(bucketStarts);
+    CharBuffer noises =
+        buffer
+            .slice(HEADER_SIZE_BYTES + BUCKET_STARTS_SIZE_BYTES, NOISES_SIZE_BYTES)
+            .asCharBuffer();
+    int[] nextPositions = bucketStarts.clone();
+    for (int noise = 0; noise < NUMBER_OF_NOISES; noise++) {
+      noises.put(nextPositions[bucketOf(noise * multiplier)]++, (char) noise);
+    }
+
+    return new SuccessorLookupTable(buffer, false);
+  }
+
+  /**
+   * Maps the table from the given file, or builds it and writes it to the file if the file does not
+   * exist or does not contain a valid lookup table (e.g., a file of an older version).
+   */
+  public static SuccessorLookupTable loadOrBuild(Path file) {
+    try {
+      if (Files.exists(file)) {
+        try {
+          return load(file);
+        } catch (IllegalStateException e) {
+          // Invalid file: rebuild it below
+        }
+      }
+      build().writeTo(file);
+      return load(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot load successor lookup table " + file, e);
+    }
+  }
+
+  private static SuccessorLookupTable load(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() != SIZE_BYTES) {
+        throw new IllegalStateException("Not a successor lookup table file: " + file);
+      }
+      // The mapping remains valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, SIZE_BYTES);
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+        throw new IllegalStateException("Not a successor lookup table file: " + file);
+      }
+      return new SuccessorLookupTable(buffer, true);
+    }
+  }
+
+  /**
+   * Writes the table to the given file, replacing the file if it exists. The table is written to a
+   * temporary file in the same directory, which is then atomically moved to the given file.
+   */
+  public void writeTo(Path file) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SIZE_BYTES);
+    buffer.putInt(MAGIC).putInt(VERSION);
+    for (int i = 0; i <= NUMBER_OF_BUCKETS; i++) {
+      buffer.putInt(bucketStarts.get(i));
+    }
+    for (int i = 0; i < NUMBER_OF_NOISES; i++) {
+      buffer.putChar(noises.get(i));
+    }
+    buffer.flip();
+
+    // A unique temporary file, so that concurrent runs don't write into the same file
+    Path directory = file.toAbsolutePath().getParent();
+    Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  public static void main(String[] args) {
+    Path file = Path.of(args.length > 0 ? args[0] : "successor-lookup-table.bin");
+
+    long time = System.nanoTime();
+    SuccessorLookupTable table = build();
+    System.out.printf(
+        Locale.US,
+        "Built table of %,d bytes in %,.3f ms%n",
+        table.sizeInBytes(),
+        (System.nanoTime() - time) / 1e6);
+
+    time = System.nanoTime();
+    table = loadOrBuild(file);
+    System.out.printf(
+        Locale.US,
+        "Loaded %s from %s in %,.3f ms%n",
+        table,
+        file,
+        (System.nanoTime() - time) / 1e6);
+
+    int[] noises = new int[4];
+    for (NoiseScanKernel kernel : new NoiseScanKernel[] {NoiseScanKernels.get(), table}) {
+      for (int round = 0; round < 3; round++) {
+        int lookups = kernel == table ? 10_000_000 : 10_000;
+        long matches = 0;
+        time = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+          long seed = (i * 0x9E3779B97F4A7C15L) & mask;
+          int nextInt = LcgKernel.intFromSeed(LcgKernel.nextSeed(seed));
+          matches += kernel.findMatchingNoises(seed & ~0xFFFFL, nextInt, noises);
+        }
+        System.out.printf(
+            Locale.US,
+            "%s: %,.1f ns per lookup (%,d matches)%n",
+            kernel,
+            (double) (System.nanoTime() - time) / lookups,
+            matches);
+      }
+    }
+  }
+
+  public int sizeInBytes() {
+    return SIZE_BYTES;
+  }
+
+  /** Returns whether the table is mapped from a file. */
+  public boolean isMapped() {
+    return mapped;
+  }
+
+  @Override
+  public int findMatchingNoises(long seedBase, int nextInt, int[] noises) {
+    long windowStart =
+        ((Integer.toUnsignedLong(nextInt) << 16) - seedBase * multiplier - addend) & mask;
+    int firstBucket = bucketOf(windowStart);
+    int lastBucket = bucketOf(windowStart + NUMBER_OF_NOISES - 1);
+
+    int count = findInBucket(firstBucket, windowStart, noises, 0);
+    if (lastBucket != firstBucket) {
+      // The window crosses a bucket boundary (or wraps around from the last bucket to the first)
+      count = findInBucket(lastBucket, windowStart, noises, count);
+    }
+    return count;
+  }
+
+  private int findInBucket(int bucket, long windowStart, int[] noises, int count) {
+    int end = bucketStarts.get(bucket + 1);
+    for (int i = bucketStarts.get(bucket); i < end; i++) {
+      int noise = this.noises.get(i);
+      if (((noise * multiplier - windowStart) & mask) < NUMBER_OF_NOISES) {
+        insertInOrder(noises, Math.min(count, noises.length), noise);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Inserts a match into the {@code written} matches written so far, in ascending order, as the
+   * buckets are not sorted by noise. If the array is full, the largest match is dropped, so that
+   * the array holds the smallest matches, as with the scanning kernels.
+   *
+   * <p>For java.util.Random, there is in fact never more than one match: the successors of two
+   * noise values differ by at least 2<sup>29.9</sup>, much more than the window size.
+   */
+  static void insertInOrder(int[] noises, int written, int noise) {
+    int i = written;
+    if (i == noises.length) {
+      if (i == 0 || noises[i - 1] < noise) {
+        return;
+      }
+      i--;
+    }
+    while (i > 0 && noises[i - 1] > noise) {
+      noises[i] = noises[i - 1];
+      i--;
+    }
+    noises[i] = noise;
+  }
+
+  /** Delegates to the fastest scanning kernel, as the table doesn't help generating all outputs. */
+  @Override
+  public void nextInts(long seedBase, int[] nextInts) {
+    NoiseScanKernels.get().nextInts(seedBase, nextInts);
+  }
+
+  private static int bucketOf(long value) {
+    return (int) ((value & mask) >>> BUCKET_SHIFT);
+  }
+
+  @Override
+  public String toString() {
+    return mapped ? "SuccessorLookupTable (mapped)" : "SuccessorLookupTable";
+  }
+}
@@ -0,0 +1,94 @@
+package eu.happycoders.random.lcg;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link NoiseScanKernel} using the incubating Vector API ({@code jdk.incubator.vector}).
+ *
+ * <p>Each lane processes one noise value. Like {@link ScalarNoiseScanKernel}, the next seeds are
+ * advanced by addition only: lane {@code i} starts at {@code seedBase * multiplier + addend + i *
+ * multiplier}, and all lanes are advanced by {@code lanes * multiplier} per iteration.
+ *
+ * <p>Only compiled with the Maven profile {@code vector} and only usable if the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}; {@link NoiseScanKernels} falls back to the scalar
+ * kernel otherwise.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class VectorNoiseScanKernel implements NoiseScanKernel {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+  private static final long outputMask = mask & ~0xFFFFL;
+
+  private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+  private static final int LANES = LONG_SPECIES.length();
+
+  private static final NoiseScanKernel SCALAR = new ScalarNoiseScanKernel();
+
+  private final LongVector laneOffsets;
+
+  VectorNoiseScanKernel() {
+    if (LANES < 2) {
+      throw new UnsupportedOperationException("No SIMD support for 64-bit lanes");
+    }
+    long[] offsets = new long[LANES];
+    for (int lane = 0; lane < LANES; lane++) {
+      offsets[lane] = lane * multiplier;
+    }
+    laneOffsets = LongVector.fromArray(LONG_SPECIES, offsets, 0);
+  }
+
+  @Override
+  public int findMatchingNoises(long seedBase, int nextInt, int[] noises) {
+    // Two independent vectors per iteration hide the latency of the add -> and -> compare chain
+    LongVector nextSeeds1 = laneOffsets.add(seedBase * multiplier + addend);
+    LongVector nextSeeds2 = nextSeeds1.add(LANES * multiplier);
+    long step = 2 * LANES * multiplier;
+    long expected = Integer.toUnsignedLong(nextInt) << 16;
+
+    int count = 0;
+    for (int noise = 0; noise < NUMBER_OF_NOISES; noise += 2 * LANES) {
+      VectorMask<Long> matches1 = nextSeeds1.and(outputMask).eq(expected);
+      VectorMask<Long> matches2 = nextSeeds2.and(outputMask).eq(expected);
+      if (matches1.or(matches2).anyTrue()) {
+        count = collectMatches(matches1, noise, noises, count);
+        count = collectMatches(matches2, noise + LANES, noises, count);
+      }
+      nextSeeds1 = nextSeeds1.add(step);
+      nextSeeds2 = nextSeeds2.add(step);
+    }
+    return count;
+  }
+
+  private static int collectMatches(VectorMask<Long> matches, int noise, int[] noises, int count) {
+    for (int lane = 0; lane < LANES; lane++) {
+      if (matches.laneIsSet(lane)) {
+        if (count < noises.length) {
+          noises[count] = noise + lane;
+        }
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Delegates to the scalar kernel. Narrowing the 64-bit lanes to 32-bit lanes (via {@code
+   * convertShape} or a two-vector {@code rearrange}) is not intrinsified by the incubating Vector
+   * API of JDK 17 and turned out several times slower than the scalar loop, which C2 already
+   * auto-vectorizes.
+   */
+  @Override
+  public void nextInts(long seedBase, int[] nextInts) {
+    SCALAR.nextInts(seedBase, nextInts);
+  }
+
+  @Override
+  public String toString() {
+    return "VectorNoiseScanKernel[" + LANES + " lanes]";
+  }
+}
@@ -0,0 +1,275 @@
+package eu.happycoders.random.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Progress and throughput metrics of a long-running search: numbers generated, candidate sequences
+ * started and dropped, matches by length, throughput and estimated remaining time.
+ *
+ * <p>The counters are {@link LongAdder}s, so any number of threads can add to them without
+ * contention. Hot loops shouldn't even do that for every number; they count into a {@link
+ * Recorder}, which consists of plain {@code long} fields owned by a single thread, and {@link
+ * Recorder#flush() flush} it every few million numbers.
+ *
+ * <p>The metrics can be registered as an MXBean (see {@link #registerMBean()}) and written as JSON
+ * lines by a {@link MetricsEmitter}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class FinderMetrics implements FinderMetricsMXBean {
+
+  private static final String DOMAIN = "eu.happycoders.random";
+
+  private final String name;
+  private final long totalNumbers;
+  private final long numbersAtStart;
+  private final long startNanos;
+
+  private final LongAdder numbersGenerated = new LongAdder();
+  private final LongAdder candidatesStarted = new LongAdder();
+  private final LongAdder candidatesDropped = new LongAdder();
+  private final LongAdder[] matchesByLength;
+
+  private ObjectName objectName;
+
+  /**
+   * Creates metrics for a search over {@code totalNumbers} numbers (0 if unknown), of which {@code
+   * numbersAtStart} were already processed by previous runs; matches are counted up to a length of
+   * {@code maxMatchLength}.
+   */
+  public FinderMetrics(String name, long totalNumbers, long numbersAtStart, int maxMatchLength) {
+    if (totalNumbers < 0 || numbersAtStart < 0 || maxMatchLength < 0) {
+      throw new IllegalArgumentException("Arguments must not be negative");
+    }
+    this.name = name;
+    this.totalNumbers = totalNumbers;
+    this.numbersAtStart = numbersAtStart;
+    this.startNanos = System.nanoTime();
+    this.matchesByLength = new LongAdder[maxMatchLength + 1];
+    for (int i = 0; i < matchesByLength.length; i++) {
+      matchesByLength[i] = new LongAdder();
+    }
+  }
+
+  /** Creates a recorder to be used by a single thread. */
+  public Recorder newRecorder() {
+    return new Recorder(this);
+  }
+
+  public void addNumbersGenerated(long count) {
+    numbersGenerated.add(count);
+  }
+
+  public void addCandidatesStarted(long count) {
+    candidatesStarted.add(count);
+  }
+
+  public void addCandidatesDropped(long count) {
+    candidatesDropped.add(count);
+  }
+
+  public void addMatches(int matchLength, long count) {
+    matchesByLength[matchLength].add(count);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getNumbersGenerated() {
+    return numbersAtStart + numbersGenerated.sum();
+  }
+
+  @Override
+  public long getCandidatesStarted() {
+    return candidatesStarted.sum();
+  }
+
+  @Override
+  public long getCandidatesDropped() {
+    return candidatesDropped.sum();
+  }
+
+  @Override
+  public long[] getMatchesByLength() {
+    long[] result = new long[matchesByLength.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = matchesByLength[i].sum();
+    }
+    return result;
+  }
+
+  @Override
+  public double getElapsedSeconds() {
+    return (System.nanoTime() - startNanos) / 1e9;
+  }
+
+  @Override
+  public double getNumbersPerSecond() {
+    double elapsedSeconds = getElapsedSeconds();
+    return elapsedSeconds == 0 ? 0 : numbersGenerated.sum() / elapsedSeconds;
+  }
+
+  @Override
+  public double getCompletionRatio() {
+    return totalNumbers == 0 ? Double.NaN : (double) getNumbersGenerated() / totalNumbers;
+  }
+
+  @Override
+  public double getEstimatedRemainingSeconds() {
+    double numbersPerSecond = getNumbersPerSecond();
+    if (totalNumbers == 0 || numbersPerSecond == 0) {
+      return Double.NaN;
+    }
+    return Math.max(0, totalNumbers - getNumbersGenerated()) / numbersPerSecond;
+  }
+
+  /**
+   * Returns a one-line status, e.g. for console output: completion, throughput, elapsed time and
+   * estimated remaining time.
+   */
+  public String progress() {
+    double remainingSeconds = getEstimatedRemainingSeconds();
+    return String.format(
+        Locale.US,
+        "completion: %.4f %% - %,.1f million numbers/s - elapsed time: %,.1f s - "
+            + "remaining time est.: %,.1f s (= %,.1f h)",
+        getCompletionRatio() * 100.0,
+        getNumbersPerSecond() / 1e6,
+        getElapsedSeconds(),
+        remainingSeconds,
+        remainingSeconds / 3_600.0);
+  }
+
+  /** Returns the current values as a single-line JSON object. */
+  public String toJson() {
+    StringBuilder sb = new StringBuilder(256);
+    sb.append("{\"name\":\"").append(escape(name)).append('"');
+    sb.append(",\"timestamp\":").append(System.currentTimeMillis());
+    sb.append(",\"elapsedSeconds\":").append(json(getElapsedSeconds()));
+    sb.append(",\"numbersGenerated\":").append(getNumbersGenerated());
+    sb.append(",\"numbersPerSecond\":").append(json(getNumbersPerSecond()));
+    sb.append(",\"candidatesStarted\":").append(getCandidatesStarted());
+    sb.append(",\"candidatesDropped\":").append(getCandidatesDropped());
+    sb.append(",\"matchesByLength\":[");
+    long[] matches = getMatchesByLength();
+    for (int i = 0; i < matches.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(matches[i]);
+    }
+    sb.append(']');
+    sb.append(",\"completionRatio\":").append(json(getCompletionRatio()));
+    sb.append(",\"estimatedRemainingSeconds\":").append(json(getEstimatedRemainingSeconds()));
+    return sb.append('}').toString();
+  }
+
+  private static String json(double value) {
+    return Double.isFinite(value) ? String.format(Locale.US, "%.3f", value) : "null";
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  /**
+   * Registers the metrics with the platform MBean server, replacing metrics registered earlier
+   * under the same name.
+   */
+  public synchronized void registerMBean() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName objectName =
+          new ObjectName(DOMAIN + ":type=FinderMetrics,name=" + ObjectName.quote(name));
+      try {
+        server.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        server.unregisterMBean(objectName);
+        server.registerMBean(this, objectName);
+      }
+      this.objectName = objectName;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register MBean for " + name, e);
+    }
+  }
+
+  /** Unregisters the metrics if they were registered by {@link #registerMBean()}. */
+  public synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (InstanceNotFoundException e) {
+      // Already replaced by other metrics of the same name
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot unregister MBean for " + name, e);
+    }
+    objectName = null;
+  }
+
+  /**
+   * Counters of a single thread, added to the shared metrics by {@link #flush()}. Not thread-safe.
+   */
+  public static final class Recorder {
+    private final FinderMetrics metrics;
+
+    private long numbersGenerated;
+    private long candidatesStarted;
+    private long candidatesDropped;
+    private final long[] matchesByLength;
+
+    private Recorder(FinderMetrics metrics) {
+      this.metrics = metrics;
+      this.matchesByLength = new long[metrics.matchesByLength.length];
+    }
+
+    public void numbersGenerated(long count) {
+      numbersGenerated += count;
+    }
+
+    public void candidateStarted() {
+      candidatesStarted++;
+    }
+
+    public void candidateDropped() {
+      candidatesDropped++;
+    }
+
+    public void match(int matchLength) {
+      matchesByLength[matchLength]++;
+    }
+
+    /** Adds the counters to the shared metrics and resets them. */
+    public void flush() {
+      if (numbersGenerated != 0) {
+        metrics.addNumbersGenerated(numbersGenerated);
+        numbersGenerated = 0;
+      }
+      if (candidatesStarted != 0) {
+        metrics.addCandidatesStarted(candidatesStarted);
+        candidatesStarted = 0;
+      }
+      if (candidatesDropped != 0) {
+        metrics.addCandidatesDropped(candidatesDropped);
+        candidatesDropped = 0;
+      }
+      for (int i = 0; i < matchesByLength.length; i++) {
+        if (matchesByLength[i] != 0) {
+          metrics.addMatches(i, matchesByLength[i]);
+          matchesByLength[i] = 0;
+        }
+      }
+    }
+  }
+}
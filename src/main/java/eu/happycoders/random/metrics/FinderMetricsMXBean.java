@@ -0,0 +1,32 @@
+package eu.happycoders.random.metrics;
+
+/**
+ * JMX view of {@link FinderMetrics}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public interface FinderMetricsMXBean {
+
+  String getName();
+
+  /** Numbers generated (or positions scanned), including those of previous, resumed runs. */
+  long getNumbersGenerated();
+
+  long getCandidatesStarted();
+
+  long getCandidatesDropped();
+
+  /** Number of matches by length (index = match length). */
+  long[] getMatchesByLength();
+
+  double getElapsedSeconds();
+
+  /** Average throughput of this run. */
+  double getNumbersPerSecond();
+
+  /** Completed fraction of the total work, between 0 and 1; NaN if the total is unknown. */
+  double getCompletionRatio();
+
+  /** Estimated remaining time based on the throughput of this run; NaN if unknown. */
+  double getEstimatedRemainingSeconds();
+}
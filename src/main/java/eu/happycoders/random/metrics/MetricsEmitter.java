@@ -0,0 +1,104 @@
+package eu.happycoders.random.metrics;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes {@link FinderMetrics} as JSON lines (one JSON object per line), e.g., to be
+ * graphed or compared between runs without parsing console output.
+ *
+ * <p>The lines are written by a daemon thread; {@link #close()} writes a final line and stops it.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class MetricsEmitter implements AutoCloseable {
+
+  /** System property with the file to append JSON lines to; no lines are written if not set. */
+  public static final String FILE_PROPERTY = "random.metrics.file";
+
+  /** System property with the interval in milliseconds; defaults to 10 seconds. */
+  public static final String INTERVAL_PROPERTY = "random.metrics.intervalMillis";
+
+  private final FinderMetrics metrics;
+  private final PrintStream out;
+  private final boolean closeOut;
+  private final ScheduledExecutorService scheduler;
+
+  private MetricsEmitter(
+      FinderMetrics metrics, PrintStream out, boolean closeOut, long intervalMillis) {
+    this.metrics = metrics;
+    this.out = out;
+    this.closeOut = closeOut;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "metrics-emitter-" + metrics.getName());
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleAtFixedRate(
+        this::emit, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Starts writing the metrics to the given stream every {@code intervalMillis} milliseconds.
+   *
+   * @throws IllegalArgumentException if {@code intervalMillis} is not positive
+   */
+  public static MetricsEmitter start(FinderMetrics metrics, PrintStream out, long intervalMillis) {
+    checkInterval(intervalMillis);
+    return new MetricsEmitter(metrics, out, false, intervalMillis);
+  }
+
+  /**
+   * Starts writing the metrics to the file given by the system property {@value #FILE_PROPERTY}, if
+   * set; returns {@code null} otherwise.
+   *
+   * @throws IllegalArgumentException if the interval given by {@value #INTERVAL_PROPERTY} is not
+   *     positive; the file is not opened in that case
+   */
+  public static MetricsEmitter startIfConfigured(FinderMetrics metrics) {
+    String file = System.getProperty(FILE_PROPERTY);
+    if (file == null || file.isBlank()) {
+      return null;
+    }
+
+    long intervalMillis = Long.getLong(INTERVAL_PROPERTY, 10_000);
+    checkInterval(intervalMillis);
+    try {
+      PrintStream out =
+          new PrintStream(new FileOutputStream(file, true), true, StandardCharsets.UTF_8);
+      return new MetricsEmitter(metrics, out, true, intervalMillis);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open metrics file " + file, e);
+    }
+  }
+
+  private static void checkInterval(long intervalMillis) {
+    if (intervalMillis <= 0) {
+      throw new IllegalArgumentException("intervalMillis must be positive");
+    }
+  }
+
+  /** Writes the current metrics as one line. */
+  public synchronized void emit() {
+    out.println(metrics.toJson());
+    out.flush();
+  }
+
+  /** Writes a final line and stops the emitter. */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    emit();
+    if (closeOut) {
+      out.close();
+    }
+  }
+}
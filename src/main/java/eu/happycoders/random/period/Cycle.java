@@ -0,0 +1,12 @@
+package eu.happycoders.random.period;
+
+/**
+ * Shape of the sequence {@code x0, f(x0), f(f(x0)), ...} of a function on a finite set: after
+ * {@code tailLength} values that are never repeated, the sequence enters a cycle of {@code period}
+ * values.
+ *
+ * @param tailLength number of values before the cycle (0 if the start value lies on the cycle)
+ * @param period length of the cycle
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public record Cycle(long tailLength, long period) {}
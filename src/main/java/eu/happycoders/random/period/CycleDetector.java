@@ -0,0 +1,105 @@
+package eu.happycoders.random.period;
+
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Finds the period and the tail length of a sequence with Brent's cycle detection algorithm.
+ *
+ * <p>Brent's algorithm keeps a single value (the "tortoise") and compares it with the values that
+ * follow (the "hare"); the tortoise is moved to the hare's position whenever the number of steps
+ * reaches a power of two. It needs O(1) memory and about {@code tail + 2 * period} steps to find
+ * the period, and another {@code tail + period} steps to find the tail length. In contrast to
+ * {@link eu.happycoders.random.sequence.SequenceRepetitionFinder}, it compares complete states, so
+ * it cannot be misled by a repetition of a stored prefix.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class CycleDetector {
+
+  private CycleDetector() {}
+
+  /**
+   * Finds the cycle of the sequence {@code start, f(start), f(f(start)), ...} of states.
+   *
+   * @throws IllegalStateException if no cycle is found within {@code maxSteps} steps
+   */
+  public static Cycle brent(long start, LongUnaryOperator transition, long maxSteps) {
+    return brent(() -> new StateSequence(start, transition), maxSteps);
+  }
+
+  /**
+   * Finds the cycle of the {@code nextLong()} outputs of the generators created by the given
+   * factory. The factory must create generators that produce the same sequence every time (i.e.,
+   * with a fixed seed).
+   *
+   * <p>This only finds the period of the generator's state if each output determines the state, as
+   * with generators that output their (complete) state or a bijective function of it. Otherwise,
+   * use {@link #brent(long, LongUnaryOperator, long)} with the state transition function.
+   *
+   * @throws IllegalStateException if no cycle is found within {@code maxSteps} steps
+   */
+  public static Cycle brentOnOutputs(
+      Supplier<? extends RandomGenerator> generatorFactory, long maxSteps) {
+    return brent(() -> generatorFactory.get()::nextLong, maxSteps);
+  }
+
+  /**
+   * Brent's algorithm on a sequence that can be restarted from its beginning; each call of the
+   * supplier returns a new iterator over the sequence.
+   */
+  private static Cycle brent(Supplier<LongSupplier> sequenceFactory, long maxSteps) {
+    // Phase 1: find the period
+    LongSupplier sequence = sequenceFactory.get();
+    long tortoise = sequence.getAsLong();
+    long hare = sequence.getAsLong();
+    long power = 1;
+    long period = 1;
+    long steps = 1;
+    while (tortoise != hare) {
+      if (power == period) {
+        tortoise = hare;
+        power <<= 1;
+        period = 0;
+      }
+      hare = sequence.getAsLong();
+      period++;
+      if (++steps > maxSteps) {
+        throw new IllegalStateException("No cycle found within " + maxSteps + " steps");
+      }
+    }
+
+    // Phase 2: find the tail length; the hare runs ahead by one period
+    LongSupplier tortoiseSequence = sequenceFactory.get();
+    LongSupplier hareSequence = sequenceFactory.get();
+    for (long i = 0; i < period; i++) {
+      hareSequence.getAsLong();
+    }
+    long tailLength = 0;
+    while (tortoiseSequence.getAsLong() != hareSequence.getAsLong()) {
+      tailLength++;
+    }
+
+    return new Cycle(tailLength, period);
+  }
+
+  /** Iterator over {@code start, f(start), f(f(start)), ...}. */
+  private static class StateSequence implements LongSupplier {
+    private final LongUnaryOperator transition;
+    private long next;
+
+    private StateSequence(long start, LongUnaryOperator transition) {
+      this.transition = transition;
+      this.next = start;
+    }
+
+    @Override
+    public long getAsLong() {
+      long current = next;
+      next = transition.applyAsLong(current);
+      return current;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package eu.happycoders.random.period;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Parallel collision search with distinguished points (van Oorschot and Wiener, "Parallel Collision
+ * Search with Cryptanalytic Applications", 1999).
+ *
+ * <p>Each worker thread repeatedly picks a random start point and applies the function until it
+ * reaches a <i>distinguished point</i>, a value whose lowest {@code d} bits are zero. The
+ * distinguished point is stored with the start point and the trail length in a shared {@link
+ * OffHeapPointTable}. If two trails from different start points reach the same distinguished point,
+ * they have merged somewhere; walking both trails again from equal distances to the distinguished
+ * point yields two different values {@code a} and {@code b} with {@code f(a) == f(b)}. The threads
+ * only communicate when they reach a distinguished point (once per 2<sup>d</sup> steps on average),
+ * so the search scales with the number of threads.
+ *
+ * <p>A state transition function with collisions is not bijective; its sequences therefore end in
+ * cycles that are (usually much) shorter than the state space.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class DistinguishedPointSearch {
+
+  /** Two different values with the same image. */
+  public record Collision(long first, long second, long image) {}
+
+  private final LongUnaryOperator function;
+  private final long stateMask;
+  private final long distinguishedMask;
+  private final long maxTrailLength;
+  private final int numberOfThreads;
+  private final OffHeapPointTable table;
+
+  private final Set<Collision> collisions = new HashSet<>();
+  private final LongAdder steps = new LongAdder();
+  private volatile boolean done;
+
+  /**
+   * Creates a search for collisions of the given function, whose domain must be {@code [0,
+   * 2^stateBits)}.
+   *
+   * @param distinguishedBits number of lowest bits that must be zero for a distinguished point
+   * @param tableSize maximum number of distinguished points to store, at most 2<sup>25</sup>
+   */
+  public DistinguishedPointSearch(
+      LongUnaryOperator function,
+      int stateBits,
+      int distinguishedBits,
+      int numberOfThreads,
+      int tableSize) {
+    if (stateBits < 1 || stateBits > 63) {
+      throw new IllegalArgumentException("stateBits must be in the range [1, 63]");
+    }
+    if (distinguishedBits < 0 || distinguishedBits >= stateBits) {
+      throw new IllegalArgumentException("distinguishedBits must be in the range [0, stateBits)");
+    }
+    if (numberOfThreads <= 0) {
+      throw new IllegalArgumentException("numberOfThreads must be positive");
+    }
+
+    this.function = function;
+    this.stateMask = (1L << stateBits) - 1;
+    this.distinguishedMask = (1L << distinguishedBits) - 1;
+    // Trails that are much longer than the expected 2^d steps are probably caught in a cycle
+    // without a distinguished point
+    this.maxTrailLength = 20L << distinguishedBits;
+    this.numberOfThreads = numberOfThreads;
+    this.table = new OffHeapPointTable(tableSize);
+  }
+
+  /**
+   * Searches until the given number of different collisions has been found or the table is full,
+   * and returns the collisions found.
+   */
+  public List<Collision> findCollisions(int numberOfCollisions, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>(numberOfThreads);
+      for (int i = 0; i < numberOfThreads; i++) {
+        SplittableRandom threadRandom = random.split();
+        futures.add(executor.submit(() -> search(numberOfCollisions, threadRandom)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for worker threads", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Worker thread failed", e.getCause());
+    } finally {
+      done = true;
+      executor.shutdownNow();
+    }
+
+    synchronized (collisions) {
+      return new ArrayList<>(collisions);
+    }
+  }
+
+  /** Returns the total number of function evaluations so far. */
+  public long steps() {
+    return steps.sum();
+  }
+
+  /** Returns the number of distinguished points stored so far. */
+  public int numberOfDistinguishedPoints() {
+    return table.size();
+  }
+
+  private void search(int numberOfCollisions, SplittableRandom random) {
+    while (!done) {
+      long start = random.nextLong() & stateMask;
+      long point = start;
+      long length = 0;
+      while ((point & distinguishedMask) != 0 && length < maxTrailLength) {
+        point = function.applyAsLong(point);
+        length++;
+      }
+      steps.add(length);
+      if (length == maxTrailLength) {
+        continue;
+      }
+
+      int slot = table.putIfAbsent(point, start, length);
+      if (slot == OffHeapPointTable.FULL) {
+        done = true;
+        return;
+      }
+      if (slot == OffHeapPointTable.ADDED) {
+        continue;
+      }
+
+      Collision collision =
+          locateCollision(start, length, table.startAt(slot), table.lengthAt(slot));
+      if (collision != null) {
+        synchronized (collisions) {
+          collisions.add(collision);
+          if (collisions.size() >= numberOfCollisions) {
+            done = true;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Walks two trails that lead to the same distinguished point from equal distances until they
+   * merge. Returns {@code null} if one start point lies on the other trail.
+   */
+  private Collision locateCollision(long a, long lengthA, long b, long lengthB) {
+    for (; lengthA > lengthB; lengthA--) {
+      a = function.applyAsLong(a);
+    }
+    for (; lengthB > lengthA; lengthB--) {
+      b = function.applyAsLong(b);
+    }
+    if (a == b) {
+      return null;
+    }
+
+    while (true) {
+      long nextA = function.applyAsLong(a);
+      long nextB = function.applyAsLong(b);
+      if (nextA == nextB) {
+        return a < b ? new Collision(a, b, nextA) : new Collision(b, a, nextA);
+      }
+      a = nextA;
+      b = nextB;
+    }
+  }
+}
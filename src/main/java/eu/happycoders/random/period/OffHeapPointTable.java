@@ -0,0 +1,101 @@
+package eu.happycoders.random.period;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Hash table of distinguished points in a direct (off-heap) {@link ByteBuffer}, with open
+ * addressing (linear probing).
+ *
+ * <p>Each entry occupies 24 bytes: the distinguished point, the start point of the trail that led
+ * to it, and the trail length plus one (so that 0 marks an empty slot). With millions of entries,
+ * this takes a fraction of the memory of a {@code HashMap<Long, ...>} and isn't scanned by the
+ * garbage collector.
+ *
+ * <p>Distinguished points are rare (one per 2<sup>d</sup> steps), so all methods simply synchronize
+ * on the table.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class OffHeapPointTable {
+
+  private static final int ENTRY_SIZE = 3 * Long.BYTES;
+  private static final int START_OFFSET = Long.BYTES;
+  private static final int LENGTH_OFFSET = 2 * Long.BYTES;
+
+  /**
+   * The largest {@code maxSize}: a {@code ByteBuffer} holds less than 2<sup>31</sup> bytes, and
+   * 2<sup>26</sup> slots of 24 bytes (for a load factor of 0.5) are the most that fit.
+   */
+  static final int MAX_SIZE = 1 << 25;
+
+  private final ByteBuffer buffer;
+  private final int mask;
+  private final int hashShift;
+  private final int maxSize;
+  private int size;
+
+  /** Creates a table for up to {@code maxSize} entries at a load factor of at most 0.5. */
+  OffHeapPointTable(int maxSize) {
+    if (maxSize <= 0 || maxSize > MAX_SIZE) {
+      throw new IllegalArgumentException("maxSize must be in the range [1, 2^25]");
+    }
+    int numberOfSlots = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+    this.buffer =
+        ByteBuffer.allocateDirect(numberOfSlots * ENTRY_SIZE).order(ByteOrder.nativeOrder());
+    this.mask = numberOfSlots - 1;
+    this.hashShift = Long.SIZE - Integer.numberOfTrailingZeros(numberOfSlots);
+    this.maxSize = maxSize;
+  }
+
+  static final int ADDED = -1;
+  static final int FULL = -2;
+
+  /**
+   * Adds the point with the given trail if it is not contained yet.
+   *
+   * @return {@link #ADDED} if the point was added, {@link #FULL} if it wasn't contained but the
+   *     table is full; otherwise the slot of the existing entry, to be read with {@link
+   *     #startAt(int)} and {@link #lengthAt(int)}
+   */
+  synchronized int putIfAbsent(long point, long start, long length) {
+    int slot = slotFor(point);
+    while (true) {
+      int offset = slot * ENTRY_SIZE;
+      if (buffer.getLong(offset + LENGTH_OFFSET) == 0) {
+        break;
+      }
+      if (buffer.getLong(offset) == point) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (size == maxSize) {
+      return FULL;
+    }
+    int offset = slot * ENTRY_SIZE;
+    buffer.putLong(offset, point);
+    buffer.putLong(offset + START_OFFSET, start);
+    buffer.putLong(offset + LENGTH_OFFSET, length + 1);
+    size++;
+    return ADDED;
+  }
+
+  synchronized long startAt(int slot) {
+    return buffer.getLong(slot * ENTRY_SIZE + START_OFFSET);
+  }
+
+  synchronized long lengthAt(int slot) {
+    return buffer.getLong(slot * ENTRY_SIZE + LENGTH_OFFSET) - 1;
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  private int slotFor(long point) {
+    // Fibonacci hashing on 64 bits; the top log2(numberOfSlots) bits are the best mixed ones
+    return (int) ((point * 0x9E3779B97F4A7C15L) >>> hashShift);
+  }
+}
@@ -0,0 +1,62 @@
+package eu.happycoders.random.period;
+
+import eu.happycoders.random.period.DistinguishedPointSearch.Collision;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Determines the periods of reduced-state variants of the java.util.{@link java.util.Random} LCG
+ * and of xorshift generators with {@link CycleDetector}, and searches seeds with the same first
+ * {@code nextInt()} output with {@link DistinguishedPointSearch}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class PeriodDemo {
+
+  public static void main(String[] args) {
+    int numberOfThreads =
+        args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+    for (int bits = 16; bits <= 28; bits += 4) {
+      printCycle(
+          "Random LCG, " + bits + " bits", 1, StateTransitions.truncatedJavaUtilRandom(bits));
+    }
+    printCycle("xorshift 16 bits (7, 9, 8)", 1, StateTransitions.xorshift(16, 7, 9, 8));
+    printCycle("xorshift 16 bits (1, 1, 1)", 1, StateTransitions.xorshift(16, 1, 1, 1));
+    printCycle("Random seed -> first int", 42, StateTransitions.javaUtilRandomSeedToFirstInt());
+
+    DistinguishedPointSearch search =
+        new DistinguishedPointSearch(
+            StateTransitions.javaUtilRandomSeedToFirstInt(), 32, 10, numberOfThreads, 1 << 20);
+    long time = System.currentTimeMillis();
+    List<Collision> collisions = search.findCollisions(10, 42);
+    time = System.currentTimeMillis() - time;
+    System.out.printf(
+        Locale.US,
+        "Distinguished points: %,d collisions of Random seed -> first int with %d threads in %,d ms "
+            + "(%,d steps, %,d distinguished points)%n",
+        collisions.size(),
+        numberOfThreads,
+        time,
+        search.steps(),
+        search.numberOfDistinguishedPoints());
+    for (Collision collision : collisions) {
+      System.out.printf(
+          "  f(%d) = f(%d) = %d%n", collision.first(), collision.second(), collision.image());
+    }
+  }
+
+  private static void printCycle(String description, long start, LongUnaryOperator transition) {
+    long time = System.currentTimeMillis();
+    Cycle cycle = CycleDetector.brent(start, transition, 1L << 40);
+    time = System.currentTimeMillis() - time;
+    System.out.printf(
+        Locale.US,
+        "%-30s period = %,15d, tail length = %,12d (%,d ms)%n",
+        description,
+        cycle.period(),
+        cycle.tailLength(),
+        time);
+  }
+}
@@ -0,0 +1,66 @@
+package eu.happycoders.random.period;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * State transition functions of simple generators, in full and in reduced-state variants, for
+ * {@link CycleDetector} and {@link DistinguishedPointSearch}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class StateTransitions {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+
+  private StateTransitions() {}
+
+  /** The LCG {@code s' = (s * multiplier + addend) mod 2^bits}. */
+  public static LongUnaryOperator lcg(long multiplier, long addend, int bits) {
+    long mask = maskFor(bits);
+    return state -> (state * multiplier + addend) & mask;
+  }
+
+  /** The LCG of java.util.{@link java.util.Random}, truncated to the given number of bits. */
+  public static LongUnaryOperator truncatedJavaUtilRandom(int bits) {
+    return lcg(multiplier, addend, bits);
+  }
+
+  /** The LCG of java.util.{@link java.util.Random} with its full 48-bit state. */
+  public static LongUnaryOperator javaUtilRandom() {
+    return truncatedJavaUtilRandom(48);
+  }
+
+  /**
+   * Marsaglia's xorshift {@code s ^= s << a; s ^= s >>> b; s ^= s << c} on a state of the given
+   * number of bits. Only some shift triples give the maximal period 2<sup>bits</sup> - 1 (for
+   * nonzero states), e.g., (7, 9, 8) for 16 bits and (13, 17, 5) for 32 bits.
+   */
+  public static LongUnaryOperator xorshift(int bits, int a, int b, int c) {
+    long mask = maskFor(bits);
+    return state -> {
+      state ^= (state << a) & mask;
+      state ^= state >>> b;
+      state ^= (state << c) & mask;
+      return state;
+    };
+  }
+
+  /**
+   * Maps a 32-bit seed to the first {@code nextInt()} output of {@code new Random(seed)} (as an
+   * unsigned value). This function is not bijective, so it has collisions (pairs of seeds with the
+   * same first number), which {@link DistinguishedPointSearch} finds.
+   */
+  public static LongUnaryOperator javaUtilRandomSeedToFirstInt() {
+    long mask = maskFor(48);
+    return seed -> ((((seed ^ multiplier) & mask) * multiplier + addend) >>> 16) & 0xFFFFFFFFL;
+  }
+
+  private static long maskFor(int bits) {
+    if (bits < 1 || bits > 63) {
+      throw new IllegalArgumentException("bits must be in the range [1, 63]");
+    }
+    return (1L << bits) - 1;
+  }
+}
@@ -0,0 +1,247 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Recovers the internal state of java.util.{@link java.util.Random} by solving the LCG relation
+ * between two consecutive outputs directly, instead of trying all 2<sup>16</sup> noise values like
+ * {@link RandomIntegerPredictor}.
+ *
+ * <p>If the first state lies in the range {@code [firstLow, firstLow + firstWidth)}, the second
+ * state is {@code (firstLow * multiplier + addend + n * multiplier) mod 2^48} for an unknown offset
+ * {@code n < firstWidth}. It lies in the range given by the second output if {@code n * multiplier}
+ * lies in one of the ranges {@code [k * 2^48 + t, k * 2^48 + t + secondWidth)}, where {@code t}
+ * only depends on the two outputs. As the multiplier is larger than 2<sup>34</sup>, there are only
+ * {@code firstWidth * multiplier / 2^48} values of {@code k} to check, and for each {@code k} the
+ * candidate {@code n} is obtained by a single division. For two {@code nextInt()} outputs, that are
+ * six values of {@code k}.
+ *
+ * <p>All methods return the states <i>after</i> the first observed call, i.e., the seed from which
+ * {@link RandomIntegerPredictor} would derive the first given number. Use {@link
+ * #randomWithState(long)} to continue the sequence from such a state.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class AlgebraicSeedRecovery {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  private static final long MODULUS_DIV_MULTIPLIER = (1L << 48) / multiplier;
+  private static final long MODULUS_MOD_MULTIPLIER = (1L << 48) % multiplier;
+
+  /** Upper limit for the values of {@code k} to check, to keep the recovery fast. */
+  static final long MAX_STEPS = 1L << 22;
+
+  private AlgebraicSeedRecovery() {}
+
+  /**
+   * Recovers the possible states from consecutive {@code nextInt()} outputs. The first two outputs
+   * are used to solve for the candidates; further outputs filter them.
+   */
+  public static long[] seedsFromInts(int... values) {
+    if (values.length < 2) {
+      throw new IllegalArgumentException("Please specify at least two numbers.");
+    }
+
+    Candidates candidates = new Candidates();
+    solve(
+        Integer.toUnsignedLong(values[0]) << 16,
+        1L << 16,
+        Integer.toUnsignedLong(values[1]) << 16,
+        1L << 16,
+        candidates);
+
+    return candidates.retainIf(
+        state -> {
+          for (int i = 1; i < values.length; i++) {
+            state = nextSeed(state);
+            if ((int) (state >>> 16) != values[i]) {
+              return false;
+            }
+          }
+          return true;
+        });
+  }
+
+  /** Recovers the possible states from a single {@code nextLong()} output. */
+  public static long[] seedsFromLong(long value) {
+    // nextLong() = ((long) next(32) << 32) + next(32), with the second int added *signed*
+    int low = (int) value;
+    int high = (int) ((value - low) >>> 32);
+    return seedsFromInts(high, low);
+  }
+
+  /**
+   * Recovers the possible states from consecutive {@code nextInt(bound)} outputs.
+   *
+   * <p>For a power-of-two bound 2<sup>b</sup>, each output reveals the top {@code b} bits of the
+   * state, and the recovery checks about 2<sup>34.5 - b</sup> values of {@code k}: a few for {@code
+   * b = 31}, about 2<sup>14.5</sup> for {@code b = 20}, and about 2<sup>21.5</sup> (around 0.1 s)
+   * for the smallest supported {@code b = 13}.
+   *
+   * <p>For other bounds, each output reveals the 31-bit value {@code next(31)} modulo the bound.
+   * The recovery tries all {@code (2^31 / bound)^2} combinations of these 31-bit values for the
+   * first two outputs, checking about 12 values of {@code k} for each. That is only
+   * latency-friendly for bounds of about 2<sup>26</sup> or more (2<sup>10</sup> combinations, well
+   * under a millisecond); for 2<sup>23</sup>, it takes around 10 ms, and for the smallest supported
+   * bound of about 2<sup>20</sup> (2<sup>22</sup> combinations, some 5 * 10<sup>7</sup> steps)
+   * around 0.4 s (times measured on a single core).
+   *
+   * <p>Rejected draws (which occur with a probability of less than {@code bound / 2^31}) are not
+   * supported.
+   *
+   * @throws IllegalArgumentException if the bound is too small for algebraic recovery
+   */
+  public static long[] seedsFromBoundedInts(int bound, int... values) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    if (values.length < 2) {
+      throw new IllegalArgumentException("Please specify at least two numbers.");
+    }
+    for (int value : values) {
+      if (value < 0 || value >= bound) {
+        throw new IllegalArgumentException(
+            "Value " + value + " is out of range [0, " + bound + ")");
+      }
+    }
+
+    Candidates candidates = new Candidates();
+    if ((bound & -bound) == bound) {
+      int unknownBits = 48 - Integer.numberOfTrailingZeros(bound);
+      solve(
+          (long) values[0] << unknownBits,
+          1L << unknownBits,
+          (long) values[1] << unknownBits,
+          1L << unknownBits,
+          candidates);
+    } else {
+      long limit = (1L << 31) - (1L << 31) % bound;
+      long valuesPerOutput = limit / bound;
+      if (valuesPerOutput * valuesPerOutput > MAX_STEPS) {
+        throw new IllegalArgumentException(
+            "Bound "
+                + bound
+                + " is too small for algebraic recovery; please use a brute-force search.");
+      }
+      for (long first = values[0]; first < limit; first += bound) {
+        for (long second = values[1]; second < limit; second += bound) {
+          solve(first << 17, 1L << 17, second << 17, 1L << 17, candidates);
+        }
+      }
+    }
+
+    return candidates.retainIf(
+        state -> {
+          for (int i = 1; i < values.length; i++) {
+            state = nextSeed(state);
+            if (boundedIntFromSeed(state, bound) != values[i]) {
+              return false;
+            }
+          }
+          return true;
+        });
+  }
+
+  /** Calculates {@code nextInt(bound)} from the state, ignoring rejected draws. */
+  static int boundedIntFromSeed(long state, int bound) {
+    int r = (int) (state >>> 17);
+    if ((bound & -bound) == bound) {
+      return (int) ((bound * (long) r) >> 31);
+    }
+    return r % bound;
+  }
+
+  /** Returns a {@link Random} whose next output is the one following the given state. */
+  public static Random randomWithState(long state) {
+    // setSeed() XORs the seed with the multiplier
+    return new Random((state ^ multiplier) & mask);
+  }
+
+  /**
+   * Passes all states {@code s} in {@code [firstLow, firstLow + firstWidth)} whose successor lies
+   * in {@code [nextLow, nextLow + nextWidth)} to the given consumer.
+   */
+  static void solve(
+      long firstLow, long firstWidth, long nextLow, long nextWidth, LongConsumer candidates) {
+    // Successor of firstLow + n is (firstLow * multiplier + addend + n * multiplier) mod 2^48;
+    // it is in range if (n * multiplier - t) mod 2^48 < nextWidth.
+    long t = (nextLow - (firstLow * multiplier + addend)) & mask;
+
+    // k runs up to ((firstWidth - 1) * multiplier) / 2^48
+    long maxK = solveSteps(firstWidth) - 1;
+    if (maxK > MAX_STEPS) {
+      throw new IllegalArgumentException(
+          "Too many unknown bits for algebraic recovery; please use a brute-force search.");
+    }
+
+    // If the window [t, t + nextWidth) wraps past 2^48, its wrapped part [0, t + nextWidth - 2^48)
+    // is the window for k = -1, which contains n = 0 (a first state with all unknown bits zero)
+    long minK = t > (1L << 48) - nextWidth ? -1 : 0;
+
+    for (long k = minK; k <= maxK; k++) {
+      // n_min = ceil((k * 2^48 + t) / multiplier), computed without overflow
+      long remainder = k * MODULUS_MOD_MULTIPLIER + t;
+      long n = k * MODULUS_DIV_MULTIPLIER + Math.floorDiv(remainder + multiplier - 1, multiplier);
+      n = Math.max(n, 0);
+
+      for (; n < firstWidth; n++) {
+        // The exact difference is in [0, nextWidth + multiplier), so wrap-around doesn't matter
+        long offset = n * multiplier - (k << 48) - t;
+        if (Long.compareUnsigned(offset, nextWidth) >= 0) {
+          break;
+        }
+        candidates.accept(firstLow + n);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of values of {@code k} that {@link #solve(long, long, long, long,
+   * LongConsumer)} checks for the given width of the first range.
+   */
+  static long solveSteps(long firstWidth) {
+    long productHigh = Math.multiplyHigh(firstWidth - 1, multiplier);
+    long productLow = (firstWidth - 1) * multiplier;
+    return ((productHigh << 16) | (productLow >>> 48)) + 1;
+  }
+
+  static long nextSeed(long seed) {
+    return (seed * multiplier + addend) & mask;
+  }
+
+  /** Growable list of candidate states. */
+  static class Candidates implements LongConsumer {
+    private long[] states = new long[4];
+    private int size;
+
+    @Override
+    public void accept(long state) {
+      if (size == states.length) {
+        states = Arrays.copyOf(states, size * 2);
+      }
+      states[size++] = state;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(states, size);
+    }
+
+    long[] retainIf(LongPredicate predicate) {
+      int retained = 0;
+      for (int i = 0; i < size; i++) {
+        if (predicate.test(states[i])) {
+          states[retained++] = states[i];
+        }
+      }
+      size = retained;
+      return toArray();
+    }
+  }
+}
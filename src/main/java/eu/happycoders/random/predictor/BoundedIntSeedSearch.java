@@ -0,0 +1,308 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the seeds of java.util.{@link java.util.Random} that produce a given sequence of {@code
+ * nextInt(bound)} outputs, e.g., the {@code nextInt(100)} values printed by {@code SetSeedExample},
+ * by trying all seeds of a range on all cores.
+ *
+ * <p>A {@code nextInt(bound)} output reveals only about {@code log2(bound)} bits, so unlike for
+ * {@code nextInt()} outputs, the state can't be narrowed down to 2<sup>16</sup> candidates; each
+ * seed of the range has to be tried. The range is split recursively on a {@link ForkJoinPool}. The
+ * leaf tasks evaluate the first output for batches of 64 seeds without branches: the modulo
+ * operation is replaced by a multiplication (Lemire's "fastmod"), and the comparison result is
+ * collected in the bits of a {@code long}. Only the seeds of set bits (about one in {@code bound})
+ * are checked against the second output and, if they pass, against all outputs with a real {@code
+ * Random}, which also covers the rare draws rejected by {@code nextInt(bound)}.
+ *
+ * <p>If the outputs reveal clearly more bits than the range has seeds, a matching seed is unique
+ * with high probability, and the search stops as soon as one is found.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class BoundedIntSeedSearch {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  private static final int BATCH_SIZE = 64;
+  private static final long LEAF_SIZE = 1L << 22;
+
+  /** Extra bits required for stopping at the first match; 2^-16 chance for a second match. */
+  private static final double UNIQUENESS_MARGIN_BITS = 16;
+
+  private final int bound;
+  private final int[] values;
+  private final boolean powerOfTwo;
+  private final int powerOfTwoShift;
+  private final long fastModMultiplier;
+  private final long rejectionLimit;
+
+  /**
+   * Result of a search.
+   *
+   * @param seeds the matching seeds, in ascending order
+   * @param seedsSearched the number of seeds tried
+   * @param elapsedNanos the duration of the search
+   * @param stoppedEarly whether the search stopped at the first match, as it's unique with high
+   *     probability
+   */
+  public record Result(long[] seeds, long seedsSearched, long elapsedNanos, boolean stoppedEarly) {
+    public double seedsPerSecond() {
+      return elapsedNanos == 0 ? 0 : seedsSearched * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.US,
+          "%s after %,d seeds in %,.3f s (%,.1f million seeds/s)%s",
+          Arrays.toString(seeds),
+          seedsSearched,
+          elapsedNanos / 1e9,
+          seedsPerSecond() / 1e6,
+          stoppedEarly ? ", stopped at first match" : "");
+    }
+  }
+
+  /**
+   * Creates a search for seeds whose {@code Random} generates the given values as its first {@code
+   * nextInt(bound)} outputs.
+   */
+  public BoundedIntSeedSearch(int bound, int... values) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    if (values.length < 2) {
+      throw new IllegalArgumentException("Please specify at least two numbers.");
+    }
+    for (int value : values) {
+      if (value < 0 || value >= bound) {
+        throw new IllegalArgumentException(
+            "Value " + value + " is out of range [0, " + bound + ")");
+      }
+    }
+
+    this.bound = bound;
+    this.values = values.clone();
+    this.powerOfTwo = (bound & -bound) == bound;
+    this.powerOfTwoShift = 31 - Integer.numberOfTrailingZeros(bound);
+    // ceil(2^64 / bound), as an unsigned long; unused for bound 1
+    this.fastModMultiplier = bound == 1 ? 0 : Long.divideUnsigned(-1L, bound) + 1;
+    this.rejectionLimit = (1L << 31) - (1L << 31) % bound;
+  }
+
+  public static void main(String[] args) {
+    int bound = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    int numberOfValues = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+    long numberOfSeeds = args.length > 2 ? Long.parseLong(args[2]) : 1L << 32;
+    int parallelism =
+        args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+    long secretSeed = ThreadLocalRandom.current().nextLong(numberOfSeeds);
+    Random random = new Random(secretSeed);
+    int[] values = new int[numberOfValues];
+    for (int i = 0; i < numberOfValues; i++) {
+      values[i] = random.nextInt(bound);
+    }
+
+    System.out.printf(
+        Locale.US,
+        "Searching %,d seeds on %d threads for nextInt(%d) values %s (secret seed: %,d)%n",
+        numberOfSeeds,
+        parallelism,
+        bound,
+        Arrays.toString(values),
+        secretSeed);
+
+    Result result = new BoundedIntSeedSearch(bound, values).search(0, numberOfSeeds, parallelism);
+    System.out.println("Found: " + result);
+    System.out.printf(
+        Locale.US,
+        "Estimated time for all 2^48 seeds at this rate: %,.1f h%n",
+        0x1p48 / result.seedsPerSecond() / 3_600);
+  }
+
+  /**
+   * Returns whether the values reveal enough bits for a match in a range of the given size to be
+   * unique with high probability.
+   */
+  boolean isMatchUniqueIn(long numberOfSeeds) {
+    double bitsPerValue = Math.log(bound) / Math.log(2);
+    double seedBits = Math.log(numberOfSeeds) / Math.log(2);
+    return values.length * bitsPerValue >= seedBits + UNIQUENESS_MARGIN_BITS;
+  }
+
+  /** Searches the seeds {@code [firstSeed, firstSeed + numberOfSeeds)} on the given threads. */
+  public Result search(long firstSeed, long numberOfSeeds, int parallelism) {
+    if (numberOfSeeds <= 0) {
+      throw new IllegalArgumentException("numberOfSeeds must be positive");
+    }
+
+    long startTime = System.nanoTime();
+    SearchState state = new SearchState(isMatchUniqueIn(numberOfSeeds));
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      pool.invoke(new SearchTask(firstSeed, numberOfSeeds, state));
+    } finally {
+      pool.shutdown();
+    }
+
+    long[] seeds = state.seeds();
+    return new Result(
+        seeds,
+        state.seedsSearched.get(),
+        System.nanoTime() - startTime,
+        state.stopAtFirstMatch && seeds.length > 0);
+  }
+
+  /** Scans the seeds {@code [firstSeed, firstSeed + numberOfSeeds)} in the calling thread. */
+  private void scanRange(long firstSeed, long numberOfSeeds, SearchState state) {
+    long end = firstSeed + numberOfSeeds;
+    long batchStart = firstSeed;
+    for (; batchStart < end && !state.stopped.get(); batchStart += BATCH_SIZE) {
+      int batchSize = (int) Math.min(BATCH_SIZE, end - batchStart);
+      long matches = firstOutputMatches(batchStart, batchSize);
+      while (matches != 0) {
+        long seed = batchStart + Long.numberOfTrailingZeros(matches);
+        matches &= matches - 1;
+        if (matchesAllValues(seed)) {
+          state.addSeed(seed);
+        }
+      }
+    }
+    // Counted once per range, so that the threads don't contend for the counter
+    state.seedsSearched.addAndGet(Math.min(batchStart, end) - firstSeed);
+  }
+
+  /**
+   * Returns a bit mask of the seeds {@code batchStart + i} whose first output matches the first
+   * value (or whose first draw is rejected, so that the output is decided by a later draw).
+   */
+  private long firstOutputMatches(long batchStart, int batchSize) {
+    int firstValue = values[0];
+    long matches = 0;
+    if (powerOfTwo) {
+      for (int i = 0; i < batchSize; i++) {
+        int r = firstDraw(batchStart + i);
+        // 1 if equal, 0 otherwise, without a branch
+        long match = (((r >>> powerOfTwoShift) ^ firstValue) - 1L) >>> 63;
+        matches |= match << i;
+      }
+    } else {
+      for (int i = 0; i < batchSize; i++) {
+        int r = firstDraw(batchStart + i);
+        long match = ((fastMod(r) ^ firstValue) - 1L) >>> 63;
+        long rejected = (rejectionLimit - 1 - r) >>> 63;
+        matches |= (match | rejected) << i;
+      }
+    }
+    return matches;
+  }
+
+  /** Returns {@code next(31)} of a {@code new Random(seed)}. */
+  private static int firstDraw(long seed) {
+    long state = (((seed ^ multiplier) & mask) * multiplier + addend) & mask;
+    return (int) (state >>> 17);
+  }
+
+  /** Returns {@code r % bound} for a non-negative {@code r}, with two multiplications. */
+  private int fastMod(int r) {
+    long lowBits = fastModMultiplier * r;
+    // Unsigned high 64 bits of lowBits * bound (the bound is positive)
+    return (int) (Math.multiplyHigh(lowBits, bound) + ((lowBits >> 63) & bound));
+  }
+
+  private boolean matchesAllValues(long seed) {
+    // Quick check of the second output on the raw state; only a few seeds pass it
+    long state = (((seed ^ multiplier) & mask) * multiplier + addend) & mask;
+    int firstDraw = (int) (state >>> 17);
+    if (firstDraw < rejectionLimit) {
+      state = (state * multiplier + addend) & mask;
+      int secondDraw = (int) (state >>> 17);
+      if (secondDraw < rejectionLimit && boundedInt(secondDraw) != values[1]) {
+        return false;
+      }
+    }
+
+    Random random = new Random(seed);
+    for (int value : values) {
+      if (random.nextInt(bound) != value) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int boundedInt(int r) {
+    return powerOfTwo ? r >>> powerOfTwoShift : r % bound;
+  }
+
+  private static final class SearchState {
+    private final boolean stopAtFirstMatch;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicLong seedsSearched = new AtomicLong();
+    private long[] seeds = new long[4];
+    private int numberOfSeeds;
+
+    SearchState(boolean stopAtFirstMatch) {
+      this.stopAtFirstMatch = stopAtFirstMatch;
+    }
+
+    private synchronized void addSeed(long seed) {
+      if (numberOfSeeds == seeds.length) {
+        seeds = Arrays.copyOf(seeds, numberOfSeeds * 2);
+      }
+      seeds[numberOfSeeds++] = seed;
+      if (stopAtFirstMatch) {
+        stopped.set(true);
+      }
+    }
+
+    private synchronized long[] seeds() {
+      long[] result = Arrays.copyOf(seeds, numberOfSeeds);
+      Arrays.sort(result);
+      return result;
+    }
+  }
+
+  private class SearchTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final long firstSeed;
+    private final long numberOfSeeds;
+    private final SearchState state;
+
+    private SearchTask(long firstSeed, long numberOfSeeds, SearchState state) {
+      this.firstSeed = firstSeed;
+      this.numberOfSeeds = numberOfSeeds;
+      this.state = state;
+    }
+
+    @Override
+    protected void compute() {
+      if (state.stopped.get()) {
+        return;
+      }
+      if (numberOfSeeds <= LEAF_SIZE) {
+        scanRange(firstSeed, numberOfSeeds, state);
+        return;
+      }
+
+      long half = numberOfSeeds / 2;
+      invokeAll(
+          new SearchTask(firstSeed, half, state),
+          new SearchTask(firstSeed + half, numberOfSeeds - half, state));
+    }
+  }
+}
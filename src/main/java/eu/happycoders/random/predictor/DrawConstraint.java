@@ -0,0 +1,96 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.predictor.Observation.NextBoolean;
+import eu.happycoders.random.predictor.Observation.NextBoundedInt;
+import eu.happycoders.random.predictor.Observation.NextDouble;
+import eu.happycoders.random.predictor.Observation.NextFloat;
+import eu.happycoders.random.predictor.Observation.NextInt;
+import eu.happycoders.random.predictor.Observation.NextLong;
+import eu.happycoders.random.predictor.Observation.Skip;
+import java.util.List;
+
+/**
+ * What an observation reveals about the 48-bit state after a single draw at the given position:
+ * either the top {@code bits} bits of the state ({@code bound == 0}), or, for {@code
+ * nextInt(bound)} with a bound that is not a power of two, that the top 31 bits are {@code value}
+ * modulo {@code bound}.
+ *
+ * <p>The states satisfying a constraint are a union of ranges of equal width, which can be searched
+ * by brute force or passed to {@link AlgebraicSeedRecovery#solve(long, long, long, long,
+ * java.util.function.LongConsumer)}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+record DrawConstraint(long position, int bits, int bound, long value) {
+
+  static DrawConstraint topBits(long position, int bits, long value) {
+    return new DrawConstraint(position, bits, 0, value);
+  }
+
+  /**
+   * Returns the constraints of the given observation, whose first draw is at the given position.
+   */
+  static List<DrawConstraint> of(Observation observation, long position) {
+    if (observation instanceof NextInt nextInt) {
+      return List.of(topBits(position, 32, Integer.toUnsignedLong(nextInt.value())));
+    } else if (observation instanceof NextBoundedInt boundedInt) {
+      int bound = boundedInt.bound();
+      if ((bound & -bound) == bound) {
+        return List.of(topBits(position, Integer.numberOfTrailingZeros(bound), boundedInt.value()));
+      }
+      return List.of(new DrawConstraint(position, 31, bound, boundedInt.value()));
+    } else if (observation instanceof NextLong nextLong) {
+      // nextLong() = ((long) next(32) << 32) + next(32), with the second int added *signed*
+      long value = nextLong.value();
+      int low = (int) value;
+      int high = (int) ((value - low) >>> 32);
+      return List.of(
+          topBits(position, 32, Integer.toUnsignedLong(high)),
+          topBits(position + 1, 32, Integer.toUnsignedLong(low)));
+    } else if (observation instanceof NextDouble nextDouble) {
+      // nextDouble() = (((long) next(26) << 27) + next(27)) * 2^-53
+      long bits = (long) (nextDouble.value() * 0x1p53);
+      return List.of(
+          topBits(position, 26, bits >>> 27), topBits(position + 1, 27, bits & ((1L << 27) - 1)));
+    } else if (observation instanceof NextFloat nextFloat) {
+      return List.of(topBits(position, 24, (long) (nextFloat.value() * 0x1p24f)));
+    } else if (observation instanceof NextBoolean nextBoolean) {
+      return List.of(topBits(position, 1, nextBoolean.value() ? 1 : 0));
+    } else if (observation instanceof Skip) {
+      return List.of();
+    }
+    throw new IllegalArgumentException("Unsupported observation: " + observation);
+  }
+
+  boolean matches(long state) {
+    if (bound == 0) {
+      return state >>> (48 - bits) == value;
+    }
+    return (int) (state >>> 17) % bound == value;
+  }
+
+  /** Returns the number of state bits this constraint reveals, on average. */
+  double informationBits() {
+    return bound == 0 ? bits : Math.log(bound) / Math.log(2);
+  }
+
+  long numberOfRanges() {
+    if (bound == 0) {
+      return 1;
+    }
+    // Values of next(31) at or above the limit are rejected by nextInt(bound)
+    long limit = (1L << 31) - (1L << 31) % bound;
+    return (limit - value + bound - 1) / bound;
+  }
+
+  long rangeLow(long range) {
+    if (bound == 0) {
+      return value << (48 - bits);
+    }
+    return (value + range * bound) << 17;
+  }
+
+  long rangeWidth() {
+    return 1L << (48 - bits);
+  }
+}
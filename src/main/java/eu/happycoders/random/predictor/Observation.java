@@ -0,0 +1,102 @@
+package eu.happycoders.random.predictor;
+
+/**
+ * An observed output of java.util.{@link java.util.Random}, for seed recovery with {@link
+ * ObservationSolver}.
+ *
+ * <p>Each method of {@code Random} consumes one or two calls of its internal {@code next(bits)}
+ * method ("draws") and reveals some of the bits of the states behind them: {@code nextInt()} the
+ * top 32 of the 48 state bits, {@code nextLong()} 2 &times; 32 bits, {@code nextDouble()} 26 + 27
+ * bits, {@code nextFloat()} 24 bits and {@code nextBoolean()} a single bit. {@code nextInt(bound)}
+ * reveals the top bits for power-of-two bounds and a residue of the top 31 bits for other bounds.
+ * Outputs that were not observed can be skipped with {@link Skip}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public sealed interface Observation {
+
+  /** Returns the number of draws (calls of {@code next(bits)}) this observation consumes. */
+  long draws();
+
+  /** An output of {@code nextInt()}. */
+  record NextInt(int value) implements Observation {
+    @Override
+    public long draws() {
+      return 1;
+    }
+  }
+
+  /**
+   * An output of {@code nextInt(bound)}. The rare draws rejected by {@code nextInt(bound)} (with a
+   * probability of less than {@code bound / 2^31}) are not supported.
+   */
+  record NextBoundedInt(int bound, int value) implements Observation {
+    public NextBoundedInt {
+      if (bound <= 0) {
+        throw new IllegalArgumentException("bound must be positive");
+      }
+      if (value < 0 || value >= bound) {
+        throw new IllegalArgumentException(
+            "Value " + value + " is out of range [0, " + bound + ")");
+      }
+    }
+
+    @Override
+    public long draws() {
+      return 1;
+    }
+  }
+
+  /** An output of {@code nextLong()}. */
+  record NextLong(long value) implements Observation {
+    @Override
+    public long draws() {
+      return 2;
+    }
+  }
+
+  /** An output of {@code nextDouble()}. */
+  record NextDouble(double value) implements Observation {
+    public NextDouble {
+      if (!(value >= 0.0 && value < 1.0) || value * 0x1p53 != Math.rint(value * 0x1p53)) {
+        throw new IllegalArgumentException(value + " is not an output of nextDouble()");
+      }
+    }
+
+    @Override
+    public long draws() {
+      return 2;
+    }
+  }
+
+  /** An output of {@code nextFloat()}. */
+  record NextFloat(float value) implements Observation {
+    public NextFloat {
+      if (!(value >= 0.0f && value < 1.0f) || value * 0x1p24f != Math.rint(value * 0x1p24f)) {
+        throw new IllegalArgumentException(value + " is not an output of nextFloat()");
+      }
+    }
+
+    @Override
+    public long draws() {
+      return 1;
+    }
+  }
+
+  /** An output of {@code nextBoolean()}. */
+  record NextBoolean(boolean value) implements Observation {
+    @Override
+    public long draws() {
+      return 1;
+    }
+  }
+
+  /** Draws that were not observed, e.g., {@code Skip(2)} for an unknown {@code nextLong()}. */
+  record Skip(long draws) implements Observation {
+    public Skip {
+      if (draws < 0) {
+        throw new IllegalArgumentException("draws must not be negative");
+      }
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * Recovers the state of java.util.{@link java.util.Random} from a mix of {@link Observation}s,
+ * e.g., a {@code nextDouble()}, a few {@code nextBoolean()}s and a {@code nextInt(100)}.
+ *
+ * <p>Observations are added in the order in which they were generated. As long as there are no
+ * candidate states yet, each added observation triggers a search if one is affordable: either a
+ * brute-force search over the states allowed by a single draw (e.g., 2<sup>16</sup> for a {@code
+ * nextInt()}), or an algebraic search over two consecutive draws with {@link
+ * AlgebraicSeedRecovery}. The cheapest of these searches is run, and all other observations are
+ * used to filter its results, most selective first. From then on, each added observation only
+ * prunes the candidates, at the cost of one multiply-add per candidate.
+ *
+ * <p>Searches over up to 2<sup>20</sup> states run as soon as possible; larger searches (up to
+ * 2<sup>32</sup> states, run in parallel) are deferred until the observations reveal at least 48
+ * bits, i.e., until a unique result is to be expected, as a later observation may still allow a
+ * cheaper search, and an early one could produce billions of candidates.
+ *
+ * <p>Candidate states are returned as the state after the first draw, like the seeds used by {@link
+ * RandomIntegerPredictor}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class ObservationSolver {
+
+  private static final double IMMEDIATE_SEARCH_COST = 0x1p20;
+  private static final double MAX_SEARCH_COST = 0x1p32;
+  private static final double UNIQUE_SOLUTION_BITS = 48;
+  private static final double MANAGEABLE_SOLUTIONS_BITS = 32; // 2^16 expected candidates
+  private static final long PARALLEL_SEARCH_THRESHOLD = 1L << 20;
+  private static final long BRUTE_FORCE_CHUNK_SIZE = 1L << 20;
+  private static final long mask = LcgKernel.mask;
+
+  private final List<DrawConstraint> constraints = new ArrayList<>();
+  private long numberOfDraws;
+  private double informationBits;
+
+  // Candidate states after the first draw; null as long as no search has been run
+  private long[] candidates;
+  private int numberOfCandidates;
+
+  /** Adds the given observations in the order in which they were generated. */
+  public ObservationSolver add(Observation... observations) {
+    for (Observation observation : observations) {
+      add(observation);
+    }
+    return this;
+  }
+
+  /** Adds the next observation and prunes the candidates or searches for them if affordable. */
+  public ObservationSolver add(Observation observation) {
+    List<DrawConstraint> newConstraints = DrawConstraint.of(observation, numberOfDraws);
+    numberOfDraws += observation.draws();
+    constraints.addAll(newConstraints);
+    for (DrawConstraint constraint : newConstraints) {
+      informationBits += constraint.informationBits();
+    }
+
+    if (candidates != null) {
+      prune(newConstraints);
+    } else {
+      searchIfAffordable(UNIQUE_SOLUTION_BITS);
+    }
+    return this;
+  }
+
+  /**
+   * Returns whether the candidates have been determined, i.e., whether a search has been run. If
+   * not, more observations are needed, preferably full {@code nextInt()}s or consecutive ones.
+   *
+   * <p>Unlike {@link #add(Observation)}, this method runs an expensive search as soon as it leads
+   * to a manageable number of candidates, not only when a unique result is to be expected.
+   */
+  public boolean isDetermined() {
+    if (candidates == null) {
+      searchIfAffordable(MANAGEABLE_SOLUTIONS_BITS);
+    }
+    return candidates != null;
+  }
+
+  /**
+   * Returns the candidate states after the first draw.
+   *
+   * @throws IllegalStateException if the candidates can't be determined from the observations yet
+   */
+  public long[] candidates() {
+    if (!isDetermined()) {
+      throw new IllegalStateException(
+          "Not enough information to search for the state; please add more observations.");
+    }
+    return Arrays.copyOf(candidates, numberOfCandidates);
+  }
+
+  /**
+   * Returns the unique state after the first draw.
+   *
+   * @throws IllegalStateException if there is no or more than one candidate
+   */
+  public long state() {
+    long[] candidates = candidates();
+    if (candidates.length == 0) {
+      throw new IllegalStateException("Found no matching state; please verify the observations.");
+    }
+    if (candidates.length > 1) {
+      throw new IllegalStateException(
+          "Found " + candidates.length + " matching states; please add more observations.");
+    }
+    return candidates[0];
+  }
+
+  /** Returns a {@link Random} that continues after the last observed draw. */
+  public Random randomAfterObservations() {
+    long stateAfterLastDraw = LcgJump.stateAfter(state(), numberOfDraws - 1);
+    return AlgebraicSeedRecovery.randomWithState(stateAfterLastDraw);
+  }
+
+  private void prune(List<DrawConstraint> newConstraints) {
+    for (DrawConstraint constraint : newConstraints) {
+      LcgJump jump = LcgJump.of(constraint.position());
+      int retained = 0;
+      for (int i = 0; i < numberOfCandidates; i++) {
+        long candidate = candidates[i];
+        if (constraint.matches(jump.apply(candidate))) {
+          candidates[retained++] = candidate;
+        }
+      }
+      numberOfCandidates = retained;
+    }
+  }
+
+  /**
+   * Runs the cheapest search if it is cheap, or if it is affordable and the observations reveal at
+   * least the given number of bits, so that the result doesn't become too large.
+   */
+  private void searchIfAffordable(double minimumInformationBitsForExpensiveSearch) {
+    Search search = cheapestSearch();
+    if (search == null) {
+      return;
+    }
+    if (search.cost > IMMEDIATE_SEARCH_COST
+        && informationBits < minimumInformationBitsForExpensiveSearch) {
+      return;
+    }
+
+    candidates = search.run(filtersExcept(search.first, search.second));
+    numberOfCandidates = candidates.length;
+  }
+
+  private Search cheapestSearch() {
+    Search cheapest = null;
+    for (int i = 0; i < constraints.size(); i++) {
+      DrawConstraint first = constraints.get(i);
+
+      Search bruteForce = new Search(first, null);
+      if (cheapest == null || bruteForce.cost < cheapest.cost) {
+        cheapest = bruteForce;
+      }
+
+      if (i + 1 < constraints.size()
+          && constraints.get(i + 1).position() == first.position() + 1
+          && AlgebraicSeedRecovery.solveSteps(first.rangeWidth())
+              <= AlgebraicSeedRecovery.MAX_STEPS) {
+        Search algebraic = new Search(first, constraints.get(i + 1));
+        if (algebraic.cost < cheapest.cost) {
+          cheapest = algebraic;
+        }
+      }
+    }
+    return cheapest != null && cheapest.cost <= MAX_SEARCH_COST ? cheapest : null;
+  }
+
+  /** Returns the constraints not used by the search, most selective first. */
+  private Filter[] filtersExcept(DrawConstraint first, DrawConstraint second) {
+    return constraints.stream()
+        .filter(constraint -> constraint != first && constraint != second)
+        .sorted(Comparator.comparingDouble(DrawConstraint::informationBits).reversed())
+        .map(constraint -> new Filter(constraint, first.position()))
+        .toArray(Filter[]::new);
+  }
+
+  private static boolean matchesAll(long state, Filter[] filters, int firstFilter) {
+    for (int i = firstFilter; i < filters.length; i++) {
+      Filter filter = filters[i];
+      if (!filter.constraint.matches(filter.jump.apply(state))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** A constraint and the jump to its position from the position of the searched draw. */
+  private record Filter(DrawConstraint constraint, LcgJump jump) {
+    Filter(DrawConstraint constraint, long searchPosition) {
+      this(constraint, LcgJump.of(constraint.position() - searchPosition));
+    }
+  }
+
+  /**
+   * A search over the states of the draw {@code first}: brute force if {@code second} is null,
+   * otherwise algebraic over {@code first} and the following draw {@code second}.
+   */
+  private static class Search {
+    private final DrawConstraint first;
+    private final DrawConstraint second;
+    private final double cost;
+
+    private Search(DrawConstraint first, DrawConstraint second) {
+      this.first = first;
+      this.second = second;
+
+      double firstStates = (double) first.numberOfRanges() * first.rangeWidth();
+      if (second == null) {
+        cost = firstStates;
+      } else {
+        double rangePairs = (double) first.numberOfRanges() * second.numberOfRanges();
+        double steps = rangePairs * AlgebraicSeedRecovery.solveSteps(first.rangeWidth());
+        double solutions = firstStates * second.numberOfRanges() * second.rangeWidth() / 0x1p48;
+        cost = steps + solutions;
+      }
+    }
+
+    /** Runs the search and returns the matching states, moved to the position of the first draw. */
+    private long[] run(Filter[] filters) {
+      LcgJump toFirstDraw = LcgJump.of(-first.position());
+      if (second == null) {
+        return bruteForce(filters, toFirstDraw);
+      }
+
+      AlgebraicSeedRecovery.Candidates results = new AlgebraicSeedRecovery.Candidates();
+      for (long a = 0; a < first.numberOfRanges(); a++) {
+        for (long b = 0; b < second.numberOfRanges(); b++) {
+          AlgebraicSeedRecovery.solve(
+              first.rangeLow(a),
+              first.rangeWidth(),
+              second.rangeLow(b),
+              second.rangeWidth(),
+              state -> {
+                if (matchesAll(state, filters, 0)) {
+                  results.accept(toFirstDraw.apply(state));
+                }
+              });
+        }
+      }
+      return results.toArray();
+    }
+
+    private long[] bruteForce(Filter[] filters, LcgJump toFirstDraw) {
+      // Range widths and the chunk size are powers of two, so chunks never span two ranges
+      long width = first.rangeWidth();
+      long chunkSize = Math.min(width, BRUTE_FORCE_CHUNK_SIZE);
+      long numberOfStates = first.numberOfRanges() * width;
+      LongStream chunks = LongStream.range(0, numberOfStates / chunkSize);
+      if (numberOfStates > PARALLEL_SEARCH_THRESHOLD) {
+        chunks = chunks.parallel();
+      }
+      return chunks
+          .mapToObj(
+              chunk -> {
+                long index = chunk * chunkSize;
+                long low = first.rangeLow(index / width) + index % width;
+                return scanChunk(low, chunkSize, filters, toFirstDraw);
+              })
+          .flatMapToLong(LongStream::of)
+          .toArray();
+    }
+
+    /** Scans the states {@code [low, low + length)} of the first draw. */
+    private static long[] scanChunk(long low, long length, Filter[] filters, LcgJump toFirstDraw) {
+      AlgebraicSeedRecovery.Candidates results = new AlgebraicSeedRecovery.Candidates();
+
+      if (filters.length == 0 || filters[0].constraint.bound() != 0) {
+        for (long state = low; state < low + length; state++) {
+          if (matchesAll(state, filters, 0)) {
+            results.accept(toFirstDraw.apply(state));
+          }
+        }
+        return results.toArray();
+      }
+
+      // The state at the position of the most selective filter grows by a constant step per
+      // state of the first draw, so it can be updated with an addition instead of a jump
+      DrawConstraint mostSelective = filters[0].constraint;
+      int shift = 48 - mostSelective.bits();
+      long value = mostSelective.value();
+      long filteredState = filters[0].jump.apply(low);
+      long step = (filters[0].jump.apply(low + 1) - filteredState) & mask;
+      // An int loop counter lets the JIT unroll the loop
+      for (int i = 0; i < (int) length; i++) {
+        if ((filteredState & mask) >>> shift == value && matchesAll(low + i, filters, 1)) {
+          results.accept(toFirstDraw.apply(low + i));
+        }
+        filteredState += step;
+      }
+      return results.toArray();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.predictor.Observation.NextBoolean;
+import eu.happycoders.random.predictor.Observation.NextBoundedInt;
+import eu.happycoders.random.predictor.Observation.NextDouble;
+import eu.happycoders.random.predictor.Observation.NextInt;
+import eu.happycoders.random.predictor.Observation.Skip;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Little demo for {@link ObservationSolver}. Recovers the state of a {@link Random} from three
+ * scenarios of mixed observations, printing the number of candidates after each observation, then
+ * compares predictions with the actual next numbers.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class ObservationSolverDemo {
+  private static final int NUMBER_OF_PREDICTIONS = 5;
+
+  public static void main(String[] args) {
+    System.out.println("nextDouble() followed by nextBoolean()s:");
+    Random random = new Random();
+    run(random, new NextDouble(random.nextDouble()), new NextBoolean(random.nextBoolean()));
+
+    System.out.println("nextInt() followed by dice rolls:");
+    random = new Random();
+    Observation[] observations = new Observation[11];
+    observations[0] = new NextInt(random.nextInt());
+    for (int i = 1; i < observations.length; i++) {
+      observations[i] = new NextBoundedInt(6, random.nextInt(6));
+    }
+    run(random, observations);
+
+    System.out.println("nextInt(65536)s with an unknown nextLong() in between:");
+    random = new Random();
+    int first = random.nextInt(1 << 16);
+    int second = random.nextInt(1 << 16);
+    random.nextLong();
+    int third = random.nextInt(1 << 16);
+    int fourth = random.nextInt(1 << 16);
+    run(
+        random,
+        new NextBoundedInt(1 << 16, first),
+        new NextBoundedInt(1 << 16, second),
+        new Skip(2),
+        new NextBoundedInt(1 << 16, third),
+        new NextBoundedInt(1 << 16, fourth));
+  }
+
+  private static void run(Random random, Observation... observations) {
+    ObservationSolver solver = new ObservationSolver();
+    for (Observation observation : observations) {
+      long time = System.nanoTime();
+      solver.add(observation);
+      boolean determined = solver.isDetermined();
+      time = System.nanoTime() - time;
+
+      System.out.printf(
+          Locale.US,
+          "  %-40s -> %s (%,.3f ms)%n",
+          observation,
+          determined
+              ? String.format(Locale.US, "%,d candidate(s)", solver.candidates().length)
+              : "?",
+          time / 1_000_000.0);
+    }
+
+    Random predicted = solver.randomAfterObservations();
+    for (int i = 0; i < NUMBER_OF_PREDICTIONS; i++) {
+      System.out.printf(
+          Locale.US, "  predicted: %,14d - actual: %,14d%n", predicted.nextInt(), random.nextInt());
+    }
+    System.out.println();
+  }
+}
@@ -0,0 +1,187 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.predictor.RandomIntegerPredictor.SeedRecovery;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Predicts random numbers for many observed sequences in parallel, using {@link
+ * RandomIntegerPredictor} for each sequence.
+ *
+ * <p>Sequences are read lazily from an {@link Iterator} and processed in blocks on a fixed number
+ * of worker threads. At most a bounded number of blocks is in flight, so arbitrarily large inputs
+ * can be streamed with constant memory. Results are passed to the consumer in input order. A
+ * sequence for which no unique seed can be found (or that cannot be parsed) does not abort the
+ * batch; its {@link Result} carries the error message instead.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class RandomIntegerBatchPredictor implements AutoCloseable {
+
+  private static final int BLOCK_SIZE = 256;
+  private static final int BLOCKS_IN_FLIGHT_PER_THREAD = 4;
+
+  private final int numberOfPredictions;
+  private final SeedRecovery seedRecovery;
+  private final int maxBlocksInFlight;
+  private final ExecutorService executor;
+
+  /**
+   * Result for one observed sequence.
+   *
+   * @param index position of the sequence in the input, starting at 0
+   * @param givenNumbers the observed numbers; {@code null} if the input could not be parsed
+   * @param predictions the predicted numbers; {@code null} if the prediction failed
+   * @param error the error message; {@code null} if the prediction succeeded
+   */
+  public record Result(long index, int[] givenNumbers, int[] predictions, String error) {
+    public boolean isSuccess() {
+      return error == null;
+    }
+
+    @Override
+    public String toString() {
+      return isSuccess()
+          ? String.format(
+              Locale.US,
+              "%d: %s => %s",
+              index,
+              Arrays.toString(givenNumbers),
+              Arrays.toString(predictions))
+          : String.format(Locale.US, "%d: ERROR: %s", index, error);
+    }
+  }
+
+  public RandomIntegerBatchPredictor(
+      int numberOfThreads, int numberOfPredictions, SeedRecovery seedRecovery) {
+    if (numberOfThreads <= 0) {
+      throw new IllegalArgumentException("numberOfThreads must be positive");
+    }
+    if (numberOfPredictions < 0) {
+      throw new IllegalArgumentException("numberOfPredictions must not be negative");
+    }
+    this.numberOfPredictions = numberOfPredictions;
+    this.seedRecovery = seedRecovery;
+    this.maxBlocksInFlight = numberOfThreads * BLOCKS_IN_FLIGHT_PER_THREAD;
+    this.executor = Executors.newFixedThreadPool(numberOfThreads);
+  }
+
+  /** Predicts the numbers following each of the given sequences. */
+  public void predict(Iterator<int[]> sequences, Consumer<Result> resultConsumer) {
+    process(sequences, Function.identity(), resultConsumer);
+  }
+
+  /**
+   * Predicts the numbers following each of the given lines. Each line contains the observed numbers
+   * separated by whitespace and/or commas. Lines that cannot be parsed are reported as errors.
+   */
+  public void predictLines(Iterator<String> lines, Consumer<Result> resultConsumer) {
+    process(lines, RandomIntegerBatchPredictor::parseLine, resultConsumer);
+  }
+
+  /** Convenience method that collects the results of {@link #predict(Iterator, Consumer)}. */
+  public List<Result> predictAll(List<int[]> sequences) {
+    List<Result> results = new ArrayList<>(sequences.size());
+    predict(sequences.iterator(), results::add);
+    return results;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private <T> void process(
+      Iterator<T> inputs, Function<T, int[]> parser, Consumer<Result> resultConsumer) {
+    ArrayDeque<Future<Result[]>> blocksInFlight = new ArrayDeque<>(maxBlocksInFlight);
+    long index = 0;
+
+    while (inputs.hasNext()) {
+      List<T> block = new ArrayList<>(BLOCK_SIZE);
+      while (block.size() < BLOCK_SIZE && inputs.hasNext()) {
+        block.add(inputs.next());
+      }
+
+      if (blocksInFlight.size() == maxBlocksInFlight) {
+        emit(blocksInFlight.removeFirst(), resultConsumer);
+      }
+
+      long firstIndex = index;
+      blocksInFlight.addLast(executor.submit(() -> processBlock(block, firstIndex, parser)));
+      index += block.size();
+    }
+
+    while (!blocksInFlight.isEmpty()) {
+      emit(blocksInFlight.removeFirst(), resultConsumer);
+    }
+  }
+
+  private <T> Result[] processBlock(List<T> block, long firstIndex, Function<T, int[]> parser) {
+    Result[] results = new Result[block.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = processSingle(block.get(i), firstIndex + i, parser);
+    }
+    return results;
+  }
+
+  private <T> Result processSingle(T input, long index, Function<T, int[]> parser) {
+    int[] givenNumbers;
+    try {
+      givenNumbers = parser.apply(input);
+    } catch (IllegalArgumentException e) {
+      return new Result(index, null, null, e.getMessage());
+    }
+
+    try {
+      int[] predictions =
+          new RandomIntegerPredictor(seedRecovery, givenNumbers).predict(numberOfPredictions);
+      return new Result(index, givenNumbers, predictions, null);
+    } catch (IllegalArgumentException e) {
+      return new Result(index, givenNumbers, null, e.getMessage());
+    }
+  }
+
+  private static void emit(Future<Result[]> block, Consumer<Result> resultConsumer) {
+    Result[] results;
+    try {
+      results = block.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for predictions", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Prediction failed unexpectedly", e.getCause());
+    }
+
+    for (Result result : results) {
+      resultConsumer.accept(result);
+    }
+  }
+
+  static int[] parseLine(String line) {
+    String trimmed = line.strip();
+    if (trimmed.isEmpty()) {
+      throw new IllegalArgumentException("Empty line");
+    }
+
+    String[] tokens = trimmed.split("[\\s,]+");
+    int[] numbers = new int[tokens.length];
+    for (int i = 0; i < tokens.length; i++) {
+      try {
+        numbers[i] = Integer.parseInt(tokens[i]);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Not a number: " + tokens[i]);
+      }
+    }
+    return numbers;
+  }
+}
@@ -0,0 +1,85 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.predictor.RandomIntegerPredictor.SeedRecovery;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command-line runner for {@link RandomIntegerBatchPredictor}. Reads one sequence of observed
+ * numbers per line from a file (or from standard input if the file name is "-") and writes one
+ * result per line to standard output.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class RandomIntegerBatchPredictorRunner {
+
+  public static final String HELP =
+      "Call with 2 to 4 parameters: [number of predictions, input file or '-' for stdin, "
+          + "number of threads (optional), seed recovery BRUTE_FORCE or ALGEBRAIC (optional, "
+          + "default: BRUTE_FORCE)]";
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 4) {
+      System.err.println(HELP);
+      return;
+    }
+
+    int numberOfPredictions;
+    int numberOfThreads;
+    SeedRecovery seedRecovery;
+    try {
+      numberOfPredictions = Integer.parseInt(args[0]);
+      numberOfThreads =
+          args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+      // The scanning kernel is the default; the algebraic recovery is opt-in
+      seedRecovery = args.length > 3 ? SeedRecovery.valueOf(args[3]) : SeedRecovery.BRUTE_FORCE;
+    } catch (IllegalArgumentException ex) {
+      System.err.println(HELP);
+      return;
+    }
+
+    long startTime = System.currentTimeMillis();
+    long[] counts = new long[2]; // [successful, failed]
+
+    try (BufferedReader reader = openInput(args[1]);
+        BufferedWriter writer =
+            new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        RandomIntegerBatchPredictor predictor =
+            new RandomIntegerBatchPredictor(numberOfThreads, numberOfPredictions, seedRecovery)) {
+      predictor.predictLines(
+          reader.lines().iterator(),
+          result -> {
+            counts[result.isSuccess() ? 0 : 1]++;
+            try {
+              writer.write(result.toString());
+              writer.newLine();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    }
+
+    System.err.printf(
+        Locale.US,
+        "Processed %,d sequences (%,d successful, %,d failed) in %,d ms%n",
+        counts[0] + counts[1],
+        counts[0],
+        counts[1],
+        System.currentTimeMillis() - startTime);
+  }
+
+  private static BufferedReader openInput(String fileName) throws IOException {
+    if (fileName.equals("-")) {
+      return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    }
+    return Files.newBufferedReader(Path.of(fileName));
+  }
+}
@@ -1,5 +1,10 @@
 package eu.happycoders.random.predictor;
 
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+
 /**
  * Predicts pseudo-random numbers generated with java.util.{@link java.util.Random}.
  *
@@ -7,47 +12,77 @@ package eu.happycoders.random.predictor;
  */
 public class RandomIntegerPredictor {
 
-  private static final int SEED_NOISE_BITS = 16;
-  private static final int NUMBER_OF_POSSIBLE_SEEDS = 1 << SEED_NOISE_BITS;
+  /** How to find the seeds matching the first two given numbers. */
+  public enum SeedRecovery {
+    /** Tries all 2<sup>16</sup> noise values. */
+    BRUTE_FORCE,
+
+    /** Solves for the noise values with {@link AlgebraicSeedRecovery}. */
+    ALGEBRAIC
+  }
 
-  private static final long multiplier = 0x5DEECE66DL;
-  private static final long addend = 0xBL;
-  private static final long mask = (1L << 48) - 1;
+  private static final int SEED_NOISE_BITS = 16;
+  private static final int MAX_CANDIDATES = 16;
 
   private final int[] givenNumbers;
+  private final SeedRecovery seedRecovery;
+  private final NoiseScanKernel kernel;
 
   public RandomIntegerPredictor(int... givenNumbers) {
+    this(SeedRecovery.BRUTE_FORCE, givenNumbers);
+  }
+
+  public RandomIntegerPredictor(SeedRecovery seedRecovery, int... givenNumbers) {
+    this(seedRecovery, NoiseScanKernels.get(), givenNumbers);
+  }
+
+  RandomIntegerPredictor(NoiseScanKernel kernel, int... givenNumbers) {
+    this(SeedRecovery.BRUTE_FORCE, kernel, givenNumbers);
+  }
+
+  private RandomIntegerPredictor(
+      SeedRecovery seedRecovery, NoiseScanKernel kernel, int... givenNumbers) {
     if (givenNumbers.length < 2) {
       throw new IllegalArgumentException("Please specify at least two numbers.");
     }
     this.givenNumbers = givenNumbers;
+    this.seedRecovery = seedRecovery;
+    this.kernel = kernel;
   }
 
   public int[] predict(int numberOfPredictions) {
     long seed = getSeedMatchingForSequence();
 
     // Skip the given numbers
-    for (int i = 0; i < givenNumbers.length; i++) {
-      seed = nextSeed(seed);
-    }
+    seed = LcgJump.stateAfter(seed, givenNumbers.length - 1);
 
     // Get the predictions
     int[] predictions = new int[numberOfPredictions];
-    for (int i = 0; i < numberOfPredictions; i++) {
-      predictions[i] = intFromSeed(seed);
-      seed = nextSeed(seed);
-    }
-
+    LcgKernel.nextInts(seed, predictions, 0, numberOfPredictions);
     return predictions;
   }
 
+  /**
+   * Predicts a single number far ahead without calculating the numbers in between: {@code n = 1}
+   * returns the number following the given numbers (the first number returned by {@link
+   * #predict(int)}), {@code n = 1_000_000_000} the billionth.
+   */
+  public int predictNth(long n) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive");
+    }
+    long seed = getSeedMatchingForSequence();
+    return LcgJump.nthInt(seed, givenNumbers.length - 1 + n);
+  }
+
   private long getSeedMatchingForSequence() {
-    long firstNumberSeedBase = calculateSeedBase(givenNumbers[0]);
+    long[] candidates =
+        seedRecovery == SeedRecovery.ALGEBRAIC
+            ? AlgebraicSeedRecovery.seedsFromInts(givenNumbers[0], givenNumbers[1])
+            : findCandidatesByBruteForce();
 
     Long matchingSeed = null;
-    for (int noise = 0; noise < NUMBER_OF_POSSIBLE_SEEDS; noise++) {
-      long seed = firstNumberSeedBase | noise;
-
+    for (long seed : candidates) {
       if (sequenceMatchesForSeed(seed)) {
         if (matchingSeed != null) {
           throw new IllegalArgumentException(
@@ -65,26 +100,38 @@ public class RandomIntegerPredictor {
     return matchingSeed;
   }
 
+  private long[] findCandidatesByBruteForce() {
+    long firstNumberSeedBase = calculateSeedBase(givenNumbers[0]);
+
+    // The kernel filters by the second number; the remaining numbers are checked for the
+    // (usually one or two) candidates only.
+    int[] noises = new int[MAX_CANDIDATES];
+    int numberOfCandidates =
+        kernel.findMatchingNoises(firstNumberSeedBase, givenNumbers[1], noises);
+    if (numberOfCandidates > noises.length) {
+      noises = new int[numberOfCandidates];
+      kernel.findMatchingNoises(firstNumberSeedBase, givenNumbers[1], noises);
+    }
+
+    long[] candidates = new long[numberOfCandidates];
+    for (int i = 0; i < numberOfCandidates; i++) {
+      candidates[i] = firstNumberSeedBase | noises[i];
+    }
+    return candidates;
+  }
+
   private long calculateSeedBase(int number) {
     return Integer.toUnsignedLong(number) << SEED_NOISE_BITS;
   }
 
   private boolean sequenceMatchesForSeed(long seed) {
     for (int i = 1; i < givenNumbers.length; i++) {
-      seed = nextSeed(seed);
-      int nextInt = intFromSeed(seed);
+      seed = LcgKernel.nextSeed(seed);
+      int nextInt = LcgKernel.intFromSeed(seed);
       if (nextInt != givenNumbers[i]) {
         return false;
       }
     }
     return true;
   }
-
-  private long nextSeed(long seed) {
-    return (seed * multiplier + addend) & mask;
-  }
-
-  private int intFromSeed(long seed) {
-    return (int) (seed >>> 16);
-  }
 }
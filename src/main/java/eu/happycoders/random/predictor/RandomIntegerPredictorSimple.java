@@ -1,5 +1,10 @@
 package eu.happycoders.random.predictor;
 
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.lcg.SuccessorLookupTable;
+
 /**
  * Predicts pseudo-random numbers generated with java.util.{@link java.util.Random}.
  *
@@ -10,56 +15,47 @@ package eu.happycoders.random.predictor;
 public class RandomIntegerPredictorSimple {
 
   private static final int SEED_NOISE_BITS = 16;
-  private static final int NUMBER_OF_POSSIBLE_SEEDS = 1 << SEED_NOISE_BITS;
-
-  private static final long multiplier = 0x5DEECE66DL;
-  private static final long addend = 0xBL;
-  private static final long mask = (1L << 48) - 1;
 
   private final int[] givenNumbers;
+  private final NoiseScanKernel kernel;
 
   public RandomIntegerPredictorSimple(int... givenNumbers) {
+    this(NoiseScanKernels.get(), givenNumbers);
+  }
+
+  /**
+   * Creates a predictor that finds the seed with the given kernel, e.g., with a {@link
+   * SuccessorLookupTable} shared by many predictors.
+   */
+  public RandomIntegerPredictorSimple(NoiseScanKernel kernel, int... givenNumbers) {
     if (givenNumbers.length != 2) {
       throw new IllegalArgumentException("Please specify exactly two numbers.");
     }
     this.givenNumbers = givenNumbers;
+    this.kernel = kernel;
   }
 
   public int[] predict(int numberOfPredictions) {
     long seed = getSeedMatchingForSequence();
 
-    // Skip the given numbers
-    for (int i = 0; i < givenNumbers.length; i++) {
-      seed = getNextSeed(seed);
-    }
+    // Skip the second given number
+    seed = LcgKernel.nextSeed(seed);
 
     // Get the predictions
     int[] predictions = new int[numberOfPredictions];
-    for (int i = 0; i < numberOfPredictions; i++) {
-      predictions[i] = (int) (seed >>> 16);
-      seed = getNextSeed(seed);
-    }
-
+    LcgKernel.nextInts(seed, predictions, 0, numberOfPredictions);
     return predictions;
   }
 
   private long getSeedMatchingForSequence() {
     long firstNumberSeedBase = Integer.toUnsignedLong(givenNumbers[0]) << SEED_NOISE_BITS;
 
-    for (int noise = 0; noise < NUMBER_OF_POSSIBLE_SEEDS; noise++) {
-      long seed = firstNumberSeedBase | noise;
-      long nextSeed = getNextSeed(seed);
-      int nextInt = (int) (nextSeed >>> 16);
-      if (nextInt == givenNumbers[1]) {
-        return seed;
-      }
+    int[] noises = new int[1];
+    if (kernel.findMatchingNoises(firstNumberSeedBase, givenNumbers[1], noises) > 0) {
+      return firstNumberSeedBase | noises[0];
     }
 
     throw new IllegalArgumentException(
         "Found no matching seed; please verify your input sequence.");
   }
-
-  private long getNextSeed(long seed) {
-    return (seed * multiplier + addend) & mask;
-  }
 }
@@ -0,0 +1,208 @@
+package eu.happycoders.random.predictor;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Predicts pseudo-random numbers generated with java.util.{@link java.util.Random} from numbers
+ * observed one by one, e.g., by a monitoring pipeline that sees the numbers arrive over time.
+ *
+ * <p>Unlike {@link RandomIntegerPredictor}, which needs all numbers up front and fails if they are
+ * ambiguous, this predictor keeps the seeds still matching the numbers observed so far and narrows
+ * them down with each new number:
+ *
+ * <ul>
+ *   <li>The first number only fixes the upper 32 bits of the seed; the 2<sup>16</sup> candidates
+ *       are not materialized.
+ *   <li>The second number is the only one that triggers a scan of the 2<sup>16</sup> noise values
+ *       (with the fastest {@link NoiseScanKernel}); usually one candidate, rarely a few, remain.
+ *   <li>Each further number advances the remaining candidates by one step and drops the ones that
+ *       don't generate it, in place in a {@code long[]}.
+ * </ul>
+ *
+ * <p>As soon as exactly one candidate remains, the predictor {@link #isDetermined() is determined}
+ * and can predict the following numbers.
+ *
+ * <p>Not thread-safe.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class StreamingRandomIntegerPredictor implements IntConsumer {
+
+  private static final int SEED_NOISE_BITS = 16;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final NoiseScanKernel kernel;
+
+  private long numberOfObservations;
+  private int firstNumber;
+
+  // Seeds after the last observed number; null until the second number has been observed
+  private long[] candidates;
+  private int numberOfCandidates;
+
+  public StreamingRandomIntegerPredictor() {
+    this(NoiseScanKernels.get());
+  }
+
+  StreamingRandomIntegerPredictor(NoiseScanKernel kernel) {
+    this.kernel = kernel;
+  }
+
+  public static void main(String[] args) {
+    Random random = new Random();
+    StreamingRandomIntegerPredictor predictor = new StreamingRandomIntegerPredictor();
+
+    while (!predictor.isDetermined()) {
+      int number = random.nextInt();
+      predictor.accept(number);
+      System.out.printf(
+          Locale.US, "Observed %,d -> %,d candidate(s)%n", number, predictor.numberOfCandidates());
+    }
+
+    System.out.println();
+    System.out.println("Predicted / actual:");
+    for (int predicted : predictor.predict(10)) {
+      System.out.printf(Locale.US, "%,d / %,d%n", predicted, random.nextInt());
+    }
+  }
+
+  /**
+   * Adds the next observed number and drops all candidates that don't generate it.
+   *
+   * @throws IllegalArgumentException if no candidate generates the number; the predictor remains in
+   *     the state before the call
+   */
+  @Override
+  public void accept(int number) {
+    if (numberOfObservations == 0) {
+      firstNumber = number;
+    } else if (candidates == null) {
+      findCandidates(number);
+    } else {
+      narrowCandidates(number);
+    }
+    numberOfObservations++;
+  }
+
+  private void findCandidates(int secondNumber) {
+    long seedBase = Integer.toUnsignedLong(firstNumber) << SEED_NOISE_BITS;
+    int[] noises = new int[INITIAL_CAPACITY];
+    int count = kernel.findMatchingNoises(seedBase, secondNumber, noises);
+    if (count == 0) {
+      throw noMatchingSeed();
+    }
+    if (count > noises.length) {
+      noises = new int[count];
+      kernel.findMatchingNoises(seedBase, secondNumber, noises);
+    }
+
+    long[] seeds = new long[count];
+    for (int i = 0; i < count; i++) {
+      seeds[i] = LcgKernel.nextSeed(seedBase | noises[i]);
+    }
+    candidates = seeds;
+    numberOfCandidates = count;
+  }
+
+  private void narrowCandidates(int number) {
+    // Count first, so that a number matching no candidate leaves the candidates unchanged
+    int matching = 0;
+    for (int i = 0; i < numberOfCandidates; i++) {
+      if (LcgKernel.intFromSeed(LcgKernel.nextSeed(candidates[i])) == number) {
+        matching++;
+      }
+    }
+    if (matching == 0) {
+      throw noMatchingSeed();
+    }
+
+    int retained = 0;
+    for (int i = 0; i < numberOfCandidates; i++) {
+      long seed = LcgKernel.nextSeed(candidates[i]);
+      if (LcgKernel.intFromSeed(seed) == number) {
+        candidates[retained++] = seed;
+      }
+    }
+    numberOfCandidates = retained;
+  }
+
+  private static IllegalArgumentException noMatchingSeed() {
+    return new IllegalArgumentException(
+        "Found no matching seed; please verify your input sequence.");
+  }
+
+  public long numberOfObservations() {
+    return numberOfObservations;
+  }
+
+  /**
+   * Returns the number of seeds still matching the observed numbers: 2<sup>48</sup> before the
+   * first number, 2<sup>16</sup> after it, and usually 1 from the second number on.
+   */
+  public long numberOfCandidates() {
+    if (numberOfObservations == 0) {
+      return 1L << 48;
+    }
+    return candidates == null ? 1L << SEED_NOISE_BITS : numberOfCandidates;
+  }
+
+  /**
+   * Returns whether exactly one seed matches the observed numbers, so that they can be predicted.
+   */
+  public boolean isDetermined() {
+    return candidates != null && numberOfCandidates == 1;
+  }
+
+  /**
+   * Returns the seeds after the last observed number that still match the observed numbers.
+   *
+   * @throws IllegalStateException if fewer than two numbers have been observed
+   */
+  public long[] candidates() {
+    if (candidates == null) {
+      throw new IllegalStateException("Please add at least two numbers.");
+    }
+    return Arrays.copyOf(candidates, numberOfCandidates);
+  }
+
+  /**
+   * Predicts the numbers following the last observed number.
+   *
+   * @throws IllegalStateException if the predictor is not determined yet
+   */
+  public int[] predict(int numberOfPredictions) {
+    int[] predictions = new int[numberOfPredictions];
+    LcgKernel.nextInts(uniqueSeed(), predictions, 0, numberOfPredictions);
+    return predictions;
+  }
+
+  /**
+   * Predicts the {@code n}th number after the last observed number without calculating the numbers
+   * in between.
+   *
+   * @throws IllegalStateException if the predictor is not determined yet
+   */
+  public int predictNth(long n) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive");
+    }
+    return LcgJump.nthInt(uniqueSeed(), n);
+  }
+
+  private long uniqueSeed() {
+    if (!isDetermined()) {
+      throw new IllegalStateException(
+          "Found "
+              + numberOfCandidates()
+              + " matching seeds; please add one more number to the input.");
+    }
+    return candidates[0];
+  }
+}
@@ -0,0 +1,78 @@
+package eu.happycoders.random.quality;
+
+import java.util.Arrays;
+
+/**
+ * Birthday spacings test (Marsaglia, Diehard): {@value #BIRTHDAYS} birthdays are chosen in a year
+ * of 2<sup>32</sup> days (the upper 32 bits of each sample). The number of duplicate values among
+ * the spacings between the sorted birthdays is asymptotically Poisson distributed with {@code λ =
+ * m³ / (4n) = 4}. The test compares the distribution of this number over all rounds of {@value
+ * #BIRTHDAYS} samples with the Poisson distribution; samples of an incomplete last round are
+ * ignored.
+ *
+ * <p>This test detects lattice structure, which LCGs and other linear generators tend to have.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class BirthdaySpacingsTest implements StreamingTest {
+
+  private static final int BIRTHDAYS = 4096;
+  private static final int DAY_BITS = 32;
+  private static final double LAMBDA = Math.pow(BIRTHDAYS, 3) / (4 * Math.pow(2, DAY_BITS));
+  private static final int MAX_DUPLICATES = 16;
+
+  private final long[] birthdays = new long[BIRTHDAYS];
+  private final long[] duplicateCounts = new long[MAX_DUPLICATES + 1];
+  private int numberOfBirthdays;
+  private long samples;
+
+  @Override
+  public String name() {
+    return "Birthday spacings";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    for (int i = 0; i < length; i++) {
+      birthdays[numberOfBirthdays++] = block[i] >>> (64 - DAY_BITS);
+      if (numberOfBirthdays == BIRTHDAYS) {
+        duplicateCounts[Math.min(countDuplicateSpacings(), MAX_DUPLICATES)]++;
+        numberOfBirthdays = 0;
+      }
+    }
+    samples += length;
+  }
+
+  private int countDuplicateSpacings() {
+    Arrays.sort(birthdays);
+    // Calculate the spacings in place, from the end, so that each birthday is still available
+    // when the spacing after it is calculated
+    for (int i = BIRTHDAYS - 1; i > 0; i--) {
+      birthdays[i] -= birthdays[i - 1];
+    }
+    Arrays.sort(birthdays);
+    int duplicates = 0;
+    for (int i = 1; i < BIRTHDAYS; i++) {
+      if (birthdays[i] == birthdays[i - 1]) {
+        duplicates++;
+      }
+    }
+    return duplicates;
+  }
+
+  @Override
+  public TestResult result() {
+    double[] probabilities = new double[MAX_DUPLICATES + 1];
+    double probability = Math.exp(-LAMBDA);
+    double cumulative = 0;
+    for (int k = 0; k < MAX_DUPLICATES; k++) {
+      probabilities[k] = probability;
+      cumulative += probability;
+      probability *= LAMBDA / (k + 1);
+    }
+    probabilities[MAX_DUPLICATES] = 1 - cumulative;
+
+    double[] chiSquare = ChiSquare.test(duplicateCounts, probabilities);
+    return new TestResult(name(), chiSquare[0], chiSquare[1], samples);
+  }
+}
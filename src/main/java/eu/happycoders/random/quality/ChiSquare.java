@@ -0,0 +1,68 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Chi-square goodness-of-fit test for observed counts in categories with known probabilities.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class ChiSquare {
+
+  /** Categories with fewer expected counts are merged into their neighbors. */
+  private static final double MIN_EXPECTED_COUNT = 5;
+
+  private ChiSquare() {}
+
+  /**
+   * Returns the chi-square statistic and its p-value (in this order) for the given counts and
+   * category probabilities. As the approximation by the chi-square distribution requires enough
+   * expected counts per category, the categories at the end (usually the tail of a distribution)
+   * are merged until each category expects at least {@value #MIN_EXPECTED_COUNT} counts. Returns
+   * NaNs if fewer than two categories remain.
+   */
+  static double[] test(long[] counts, double[] probabilities) {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+
+    double chiSquare = 0;
+    int categories = 0;
+    long mergedCount = 0;
+    double mergedExpected = 0;
+    for (int i = 0; i < counts.length; i++) {
+      mergedCount += counts[i];
+      mergedExpected += probabilities[i] * total;
+      // Close the category unless the following ones together would expect too few counts
+      if (mergedExpected >= MIN_EXPECTED_COUNT && remainingExpected(probabilities, i, total)) {
+        chiSquare += contribution(mergedCount, mergedExpected);
+        categories++;
+        mergedCount = 0;
+        mergedExpected = 0;
+      }
+    }
+    if (mergedExpected > 0) {
+      // Only if all categories together expect too few counts
+      chiSquare += contribution(mergedCount, mergedExpected);
+      categories++;
+    }
+
+    if (categories < 2) {
+      return new double[] {Double.NaN, Double.NaN};
+    }
+    return new double[] {chiSquare, SpecialFunctions.chiSquarePValue(chiSquare, categories - 1)};
+  }
+
+  /** Returns whether the categories after {@code i} together expect enough counts. */
+  private static boolean remainingExpected(double[] probabilities, int i, long total) {
+    double remaining = 0;
+    for (int j = i + 1; j < probabilities.length; j++) {
+      remaining += probabilities[j];
+    }
+    return remaining == 0 || remaining * total >= MIN_EXPECTED_COUNT;
+  }
+
+  private static double contribution(long count, double expected) {
+    double difference = count - expected;
+    return difference * difference / expected;
+  }
+}
@@ -0,0 +1,41 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Chi-square test on the distribution of the samples over 2<sup>{@value #BUCKET_BITS}</sup> equally
+ * sized buckets, selected by the upper bits of each sample.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class ChiSquareBucketTest implements StreamingTest {
+
+  private static final int BUCKET_BITS = 10;
+  private static final int NUMBER_OF_BUCKETS = 1 << BUCKET_BITS;
+
+  private final long[] counts = new long[NUMBER_OF_BUCKETS];
+  private long samples;
+
+  @Override
+  public String name() {
+    return "Chi-square buckets";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    for (int i = 0; i < length; i++) {
+      counts[(int) (block[i] >>> (64 - BUCKET_BITS))]++;
+    }
+    samples += length;
+  }
+
+  @Override
+  public TestResult result() {
+    double expected = (double) samples / NUMBER_OF_BUCKETS;
+    double chiSquare = 0;
+    for (long count : counts) {
+      double difference = count - expected;
+      chiSquare += difference * difference / expected;
+    }
+    double pValue = SpecialFunctions.chiSquarePValue(chiSquare, NUMBER_OF_BUCKETS - 1);
+    return new TestResult(name(), chiSquare, pValue, samples);
+  }
+}
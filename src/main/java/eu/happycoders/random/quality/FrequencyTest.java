@@ -0,0 +1,35 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Frequency (monobit) test, NIST SP 800-22 section 2.1: the number of one bits should be close to
+ * half of all bits. The statistic is the normalized difference {@code (ones - zeros) / sqrt(bits)}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class FrequencyTest implements StreamingTest {
+
+  private long samples;
+  private long ones;
+
+  @Override
+  public String name() {
+    return "Frequency (monobit)";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    long blockOnes = 0;
+    for (int i = 0; i < length; i++) {
+      blockOnes += Long.bitCount(block[i]);
+    }
+    ones += blockOnes;
+    samples += length;
+  }
+
+  @Override
+  public TestResult result() {
+    double bits = samples * 64.0;
+    double z = (2.0 * ones - bits) / Math.sqrt(bits);
+    return new TestResult(name(), z, SpecialFunctions.normalPValue(z), samples);
+  }
+}
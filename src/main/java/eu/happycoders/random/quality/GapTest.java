@@ -0,0 +1,54 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Gap test (Knuth, TAOCP vol. 2, section 3.3.2 D): the lengths of the gaps between samples whose
+ * upper {@value #HIT_BITS} bits are all zero (probability {@code p = 1/16}) should be geometrically
+ * distributed: {@code P(gap = k) = p (1 - p)^k}. Gaps of {@value #MAX_GAP} and more samples are
+ * counted together.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class GapTest implements StreamingTest {
+
+  private static final int HIT_BITS = 4;
+  private static final double HIT_PROBABILITY = 1.0 / (1 << HIT_BITS);
+  private static final int MAX_GAP = 64;
+
+  private final long[] gapCounts = new long[MAX_GAP + 1];
+  private int currentGap;
+  private long samples;
+
+  @Override
+  public String name() {
+    return "Gap";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    int gap = currentGap;
+    for (int i = 0; i < length; i++) {
+      if (block[i] >>> (64 - HIT_BITS) == 0) {
+        gapCounts[Math.min(gap, MAX_GAP)]++;
+        gap = 0;
+      } else {
+        gap++;
+      }
+    }
+    currentGap = gap;
+    samples += length;
+  }
+
+  @Override
+  public TestResult result() {
+    double[] probabilities = new double[MAX_GAP + 1];
+    double probability = HIT_PROBABILITY;
+    for (int k = 0; k < MAX_GAP; k++) {
+      probabilities[k] = probability;
+      probability *= 1 - HIT_PROBABILITY;
+    }
+    probabilities[MAX_GAP] = Math.pow(1 - HIT_PROBABILITY, MAX_GAP);
+
+    double[] chiSquare = ChiSquare.test(gapCounts, probabilities);
+    return new TestResult(name(), chiSquare[0], chiSquare[1], samples);
+  }
+}
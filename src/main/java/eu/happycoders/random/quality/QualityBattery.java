@@ -0,0 +1,164 @@
+package eu.happycoders.random.quality;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Runs a battery of {@link StreamingTest}s on a {@link RandomGenerator}, e.g., to qualify a
+ * generator before rolling it out.
+ *
+ * <p>Each test runs in its own task on a thread pool, with its own generator instance from the
+ * given supplier, so independent tests run in parallel on all cores. The generators are created on
+ * the calling thread, in the order of the tests, so a deterministic supplier gives reproducible
+ * reports and doesn't need to be thread-safe. A task fills a block of {@value #BLOCK_SIZE} samples
+ * with {@link RandomGenerator#nextLong()} and passes it to its test, reusing the block for the next
+ * samples; tests keep only fixed-size counters. The memory used is therefore independent of the
+ * number of samples, which can be 10<sup>10</sup> and more per test.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class QualityBattery {
+
+  private static final int BLOCK_SIZE = 4096;
+
+  private final List<Supplier<StreamingTest>> tests;
+
+  /**
+   * Report of a battery run.
+   *
+   * @param results the test results, in the order of the tests
+   * @param bytesConsumed the number of random bytes consumed by all tests together
+   * @param elapsedNanos the duration of the run
+   */
+  public record Report(List<TestResult> results, long bytesConsumed, long elapsedNanos) {
+    public double gigabytesPerSecond() {
+      return elapsedNanos == 0 ? 0 : (double) bytesConsumed / elapsedNanos;
+    }
+
+    /** Returns whether all tests passed at the given significance level. */
+    public boolean passed(double alpha) {
+      return results.stream().allMatch(result -> result.passed(alpha));
+    }
+  }
+
+  /** Creates a battery running the given tests; each supplier creates a fresh test per run. */
+  public QualityBattery(List<Supplier<StreamingTest>> tests) {
+    if (tests.isEmpty()) {
+      throw new IllegalArgumentException("Please specify at least one test.");
+    }
+    this.tests = List.copyOf(tests);
+  }
+
+  /**
+   * Returns a battery of frequency, runs, chi-square bucket, serial correlation, birthday spacings
+   * and gap tests.
+   */
+  public static QualityBattery standard() {
+    return new QualityBattery(
+        List.of(
+            FrequencyTest::new,
+            RunsTest::new,
+            ChiSquareBucketTest::new,
+            SerialCorrelationTest::new,
+            BirthdaySpacingsTest::new,
+            GapTest::new));
+  }
+
+  public static void main(String[] args) {
+    long samplesPerTest = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+    int parallelism =
+        args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    QualityBattery battery = standard();
+    for (String algorithm : List.of("Random", "SplittableRandom", "L64X128MixRandom")) {
+      RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+      printReport(algorithm, battery.run(factory::create, samplesPerTest, parallelism));
+    }
+
+    // A Weyl sequence: perfectly uniform, but anything but random
+    printReport("Weyl sequence", battery.run(WeylSequence::new, samplesPerTest, parallelism));
+  }
+
+  private static void printReport(String generator, Report report) {
+    System.out.printf(
+        Locale.US,
+        "%s: %s, %,.3f GB/s%n",
+        generator,
+        report.passed(0.001) ? "passed" : "FAILED",
+        report.gigabytesPerSecond());
+    for (TestResult result : report.results()) {
+      System.out.printf("  %s%s%n", result, result.passed(0.001) ? "" : "   <-- FAILED");
+    }
+  }
+
+  /**
+   * Runs all tests on {@code samplesPerTest} 64-bit samples each, using up to {@code parallelism}
+   * threads.
+   */
+  public Report run(
+      Supplier<? extends RandomGenerator> generators, long samplesPerTest, int parallelism) {
+    if (samplesPerTest <= 0) {
+      throw new IllegalArgumentException("samplesPerTest must be positive");
+    }
+
+    long startTime = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tests.size()));
+    try {
+      List<Future<TestResult>> futures = new ArrayList<>(tests.size());
+      for (Supplier<StreamingTest> test : tests) {
+        // Created here rather than in the task, so that the assignment of generators to tests
+        // doesn't depend on the scheduling
+        RandomGenerator generator = generators.get();
+        futures.add(executor.submit(() -> runTest(test.get(), generator, samplesPerTest)));
+      }
+
+      List<TestResult> results = new ArrayList<>(tests.size());
+      for (Future<TestResult> future : futures) {
+        results.add(future.get());
+      }
+      return new Report(
+          List.copyOf(results),
+          samplesPerTest * Long.BYTES * tests.size(),
+          System.nanoTime() - startTime);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while running the tests", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Test failed with an exception", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static TestResult runTest(
+      StreamingTest test, RandomGenerator generator, long numberOfSamples) {
+    long[] block = new long[BLOCK_SIZE];
+    for (long remaining = numberOfSamples; remaining > 0; ) {
+      int length = (int) Math.min(BLOCK_SIZE, remaining);
+      for (int i = 0; i < length; i++) {
+        block[i] = generator.nextLong();
+      }
+      test.accept(block, length);
+      remaining -= length;
+    }
+    return test.result();
+  }
+
+  /** Adds the golden ratio constant to a counter for each sample. */
+  private static final class WeylSequence implements RandomGenerator {
+    private long state = System.nanoTime();
+
+    @Override
+    public long nextLong() {
+      return state += 0x9E3779B97F4A7C15L;
+    }
+  }
+}
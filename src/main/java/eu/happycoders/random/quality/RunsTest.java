@@ -0,0 +1,65 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Runs test, NIST SP 800-22 section 2.3: the number of runs (maximal sequences of equal bits) in
+ * the bit stream should match the number expected for the observed proportion of ones. Each sample
+ * contributes its 64 bits, most significant bit first.
+ *
+ * <p>The runs within a sample are counted with a single {@code bitCount} of the sample XORed with
+ * itself shifted by one bit, which marks all changes between adjacent bits.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class RunsTest implements StreamingTest {
+
+  private static final long ADJACENT_PAIRS_MASK = Long.MAX_VALUE;
+
+  private long samples;
+  private long ones;
+  private long bitChanges;
+  private long previousSample;
+
+  @Override
+  public String name() {
+    return "Runs";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    long blockOnes = 0;
+    long blockChanges = 0;
+    long previous = previousSample;
+    for (int i = 0; i < length; i++) {
+      long sample = block[i];
+      blockOnes += Long.bitCount(sample);
+      blockChanges += Long.bitCount((sample ^ (sample >>> 1)) & ADJACENT_PAIRS_MASK);
+      // Change between the last bit of the previous sample and the first bit of this one
+      blockChanges += (previous ^ (sample >>> 63)) & 1;
+      previous = sample;
+    }
+    if (samples == 0 && length > 0) {
+      // There is no bit before the first one
+      blockChanges -= (previousSample ^ (block[0] >>> 63)) & 1;
+    }
+
+    ones += blockOnes;
+    bitChanges += blockChanges;
+    previousSample = previous;
+    samples += length;
+  }
+
+  @Override
+  public TestResult result() {
+    double n = samples * 64.0;
+    double proportion = ones / n;
+    double runs = bitChanges + 1.0;
+    if (Math.abs(proportion - 0.5) >= 2 / Math.sqrt(n)) {
+      // Frequency test prerequisite failed; the runs test is not applicable
+      return new TestResult(name(), runs, 0, samples);
+    }
+
+    double expected = 2 * n * proportion * (1 - proportion);
+    double z = (runs - expected) / (2 * Math.sqrt(n) * proportion * (1 - proportion));
+    return new TestResult(name(), z, SpecialFunctions.normalPValue(z), samples);
+  }
+}
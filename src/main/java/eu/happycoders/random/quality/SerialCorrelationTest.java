@@ -0,0 +1,70 @@
+package eu.happycoders.random.quality;
+
+/**
+ * Serial correlation test (Knuth, TAOCP vol. 2, section 3.3.2 K): the correlation coefficient of
+ * consecutive samples, taken as doubles in [0, 1), should be close to 0. The samples are centered
+ * on the expected mean 1/2, so that the coefficient {@code sum(c[i] * c[i+1]) / sum(c[i]²)} can be
+ * accumulated in one pass; for a perfect generator, it is normally distributed with variance {@code
+ * 1/n}.
+ *
+ * <p>Sums are accumulated per block first, which keeps the rounding error of 10<sup>10</sup> and
+ * more additions small.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class SerialCorrelationTest implements StreamingTest {
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private long samples;
+  private double previous;
+  private double sumOfProducts;
+  private double sumOfSquares;
+
+  @Override
+  public String name() {
+    return "Serial correlation";
+  }
+
+  @Override
+  public void accept(long[] block, int length) {
+    if (length == 0) {
+      return;
+    }
+
+    double blockProducts = 0;
+    double blockSquares = 0;
+    double previous = this.previous;
+    int start = 0;
+    if (samples == 0) {
+      previous = centered(block[0]);
+      blockSquares = previous * previous;
+      start = 1;
+    }
+    for (int i = start; i < length; i++) {
+      double current = centered(block[i]);
+      blockProducts += previous * current;
+      blockSquares += current * current;
+      previous = current;
+    }
+
+    sumOfProducts += blockProducts;
+    sumOfSquares += blockSquares;
+    this.previous = previous;
+    samples += length;
+  }
+
+  private static double centered(long sample) {
+    return (sample >>> 11) * DOUBLE_UNIT - 0.5;
+  }
+
+  @Override
+  public TestResult result() {
+    if (samples < 2) {
+      return new TestResult(name(), Double.NaN, Double.NaN, samples);
+    }
+    double correlation = sumOfProducts / sumOfSquares;
+    double z = correlation * Math.sqrt(samples - 1);
+    return new TestResult(name(), correlation, SpecialFunctions.normalPValue(z), samples);
+  }
+}
@@ -0,0 +1,129 @@
+package eu.happycoders.random.quality;
+
+/**
+ * The special functions needed to turn test statistics into p-values: the complementary error
+ * function for normally distributed statistics and the regularized upper incomplete gamma function
+ * for chi-square distributed ones.
+ *
+ * <p>The implementations follow Press et al., "Numerical Recipes", 3rd edition, section 6.1
+ * (Lanczos approximation of ln Γ) and 6.2 (series and continued fraction of the incomplete gamma
+ * function).
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class SpecialFunctions {
+
+  private static final double EPSILON = 1e-15;
+  private static final double TINY = 1e-300;
+  private static final int MAX_ITERATIONS = 10_000;
+
+  private static final double[] LANCZOS_COEFFICIENTS = {
+    57.1562356658629235,
+    -59.5979603554754912,
+    14.1360979747417471,
+    -0.491913816097620199,
+    .339946499848118887e-4,
+    .465236289270485756e-4,
+    -.983744753048795646e-4,
+    .158088703224912494e-3,
+    -.210264441724104883e-3,
+    .217439618115212643e-3,
+    -.164318106536763890e-3,
+    .844182239838527433e-4,
+    -.261908384015814087e-4,
+    .368991826595316234e-5
+  };
+
+  private SpecialFunctions() {}
+
+  /** Returns the complementary error function {@code erfc(x) = Q(1/2, x²)} for {@code x >= 0}. */
+  static double erfc(double x) {
+    double q = regularizedGammaQ(0.5, x * x);
+    return x >= 0 ? q : 2 - q;
+  }
+
+  /**
+   * Returns the two-sided p-value of a standard normally distributed statistic {@code z}: the
+   * probability of a value at least as far from 0.
+   */
+  static double normalPValue(double z) {
+    return erfc(Math.abs(z) / Math.sqrt(2));
+  }
+
+  /**
+   * Returns the p-value of a chi-square statistic: the probability of a value at least as large,
+   * with the given degrees of freedom.
+   */
+  static double chiSquarePValue(double chiSquare, int degreesOfFreedom) {
+    return regularizedGammaQ(degreesOfFreedom / 2.0, chiSquare / 2);
+  }
+
+  /** Returns the regularized upper incomplete gamma function {@code Q(a, x) = Γ(a, x) / Γ(a)}. */
+  static double regularizedGammaQ(double a, double x) {
+    if (a <= 0 || x < 0 || Double.isNaN(x)) {
+      throw new IllegalArgumentException("Invalid arguments: a = " + a + ", x = " + x);
+    }
+    if (x == 0) {
+      return 1;
+    }
+    if (x == Double.POSITIVE_INFINITY) {
+      return 0;
+    }
+    return x < a + 1 ? 1 - lowerGammaSeries(a, x) : upperGammaContinuedFraction(a, x);
+  }
+
+  /** Returns {@code ln Γ(x)} for {@code x > 0}. */
+  static double lnGamma(double x) {
+    double tmp = x + 5.24218750000000000;
+    tmp = (x + 0.5) * Math.log(tmp) - tmp;
+    double series = 0.999999999999997092;
+    double y = x;
+    for (double coefficient : LANCZOS_COEFFICIENTS) {
+      series += coefficient / ++y;
+    }
+    return tmp + Math.log(2.5066282746310005 * series / x);
+  }
+
+  /** Returns {@code P(a, x)} by its series representation, which converges fast for x < a + 1. */
+  private static double lowerGammaSeries(double a, double x) {
+    double term = 1 / a;
+    double sum = term;
+    double ap = a;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      ap++;
+      term *= x / ap;
+      sum += term;
+      if (Math.abs(term) < Math.abs(sum) * EPSILON) {
+        break;
+      }
+    }
+    return sum * Math.exp(-x + a * Math.log(x) - lnGamma(a));
+  }
+
+  /** Returns {@code Q(a, x)} by its continued fraction (modified Lentz), for x >= a + 1. */
+  private static double upperGammaContinuedFraction(double a, double x) {
+    double b = x + 1 - a;
+    double c = 1 / TINY;
+    double d = 1 / b;
+    double h = d;
+    for (int i = 1; i < MAX_ITERATIONS; i++) {
+      double an = -i * (i - a);
+      b += 2;
+      d = an * d + b;
+      if (Math.abs(d) < TINY) {
+        d = TINY;
+      }
+      c = b + an / c;
+      if (Math.abs(c) < TINY) {
+        c = TINY;
+      }
+      d = 1 / d;
+      double delta = d * c;
+      h *= delta;
+      if (Math.abs(delta - 1) < EPSILON) {
+        break;
+      }
+    }
+    return Math.exp(-x + a * Math.log(x) - lnGamma(a)) * h;
+  }
+}
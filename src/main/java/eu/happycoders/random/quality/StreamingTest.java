@@ -0,0 +1,21 @@
+package eu.happycoders.random.quality;
+
+/**
+ * A statistical test that consumes random 64-bit samples block by block, in fixed memory, so that
+ * it can process any number of samples without storing them.
+ *
+ * <p>Implementations are not thread-safe; the {@link QualityBattery} runs each test in its own
+ * thread with its own generator.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public interface StreamingTest {
+
+  String name();
+
+  /** Consumes the first {@code length} samples of the given block. */
+  void accept(long[] samples, int length);
+
+  /** Returns the result for the samples consumed so far. */
+  TestResult result();
+}
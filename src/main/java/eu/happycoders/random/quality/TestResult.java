@@ -0,0 +1,35 @@
+package eu.happycoders.random.quality;
+
+import java.util.Locale;
+
+/**
+ * Result of a {@link StreamingTest}.
+ *
+ * @param testName the name of the test
+ * @param statistic the test statistic, e.g., a z-score or a chi-square value
+ * @param pValue the probability of a statistic at least as extreme for a perfect generator; NaN if
+ *     there were not enough samples
+ * @param samples the number of 64-bit samples consumed
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public record TestResult(String testName, double statistic, double pValue, long samples) {
+
+  /**
+   * Returns whether the p-value lies within {@code [alpha, 1 - alpha]}. Very large p-values are
+   * suspicious, too: a sequence can be "too uniform".
+   */
+  public boolean passed(double alpha) {
+    return pValue >= alpha && pValue <= 1 - alpha;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.US,
+        "%-22s statistic = %14.4f   p = %.6f   (%,d samples)",
+        testName,
+        statistic,
+        pValue,
+        samples);
+  }
+}
@@ -0,0 +1,285 @@
+package eu.happycoders.random.seed;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Derives statistically independent, reproducible child generators from one root seed, so that
+ * parallel computations produce bit-identical results, no matter how many threads execute them.
+ *
+ * <p>{@link SetSeedExample} shows that a seeded generator repeats its sequence. That no longer
+ * holds once the work is split across threads: with a shared generator, the values each work item
+ * gets depend on the scheduling; with {@link SplittableRandom#split()}, they depend on the order of
+ * the splits, i.e., on how the stream or fork/join framework divides the work, which in turn
+ * depends on the parallelism.
+ *
+ * <p>Here, the generator of a work item depends only on the root seed and the item's index: {@link
+ * #child(long) child(i)} always returns a generator in the same state. {@link #chunks(long, int)}
+ * divides {@code size} work items into chunks of fixed size, each with its own child generator, as
+ * a stream that can be processed in parallel. The results depend on the chunk size, but not on the
+ * parallelism. Floating-point results must still be combined in chunk order (e.g., by collecting
+ * the chunk results with {@code toArray()} and adding them up sequentially), as floating-point
+ * addition is not associative.
+ *
+ * <p>Children are derived in constant time. Jumpable generators like {@code Xoshiro256PlusPlus} are
+ * not supported, as child {@code i} would require {@code i} jumps.
+ *
+ * <p>Instances are immutable and thread-safe; the child generators are not.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class ReproducibleRandomStreams {
+
+  /** How children are derived from the root seed. */
+  public enum Derivation {
+    /**
+     * Child {@code i} is a {@link SplittableRandom} seeded with a hash of the root seed and {@code
+     * i}, i.e., random seeding. Unlike {@link SplittableRandom#split()}, which also chooses a new
+     * gamma, {@code new SplittableRandom(seed)} always uses the same gamma: all children are
+     * windows at pseudo-random offsets into the same sequence with period 2<sup>64</sup>. For
+     * {@code n} children drawing {@code m} values each, two windows overlap with a probability of
+     * about {@code n^2 * m / 2^64}, e.g., 2<sup>-14</sup> for 2<sup>10</sup> children drawing
+     * 2<sup>30</sup> values each.
+     */
+    SPLIT_MIX,
+
+    /**
+     * Child {@code i} is a {@link Random} whose sequence starts {@code i * 2^32} steps after the
+     * sequence of {@code new Random(rootSeed)}, calculated with {@link LcgJump}. So child 0 is
+     * {@code new Random(rootSeed)}, and the sequences of the at most {@value #MAX_LCG_CHILDREN}
+     * children don't overlap for 2<sup>32</sup> {@code nextInt()} calls each.
+     */
+    LCG_JUMP
+  }
+
+  /**
+   * A chunk of work items with its own generator.
+   *
+   * @param index the chunk index
+   * @param start the index of the chunk's first work item
+   * @param length the number of work items in the chunk
+   * @param random the generator of the chunk, i.e., {@code child(index)}
+   */
+  public record Chunk(long index, long start, int length, RandomGenerator random) {}
+
+  /** The maximum number of children with {@link Derivation#LCG_JUMP}. */
+  public static final long MAX_LCG_CHILDREN = 1L << 16;
+
+  private static final int LCG_STRIDE_BITS = 32;
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long mask = LcgKernel.mask;
+
+  private final long rootSeed;
+  private final Derivation derivation;
+
+  private ReproducibleRandomStreams(long rootSeed, Derivation derivation) {
+    this.rootSeed = rootSeed;
+    this.derivation = derivation;
+  }
+
+  /** Creates streams whose children are derived with {@link Derivation#SPLIT_MIX}. */
+  public static ReproducibleRandomStreams of(long rootSeed) {
+    return of(rootSeed, Derivation.SPLIT_MIX);
+  }
+
+  public static ReproducibleRandomStreams of(long rootSeed, Derivation derivation) {
+    if (derivation == null) {
+      throw new IllegalArgumentException("derivation must not be null");
+    }
+    return new ReproducibleRandomStreams(rootSeed, derivation);
+  }
+
+  public static void main(String[] args) {
+    long samples = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+    int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+    for (Derivation derivation : Derivation.values()) {
+      ReproducibleRandomStreams streams = of(42, derivation);
+      System.out.printf("%s:%n", derivation);
+      for (int parallelism = 1; parallelism <= 8; parallelism *= 2) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+          long time = System.nanoTime();
+          double[] chunkSums =
+              pool.submit(
+                      () ->
+                          streams
+                              .chunks(samples, chunkSize)
+                              .parallel()
+                              .mapToDouble(ReproducibleRandomStreams::sumOfSquares)
+                              .toArray())
+                  .join();
+          double streamResult = sumInChunkOrder(chunkSums) / samples;
+          long streamNanos = System.nanoTime() - time;
+
+          time = System.nanoTime();
+          double[] taskChunkSums = new double[chunkSums.length];
+          pool.invoke(
+              new SumOfSquaresTask(
+                  streams, samples, chunkSize, taskChunkSums, 0, taskChunkSums.length));
+          double taskResult = sumInChunkOrder(taskChunkSums) / samples;
+          long taskNanos = System.nanoTime() - time;
+
+          System.out.printf(
+              Locale.US,
+              "  parallelism %d: stream %s (%,.0f M samples/s), fork/join %s (%,.0f M samples/s)%n",
+              parallelism,
+              Double.toHexString(streamResult),
+              samples * 1e3 / streamNanos,
+              Double.toHexString(taskResult),
+              samples * 1e3 / taskNanos);
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  private static double sumOfSquares(Chunk chunk) {
+    RandomGenerator random = chunk.random();
+    double sum = 0;
+    for (int i = 0; i < chunk.length(); i++) {
+      double value = random.nextDouble();
+      sum += value * value;
+    }
+    return sum;
+  }
+
+  private static double sumInChunkOrder(double[] chunkSums) {
+    double sum = 0;
+    for (double chunkSum : chunkSums) {
+      sum += chunkSum;
+    }
+    return sum;
+  }
+
+  /** Shows the use in fork/join tasks: each leaf uses the children of its chunk indexes. */
+  private static final class SumOfSquaresTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final ReproducibleRandomStreams streams;
+    private final long samples;
+    private final int chunkSize;
+    private final double[] chunkSums;
+    private final int fromChunk;
+    private final int toChunk;
+
+    private SumOfSquaresTask(
+        ReproducibleRandomStreams streams,
+        long samples,
+        int chunkSize,
+        double[] chunkSums,
+        int fromChunk,
+        int toChunk) {
+      this.streams = streams;
+      this.samples = samples;
+      this.chunkSize = chunkSize;
+      this.chunkSums = chunkSums;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (toChunk - fromChunk > 1) {
+        int middle = (fromChunk + toChunk) >>> 1;
+        invokeAll(
+            new SumOfSquaresTask(streams, samples, chunkSize, chunkSums, fromChunk, middle),
+            new SumOfSquaresTask(streams, samples, chunkSize, chunkSums, middle, toChunk));
+        return;
+      }
+      for (int i = fromChunk; i < toChunk; i++) {
+        chunkSums[i] = sumOfSquares(streams.chunk(i, samples, chunkSize));
+      }
+    }
+  }
+
+  /**
+   * Returns the child generator with the given index. Each call returns a new generator in the same
+   * state.
+   *
+   * @throws IllegalArgumentException if the index is negative, or, with {@link
+   *     Derivation#LCG_JUMP}, not less than {@link #MAX_LCG_CHILDREN}
+   */
+  public RandomGenerator child(long index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("index must not be negative");
+    }
+    if (derivation == Derivation.SPLIT_MIX) {
+      return new SplittableRandom(mix64(rootSeed + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    if (index >= MAX_LCG_CHILDREN) {
+      throw new IllegalArgumentException("index must be less than " + MAX_LCG_CHILDREN);
+    }
+    long rootState = (rootSeed ^ multiplier) & mask;
+    long state = LcgJump.stateAfter(rootState, index << LCG_STRIDE_BITS);
+    // setSeed() XORs the seed with the multiplier
+    return new Random((state ^ multiplier) & mask);
+  }
+
+  /**
+   * Divides {@code size} work items into chunks of {@code chunkSize} items (the last one may be
+   * shorter) and returns them in index order. The stream is sequential; call {@code parallel()} to
+   * process the chunks in parallel.
+   *
+   * @throws IllegalArgumentException if {@code size} is negative or {@code chunkSize} not positive
+   */
+  public Stream<Chunk> chunks(long size, int chunkSize) {
+    long numberOfChunks = numberOfChunks(size, chunkSize);
+    return LongStream.range(0, numberOfChunks).mapToObj(index -> chunk(index, size, chunkSize));
+  }
+
+  /**
+   * Returns the chunk with the given index, as in {@link #chunks(long, int)}, e.g., for fork/join
+   * tasks that divide the chunk indexes among themselves.
+   *
+   * @throws IllegalArgumentException if the index is not in the range of chunks
+   */
+  public Chunk chunk(long index, long size, int chunkSize) {
+    long numberOfChunks = numberOfChunks(size, chunkSize);
+    if (index < 0 || index >= numberOfChunks) {
+      throw new IllegalArgumentException(
+          "index " + index + " out of range [0, " + numberOfChunks + ")");
+    }
+    long start = index * chunkSize;
+    int length = (int) Math.min(chunkSize, size - start);
+    return new Chunk(index, start, length, child(index));
+  }
+
+  private static long numberOfChunks(long size, int chunkSize) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size must not be negative");
+    }
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive");
+    }
+    return size == 0 ? 0 : (size - 1) / chunkSize + 1;
+  }
+
+  /**
+   * MurmurHash3's 64-bit finalizer; a different function than the one {@link SplittableRandom}
+   * generates its outputs with, so that child seeds and outputs are not correlated.
+   */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return z ^ (z >>> 33);
+  }
+
+  @Override
+  public String toString() {
+    return "ReproducibleRandomStreams[rootSeed=" + rootSeed + ", derivation=" + derivation + "]";
+  }
+}
@@ -0,0 +1,184 @@
+package eu.happycoders.random.sequence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Progress checkpoint for searches that split their search space into a fixed number of chunks.
+ *
+ * <p>Stores which chunks have been completed and the results (encoded as {@code long}s) found in
+ * them. Results of a chunk are committed together with the chunk itself, so a resumed run neither
+ * loses nor duplicates results. The file is written to a temporary file first and then moved over
+ * the previous checkpoint, so a run killed while saving leaves the last checkpoint intact.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+class ChunkCheckpoint {
+
+  private static final int MAGIC = 0x52_4E_44_43; // "RNDC"
+  private static final int VERSION = 1;
+
+  private final Path file;
+  private final int numberOfChunks;
+  private final long saveIntervalMillis;
+
+  private final BitSet completedChunks;
+  private long[] results;
+  private int numberOfResults;
+
+  private long lastSaveTime;
+
+  private ChunkCheckpoint(
+      Path file,
+      int numberOfChunks,
+      long saveIntervalMillis,
+      BitSet completedChunks,
+      long[] results,
+      int numberOfResults) {
+    this.file = file;
+    this.numberOfChunks = numberOfChunks;
+    this.saveIntervalMillis = saveIntervalMillis;
+    this.completedChunks = completedChunks;
+    this.results = results;
+    this.numberOfResults = numberOfResults;
+    this.lastSaveTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Loads the checkpoint from the given file or creates a new, empty one if the file does not
+   * exist. If {@code file} is {@code null}, the checkpoint is kept in memory only.
+   */
+  static ChunkCheckpoint loadOrCreate(Path file, int numberOfChunks, long saveIntervalMillis) {
+    if (file == null || !Files.exists(file)) {
+      return new ChunkCheckpoint(
+          file, numberOfChunks, saveIntervalMillis, new BitSet(numberOfChunks), new long[16], 0);
+    }
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IllegalStateException("Not a checkpoint file: " + file);
+      }
+
+      int storedNumberOfChunks = in.readInt();
+      if (storedNumberOfChunks != numberOfChunks) {
+        throw new IllegalStateException(
+            "Checkpoint file "
+                + file
+                + " was written for "
+                + storedNumberOfChunks
+                + " chunks, not for "
+                + numberOfChunks);
+      }
+
+      long[] words = new long[in.readInt()];
+      for (int i = 0; i < words.length; i++) {
+        words[i] = in.readLong();
+      }
+
+      int numberOfResults = in.readInt();
+      long[] results = new long[Math.max(16, numberOfResults)];
+      for (int i = 0; i < numberOfResults; i++) {
+        results[i] = in.readLong();
+      }
+
+      return new ChunkCheckpoint(
+          file,
+          numberOfChunks,
+          saveIntervalMillis,
+          BitSet.valueOf(words),
+          results,
+          numberOfResults);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read checkpoint file " + file, e);
+    }
+  }
+
+  int numberOfChunks() {
+    return numberOfChunks;
+  }
+
+  synchronized boolean isCompleted(int chunk) {
+    return completedChunks.get(chunk);
+  }
+
+  synchronized int numberOfCompletedChunks() {
+    return completedChunks.cardinality();
+  }
+
+  synchronized int numberOfResults() {
+    return numberOfResults;
+  }
+
+  synchronized long[] results() {
+    return Arrays.copyOf(results, numberOfResults);
+  }
+
+  /**
+   * Marks the given chunk as completed and adds the results found in it. Saves the checkpoint if
+   * the save interval has elapsed since the last save.
+   */
+  synchronized void complete(int chunk, long[] chunkResults, int numberOfChunkResults) {
+    if (completedChunks.get(chunk)) {
+      throw new IllegalStateException("Chunk " + chunk + " has already been completed");
+    }
+    completedChunks.set(chunk);
+
+    if (numberOfResults + numberOfChunkResults > results.length) {
+      results =
+          Arrays.copyOf(
+              results, Math.max(results.length * 2, numberOfResults + numberOfChunkResults));
+    }
+    System.arraycopy(chunkResults, 0, results, numberOfResults, numberOfChunkResults);
+    numberOfResults += numberOfChunkResults;
+
+    if (System.currentTimeMillis() - lastSaveTime >= saveIntervalMillis) {
+      save();
+    }
+  }
+
+  /** Writes the checkpoint to its file; does nothing for in-memory checkpoints. */
+  synchronized void save() {
+    lastSaveTime = System.currentTimeMillis();
+    if (file == null) {
+      return;
+    }
+
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(numberOfChunks);
+
+      long[] words = completedChunks.toLongArray();
+      out.writeInt(words.length);
+      for (long word : words) {
+        out.writeLong(word);
+      }
+
+      out.writeInt(numberOfResults);
+      for (int i = 0; i < numberOfResults; i++) {
+        out.writeLong(results[i]);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write checkpoint file " + tempFile, e);
+    }
+
+    try {
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot replace checkpoint file " + file, e);
+    }
+  }
+}
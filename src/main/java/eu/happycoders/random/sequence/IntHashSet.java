@@ -0,0 +1,97 @@
+package eu.happycoders.random.sequence;
+
+import java.util.Arrays;
+
+/**
+ * Reusable hash set of primitive {@code int}s with open addressing (linear probing).
+ *
+ * <p>Each slot carries a generation stamp; a slot is only occupied if its stamp equals the current
+ * generation. {@link #clear()} therefore just increments the generation and runs in O(1). Neither
+ * adding nor clearing allocates any objects.
+ *
+ * <p>The set does not grow; it must be created with a capacity large enough for the maximum number
+ * of elements added between two calls of {@link #clear()}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class IntHashSet {
+
+  private final int maxSize;
+  private final int mask;
+  private final int shift;
+  private final int[] keys;
+  private final int[] stamps;
+
+  private int generation = 1;
+  private int size;
+
+  /**
+   * Creates a set that can hold up to {@code maxSize} elements. The table is sized to a load factor
+   * of at most 0.5.
+   */
+  public IntHashSet(int maxSize) {
+    if (maxSize <= 0 || maxSize > 1 << 29) {
+      throw new IllegalArgumentException("maxSize must be in the range [1, 2^29]");
+    }
+    int tableSize = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+    this.maxSize = maxSize;
+    this.mask = tableSize - 1;
+    this.shift = Integer.numberOfLeadingZeros(tableSize) + 1;
+    this.keys = new int[tableSize];
+    this.stamps = new int[tableSize];
+  }
+
+  /**
+   * Adds the given value to the set.
+   *
+   * @return {@code true} if the value was added; {@code false} if it was already contained
+   */
+  public boolean add(int value) {
+    int index = indexFor(value);
+    while (stamps[index] == generation) {
+      if (keys[index] == value) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+
+    if (size == maxSize) {
+      throw new IllegalStateException("Set is full; maxSize = " + maxSize);
+    }
+    keys[index] = value;
+    stamps[index] = generation;
+    size++;
+    return true;
+  }
+
+  public boolean contains(int value) {
+    int index = indexFor(value);
+    while (stamps[index] == generation) {
+      if (keys[index] == value) {
+        return true;
+      }
+      index = (index + 1) & mask;
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Removes all elements in O(1) (amortized) by starting a new generation. */
+  public void clear() {
+    size = 0;
+    generation++;
+    if (generation == 0) {
+      // Stamps have wrapped around; a stale stamp could now equal a future generation
+      Arrays.fill(stamps, 0);
+      generation = 1;
+    }
+  }
+
+  private int indexFor(int value) {
+    // Fibonacci hashing: the upper bits of the product are well distributed
+    return ((value * 0x9E3779B9) >>> shift) & mask;
+  }
+}
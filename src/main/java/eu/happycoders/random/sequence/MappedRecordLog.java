@@ -0,0 +1,366 @@
+package eu.happycoders.random.sequence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Append-only binary log of fixed-size records of {@code long}s, memory-mapped from a file.
+ *
+ * <p>Appending a record writes directly into a mapped segment of the file: there is no object per
+ * record, no buffer to flush and no system call. The file grows in segments of about {@value
+ * #SEGMENT_SIZE_BYTES} bytes, which are mapped when the previous one is full.
+ *
+ * <p>The header holds the number of <em>committed</em> records and a checkpoint value chosen by the
+ * caller (e.g., the last completed unit of work). {@link #commit(long)} first forces the records
+ * appended since the previous commit to disk and only then writes and forces the header, so after a
+ * crash the header never counts records that were not written. Records appended after the last
+ * commit are discarded when the log is reopened, which keeps the records consistent with the
+ * checkpoint. To limit the cost of {@code force()}, commits are written at most once per commit
+ * interval; {@link #close()} always commits.
+ *
+ * <p>The file is in big-endian byte order:
+ *
+ * <pre>
+ * int  magic ("RNDL")
+ * int  version
+ * int  longs per record
+ * int  (unused)
+ * long number of committed records
+ * long checkpoint value
+ * ...  (header padded to {@value #HEADER_SIZE_BYTES} bytes)
+ * long[longs per record] records
+ * </pre>
+ *
+ * <p>Methods are synchronized, so a log can be shared by worker threads. Logs opened with {@link
+ * #open(Path)} are read-only.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class MappedRecordLog implements AutoCloseable {
+
+  private static final int MAGIC = 0x52_4E_44_4C; // "RNDL"
+  private static final int VERSION = 1;
+
+  private static final int HEADER_SIZE_BYTES = 4096;
+  private static final int SEGMENT_SIZE_BYTES = 1 << 24;
+
+  private static final int MAGIC_OFFSET = 0;
+  private static final int VERSION_OFFSET = 4;
+  private static final int LONGS_PER_RECORD_OFFSET = 8;
+  private static final int COUNT_OFFSET = 16;
+  private static final int CHECKPOINT_OFFSET = 24;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final int longsPerRecord;
+  private final int recordSizeBytes;
+  private final int recordsPerSegment;
+  private final long commitIntervalMillis;
+  private final boolean readOnly;
+
+  private final MappedByteBuffer header;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  private long size;
+  private long committedSize;
+  private long checkpoint;
+  private long lastCommitTime;
+  private boolean closed;
+
+  /** Opens the log for appending, or read-only if {@code longsPerRecord} is 0. */
+  private MappedRecordLog(Path file, int longsPerRecord, long commitIntervalMillis)
+      throws IOException {
+    this.file = file;
+    this.readOnly = longsPerRecord == 0;
+    if (readOnly) {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+      if (channel.size() < HEADER_SIZE_BYTES) {
+        channel.close();
+        throw new IllegalStateException("Not a record log file: " + file);
+      }
+      this.header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE_BYTES);
+    } else {
+      this.channel =
+          FileChannel.open(
+              file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.header = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE_BYTES);
+    }
+
+    if (header.getInt(MAGIC_OFFSET) == 0) {
+      if (readOnly) {
+        channel.close();
+        throw new IllegalStateException("Not a record log file: " + file);
+      }
+
+      // New file
+      header.putInt(MAGIC_OFFSET, MAGIC);
+      header.putInt(VERSION_OFFSET, VERSION);
+      header.putInt(LONGS_PER_RECORD_OFFSET, longsPerRecord);
+      header.putLong(COUNT_OFFSET, 0);
+      header.putLong(CHECKPOINT_OFFSET, 0);
+      header.force();
+    } else if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+      channel.close();
+      throw new IllegalStateException("Not a record log file: " + file);
+    } else if (longsPerRecord != 0 && header.getInt(LONGS_PER_RECORD_OFFSET) != longsPerRecord) {
+      channel.close();
+      throw new IllegalStateException(
+          "Record log file "
+              + file
+              + " contains records of "
+              + header.getInt(LONGS_PER_RECORD_OFFSET)
+              + " longs, not of "
+              + longsPerRecord);
+    }
+
+    this.longsPerRecord = header.getInt(LONGS_PER_RECORD_OFFSET);
+    this.recordSizeBytes = this.longsPerRecord * Long.BYTES;
+    this.recordsPerSegment = SEGMENT_SIZE_BYTES / recordSizeBytes;
+    this.commitIntervalMillis = commitIntervalMillis;
+
+    this.size = header.getLong(COUNT_OFFSET);
+    this.committedSize = size;
+    this.checkpoint = header.getLong(CHECKPOINT_OFFSET);
+    this.lastCommitTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Opens the log in the given file, or creates it if the file does not exist or is empty. Records
+   * that were appended but not committed before the log was last closed are discarded.
+   *
+   * @throws IllegalArgumentException if {@code longsPerRecord} is not positive
+   * @throws IllegalStateException if the file is not a record log or contains records of a
+   *     different size
+   */
+  public static MappedRecordLog open(Path file, int longsPerRecord, long commitIntervalMillis) {
+    if (longsPerRecord <= 0 || longsPerRecord > SEGMENT_SIZE_BYTES / Long.BYTES) {
+      throw new IllegalArgumentException("longsPerRecord out of range: " + longsPerRecord);
+    }
+    return openInternal(file, longsPerRecord, commitIntervalMillis);
+  }
+
+  /**
+   * Opens an existing log read-only to query it after a run; the record size is read from the file.
+   * The file is neither created nor modified, and appending or committing throws an {@link
+   * IllegalStateException}.
+   *
+   * @throws IllegalArgumentException if the file does not exist
+   * @throws IllegalStateException if the file is not a record log
+   */
+  public static MappedRecordLog open(Path file) {
+    if (!file.toFile().isFile()) {
+      throw new IllegalArgumentException("File not found: " + file);
+    }
+    return openInternal(file, 0, Long.MAX_VALUE);
+  }
+
+  private static MappedRecordLog openInternal(
+      Path file, int longsPerRecord, long commitIntervalMillis) {
+    try {
+      return new MappedRecordLog(file, longsPerRecord, commitIntervalMillis);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open record log " + file, e);
+    }
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.out.println("Usage: MappedRecordLog <file>");
+      return;
+    }
+
+    try (MappedRecordLog log = open(Path.of(args[0]))) {
+      System.out.printf(
+          Locale.US,
+          "%,d record(s) of %d long(s), checkpoint: %,d%n",
+          log.size(),
+          log.longsPerRecord(),
+          log.checkpoint());
+      long[] record = new long[log.longsPerRecord()];
+      for (long i = 0; i < log.size(); i++) {
+        log.read(i, record);
+        System.out.printf(Locale.US, "%,d: %s%n", i, Arrays.toString(record));
+      }
+    }
+  }
+
+  public int longsPerRecord() {
+    return longsPerRecord;
+  }
+
+  /** Returns the number of records, including records not yet committed. */
+  public synchronized long size() {
+    return size;
+  }
+
+  /** Returns the checkpoint value of the last commit. */
+  public synchronized long checkpoint() {
+    return checkpoint;
+  }
+
+  /** Appends a record consisting of a single {@code long}. */
+  public synchronized void append(long value) {
+    checkWritable();
+    checkRecordLength(1);
+    bufferFor(size).putLong(offsetInSegment(size), value);
+    size++;
+  }
+
+  /** Appends a record consisting of two {@code long}s. */
+  public synchronized void append(long first, long second) {
+    checkWritable();
+    checkRecordLength(2);
+    MappedByteBuffer segment = bufferFor(size);
+    int offset = offsetInSegment(size);
+    segment.putLong(offset, first);
+    segment.putLong(offset + Long.BYTES, second);
+    size++;
+  }
+
+  /** Appends the given record. */
+  public synchronized void append(long[] record) {
+    checkWritable();
+    checkRecordLength(record.length);
+    MappedByteBuffer segment = bufferFor(size);
+    int offset = offsetInSegment(size);
+    for (long value : record) {
+      segment.putLong(offset, value);
+      offset += Long.BYTES;
+    }
+    size++;
+  }
+
+  /** Returns field {@code field} of the record at the given index. */
+  public synchronized long get(long index, int field) {
+    checkIndex(index);
+    if (field < 0 || field >= longsPerRecord) {
+      throw new IndexOutOfBoundsException("Field " + field + " out of bounds");
+    }
+    return bufferFor(index).getLong(offsetInSegment(index) + field * Long.BYTES);
+  }
+
+  /** Copies the record at the given index into {@code dest}. */
+  public synchronized void read(long index, long[] dest) {
+    checkIndex(index);
+    checkRecordLength(dest.length);
+    MappedByteBuffer segment = bufferFor(index);
+    int offset = offsetInSegment(index);
+    for (int i = 0; i < longsPerRecord; i++) {
+      dest[i] = segment.getLong(offset + i * Long.BYTES);
+    }
+  }
+
+  /**
+   * Commits the records appended so far together with the given checkpoint value, if the commit
+   * interval has elapsed since the last commit.
+   *
+   * @return whether the commit was written
+   */
+  public synchronized boolean commit(long checkpoint) {
+    checkWritable();
+    if (System.currentTimeMillis() - lastCommitTime < commitIntervalMillis) {
+      return false;
+    }
+    commitNow(checkpoint);
+    return true;
+  }
+
+  /** Commits the records appended so far together with the given checkpoint value. */
+  public synchronized void commitNow(long checkpoint) {
+    checkWritable();
+    // Records first, header second: the committed count must never exceed the durable records
+    if (size > committedSize) {
+      int firstSegment = (int) (committedSize / recordsPerSegment);
+      int lastSegment = (int) ((size - 1) / recordsPerSegment);
+      for (int i = firstSegment; i <= lastSegment; i++) {
+        segments.get(i).force();
+      }
+    }
+
+    header.putLong(COUNT_OFFSET, size);
+    header.putLong(CHECKPOINT_OFFSET, checkpoint);
+    header.force();
+
+    this.committedSize = size;
+    this.checkpoint = checkpoint;
+    this.lastCommitTime = System.currentTimeMillis();
+  }
+
+  /** Commits with the current checkpoint value and closes the file. */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    try {
+      if (size != committedSize) {
+        commitNow(checkpoint);
+      }
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot close record log " + file, e);
+    }
+  }
+
+  private MappedByteBuffer bufferFor(long index) {
+    if (closed) {
+      throw new IllegalStateException("Record log " + file + " is closed");
+    }
+
+    int segmentIndex = (int) (index / recordsPerSegment);
+    while (segments.size() <= segmentIndex) {
+      long position =
+          HEADER_SIZE_BYTES + (long) segments.size() * recordsPerSegment * recordSizeBytes;
+      long segmentSize = (long) recordsPerSegment * recordSizeBytes;
+      try {
+        if (readOnly) {
+          // A read-only mapping cannot extend the file
+          segmentSize = Math.min(segmentSize, channel.size() - position);
+          if (segmentSize <= 0) {
+            throw new IllegalStateException("Record log " + file + " is truncated");
+          }
+          segments.add(channel.map(MapMode.READ_ONLY, position, segmentSize));
+        } else {
+          segments.add(channel.map(MapMode.READ_WRITE, position, segmentSize));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot map record log " + file, e);
+      }
+    }
+    return segments.get(segmentIndex);
+  }
+
+  private int offsetInSegment(long index) {
+    return (int) (index % recordsPerSegment) * recordSizeBytes;
+  }
+
+  private void checkWritable() {
+    if (readOnly) {
+      throw new IllegalStateException("Record log " + file + " is read-only");
+    }
+  }
+
+  private void checkRecordLength(int length) {
+    if (length != longsPerRecord) {
+      throw new IllegalArgumentException(
+          "Records of this log have " + longsPerRecord + " long(s), not " + length);
+    }
+  }
+
+  private void checkIndex(long index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+}
@@ -0,0 +1,302 @@
+package eu.happycoders.random.sequence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Searches many patterns (sequences of numbers) in a single pass over the numbers of a random
+ * generator, in contrast to {@link SequenceRepetitionFinder}, which searches for one stored
+ * sequence per pass.
+ *
+ * <p>The first numbers of all patterns are stored in a primitive open-addressing hash index. Each
+ * generated number is looked up in this index once, which costs O(1) regardless of how many
+ * patterns are loaded. Only if the number is the first number of one or more patterns, the
+ * following numbers are compared with these patterns. With random 32-bit numbers, this is rarely
+ * the case, so that practically all time is spent in the lookup loop.
+ *
+ * <p>For each pattern, the position of its first occurrence and the number of occurrences are
+ * reported. Positions are counted from 0, the first number generated by the finder.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class MultiPatternSequenceFinder {
+
+  /**
+   * Result for one pattern.
+   *
+   * @param patternIndex index of the pattern as passed to the constructor
+   * @param firstMatchPosition position of the first occurrence; -1 if the pattern wasn't found
+   * @param numberOfMatches number of occurrences
+   */
+  public record PatternResult(int patternIndex, long firstMatchPosition, long numberOfMatches) {
+    public boolean isFound() {
+      return firstMatchPosition >= 0;
+    }
+  }
+
+  private final RandomGenerator random;
+  private final long numberOfPositions;
+  private final boolean stopWhenAllFound;
+  private final int[][] patterns;
+
+  // Hash index: first number -> group of patterns starting with that number. The patterns of group
+  // g are patternsByFirstNumber[groupStarts[g] .. groupStarts[g + 1]). A slot is empty if its
+  // group is 0; groups are stored incremented by one.
+  private final int tableMask;
+  private final int tableShift;
+  private final int[] tableKeys;
+  private final int[] tableGroups;
+  private final int[] groupStarts;
+  private final int[] patternsByFirstNumber;
+
+  // Bit filter in front of the hash index: at least 64 bits per first number, so that for almost
+  // all numbers, a single, well-predicted bit test suffices. Probing the hash index directly would
+  // mispredict a branch for every number that hits an occupied slot.
+  private final long[] filter;
+  private final int filterShift;
+
+  // Patterns currently being compared: pattern index and start position
+  private int[] candidatePatterns = new int[16];
+  private long[] candidateStarts = new long[16];
+  private int numberOfCandidates;
+
+  private final long[] firstMatchPositions;
+  private final long[] numberOfMatches;
+  private int numberOfPatternsFound;
+
+  /**
+   * Creates a finder that searches the given patterns in the next {@code numberOfPositions} numbers
+   * of the given generator. If {@code stopWhenAllFound} is set, the search ends as soon as every
+   * pattern has been found once.
+   */
+  public MultiPatternSequenceFinder(
+      RandomGenerator random, long numberOfPositions, boolean stopWhenAllFound, int[]... patterns) {
+    if (patterns.length == 0) {
+      throw new IllegalArgumentException("Please specify at least one pattern.");
+    }
+    for (int[] pattern : patterns) {
+      if (pattern.length == 0) {
+        throw new IllegalArgumentException("Patterns must not be empty.");
+      }
+    }
+    if (numberOfPositions <= 0) {
+      throw new IllegalArgumentException("numberOfPositions must be positive");
+    }
+
+    this.random = random;
+    this.numberOfPositions = numberOfPositions;
+    this.stopWhenAllFound = stopWhenAllFound;
+    this.patterns = new int[patterns.length][];
+    for (int i = 0; i < patterns.length; i++) {
+      this.patterns[i] = patterns[i].clone();
+    }
+
+    // Group the patterns by first number; sorting (first number, index) pairs as longs avoids
+    // boxing
+    long[] firstNumbersAndIndexes = new long[patterns.length];
+    for (int i = 0; i < patterns.length; i++) {
+      firstNumbersAndIndexes[i] = ((long) patterns[i][0] << 32) | i;
+    }
+    Arrays.sort(firstNumbersAndIndexes);
+    patternsByFirstNumber = new int[patterns.length];
+    int[] groupStartsTemp = new int[patterns.length + 1];
+    int numberOfGroups = 0;
+    for (int i = 0; i < patterns.length; i++) {
+      patternsByFirstNumber[i] = (int) firstNumbersAndIndexes[i];
+      if (i == 0 || firstNumbersAndIndexes[i] >> 32 != firstNumbersAndIndexes[i - 1] >> 32) {
+        groupStartsTemp[numberOfGroups++] = i;
+      }
+    }
+    groupStartsTemp[numberOfGroups] = patterns.length;
+    groupStarts = Arrays.copyOf(groupStartsTemp, numberOfGroups + 1);
+
+    // Fill the hash index with a load factor of at most 0.5
+    int tableSize = Integer.highestOneBit(numberOfGroups * 2 - 1) << 1;
+    tableMask = tableSize - 1;
+    tableShift = Integer.numberOfLeadingZeros(tableSize) + 1;
+    tableKeys = new int[tableSize];
+    tableGroups = new int[tableSize];
+    for (int group = 0; group < numberOfGroups; group++) {
+      int firstNumber = patterns[patternsByFirstNumber[groupStarts[group]]][0];
+      int index = indexFor(firstNumber);
+      while (tableGroups[index] != 0) {
+        index = (index + 1) & tableMask;
+      }
+      tableKeys[index] = firstNumber;
+      tableGroups[index] = group + 1;
+    }
+
+    int filterBitsLog2 =
+        Math.min(30, Math.max(6, 32 - Integer.numberOfLeadingZeros(numberOfGroups * 64 - 1)));
+    filter = new long[1 << (filterBitsLog2 - 6)];
+    filterShift = 32 - filterBitsLog2;
+    for (int group = 0; group < numberOfGroups; group++) {
+      int bit = filterBitFor(patterns[patternsByFirstNumber[groupStarts[group]]][0]);
+      filter[bit >>> 6] |= 1L << bit;
+    }
+
+    firstMatchPositions = new long[patterns.length];
+    Arrays.fill(firstMatchPositions, -1);
+    numberOfMatches = new long[patterns.length];
+  }
+
+  /**
+   * Returns the first {@code length} numbers generated by {@code new Random(seed)} for each of the
+   * given seeds, e.g., to search the prefixes of many seeds in one pass.
+   */
+  public static int[][] prefixesOfSeeds(int length, long... seeds) {
+    int[][] prefixes = new int[seeds.length][length];
+    for (int i = 0; i < seeds.length; i++) {
+      Random random = new Random(seeds[i]);
+      for (int j = 0; j < length; j++) {
+        prefixes[i][j] = random.nextInt();
+      }
+    }
+    return prefixes;
+  }
+
+  /**
+   * Returns the subsequences of {@code length} numbers of the given sequence starting at the given
+   * offsets, e.g., to search several offsets of the same sequence in one pass.
+   */
+  public static int[][] subsequencesAt(int[] sequence, int length, int... offsets) {
+    int[][] subsequences = new int[offsets.length][];
+    for (int i = 0; i < offsets.length; i++) {
+      subsequences[i] = Arrays.copyOfRange(sequence, offsets[i], offsets[i] + length);
+    }
+    return subsequences;
+  }
+
+  /** Runs the search and returns one result per pattern, in the order of the patterns. */
+  public List<PatternResult> run() {
+    long position = 0;
+    while (position < numberOfPositions) {
+      // Fast loop: only look up the numbers in the index as long as no pattern is being compared
+      int group;
+      do {
+        group = findGroup(random.nextInt());
+        position++;
+      } while (group < 0 && position < numberOfPositions);
+
+      if (group >= 0) {
+        startComparingPatterns(group, position - 1);
+      }
+
+      // Slow loop: compare the following numbers with the patterns started so far
+      while (numberOfCandidates > 0 && position < numberOfPositions) {
+        int number = random.nextInt();
+        group = findGroup(number);
+        if (group >= 0) {
+          startComparingPatterns(group, position);
+        }
+        compareWithCandidates(number, position);
+        position++;
+
+        if (stopWhenAllFound && numberOfPatternsFound == patterns.length) {
+          return getResults();
+        }
+      }
+
+      if (stopWhenAllFound && numberOfPatternsFound == patterns.length) {
+        break;
+      }
+    }
+
+    return getResults();
+  }
+
+  /** Returns the group of patterns starting with the given number, or -1 if there is none. */
+  private int findGroup(int number) {
+    int bit = filterBitFor(number);
+    if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+      return -1;
+    }
+
+    int index = indexFor(number);
+    int group;
+    while ((group = tableGroups[index]) != 0) {
+      if (tableKeys[index] == number) {
+        return group - 1;
+      }
+      index = (index + 1) & tableMask;
+    }
+    return -1;
+  }
+
+  private int indexFor(int value) {
+    // Fibonacci hashing, as in IntHashSet
+    return ((value * 0x9E3779B9) >>> tableShift) & tableMask;
+  }
+
+  private int filterBitFor(int value) {
+    return (value * 0x9E3779B9) >>> filterShift;
+  }
+
+  private void startComparingPatterns(int group, long position) {
+    for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+      int patternIndex = patternsByFirstNumber[i];
+      if (patterns[patternIndex].length == 1) {
+        registerMatch(patternIndex, position);
+        continue;
+      }
+
+      if (numberOfCandidates == candidatePatterns.length) {
+        candidatePatterns = Arrays.copyOf(candidatePatterns, numberOfCandidates * 2);
+        candidateStarts = Arrays.copyOf(candidateStarts, numberOfCandidates * 2);
+      }
+      candidatePatterns[numberOfCandidates] = patternIndex;
+      candidateStarts[numberOfCandidates] = position;
+      numberOfCandidates++;
+    }
+  }
+
+  private void compareWithCandidates(int number, long position) {
+    // Candidates still matching are moved to the front, closing the gaps of removed candidates
+    int numberOfCandidatesKept = 0;
+    for (int i = 0; i < numberOfCandidates; i++) {
+      int patternIndex = candidatePatterns[i];
+      long start = candidateStarts[i];
+      int patternPosition = (int) (position - start);
+
+      if (patternPosition == 0) {
+        // Just started
+        candidatePatterns[numberOfCandidatesKept] = patternIndex;
+        candidateStarts[numberOfCandidatesKept++] = start;
+        continue;
+      }
+
+      int[] pattern = patterns[patternIndex];
+      if (number != pattern[patternPosition]) {
+        continue;
+      }
+      if (patternPosition == pattern.length - 1) {
+        registerMatch(patternIndex, start);
+        continue;
+      }
+
+      candidatePatterns[numberOfCandidatesKept] = patternIndex;
+      candidateStarts[numberOfCandidatesKept++] = start;
+    }
+    numberOfCandidates = numberOfCandidatesKept;
+  }
+
+  private void registerMatch(int patternIndex, long position) {
+    if (numberOfMatches[patternIndex]++ == 0) {
+      firstMatchPositions[patternIndex] = position;
+      numberOfPatternsFound++;
+      System.out.printf(Locale.US, "Found pattern %d at position %,d%n", patternIndex, position);
+    }
+  }
+
+  private List<PatternResult> getResults() {
+    List<PatternResult> results = new ArrayList<>(patterns.length);
+    for (int i = 0; i < patterns.length; i++) {
+      results.add(new PatternResult(i, firstMatchPositions[i], numberOfMatches[i]));
+    }
+    return results;
+  }
+}
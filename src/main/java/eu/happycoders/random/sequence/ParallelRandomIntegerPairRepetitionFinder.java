@@ -0,0 +1,239 @@
+package eu.happycoders.random.sequence;
+
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.sequence.RandomIntegerPairRepetitionFinder.IntegerPair;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel variant of {@link RandomIntegerPairRepetitionFinder}.
+ *
+ * <p>Splits the space of all 2<sup>32</sup> first numbers into chunks that are processed by a
+ * configurable number of worker threads. Completed chunks and the integer pairs found in them are
+ * written to a checkpoint file, so that a killed run resumes with the first chunk not yet
+ * completed.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class ParallelRandomIntegerPairRepetitionFinder {
+
+  private static final long NUMBER_OF_FIRST_NUMBERS = 1L << 32;
+  private static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+  private static final long CHECKPOINT_INTERVAL_MILLIS = 60_000;
+  private static final long STATS_INTERVAL_MILLIS = 10_000;
+
+  private final long firstIndex;
+  private final int chunkSize;
+  private final int numberOfThreads;
+  private final ChunkCheckpoint checkpoint;
+
+  private final AtomicInteger nextChunk = new AtomicInteger();
+
+  private long startTime;
+  private int chunksCompletedAtStart;
+  private long lastStatsTime;
+
+  public ParallelRandomIntegerPairRepetitionFinder(int numberOfThreads, Path checkpointFile) {
+    this(0, NUMBER_OF_FIRST_NUMBERS, DEFAULT_CHUNK_SIZE, numberOfThreads, checkpointFile);
+  }
+
+  /**
+   * Creates a finder for a part of the first number space. Index 0 corresponds to first number
+   * {@link Integer#MIN_VALUE}, index 2<sup>32</sup> - 1 to {@link Integer#MAX_VALUE}.
+   */
+  ParallelRandomIntegerPairRepetitionFinder(
+      long firstIndex,
+      long numberOfIndexes,
+      int chunkSize,
+      int numberOfThreads,
+      Path checkpointFile) {
+    if (firstIndex < 0
+        || numberOfIndexes <= 0
+        || firstIndex + numberOfIndexes > NUMBER_OF_FIRST_NUMBERS) {
+      throw new IllegalArgumentException("Index range must be within [0, 2^32)");
+    }
+    if (chunkSize <= 0 || numberOfIndexes % chunkSize != 0) {
+      throw new IllegalArgumentException("numberOfIndexes must be a multiple of chunkSize");
+    }
+    if (numberOfThreads <= 0) {
+      throw new IllegalArgumentException("numberOfThreads must be positive");
+    }
+
+    this.firstIndex = firstIndex;
+    this.chunkSize = chunkSize;
+    this.numberOfThreads = numberOfThreads;
+
+    int numberOfChunks = Math.toIntExact(numberOfIndexes / chunkSize);
+    this.checkpoint =
+        ChunkCheckpoint.loadOrCreate(checkpointFile, numberOfChunks, CHECKPOINT_INTERVAL_MILLIS);
+  }
+
+  public static void main(String[] args) {
+    int numberOfThreads =
+        args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    Path checkpointFile =
+        Path.of(args.length > 1 ? args[1] : "integer-pair-repetition-finder.checkpoint");
+
+    List<IntegerPair> integerPairsFoundTwice =
+        new ParallelRandomIntegerPairRepetitionFinder(numberOfThreads, checkpointFile).run();
+
+    System.out.printf(
+        Locale.US,
+        "FINISHED. Integer pairs found twice: %,d %s%n",
+        integerPairsFoundTwice.size(),
+        integerPairsFoundTwice);
+  }
+
+  /**
+   * Processes all chunks not yet completed and returns all integer pairs found twice, sorted by
+   * first and second number.
+   */
+  public List<IntegerPair> run() {
+    startTime = System.currentTimeMillis();
+    lastStatsTime = startTime;
+    chunksCompletedAtStart = checkpoint.numberOfCompletedChunks();
+    nextChunk.set(0);
+
+    System.out.printf(
+        Locale.US,
+        "Starting with %d threads; chunks completed: %,d of %,d%n",
+        numberOfThreads,
+        chunksCompletedAtStart,
+        checkpoint.numberOfChunks());
+
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>(numberOfThreads);
+      for (int i = 0; i < numberOfThreads; i++) {
+        futures.add(executor.submit(this::processChunks));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for worker threads", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Worker thread failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+      checkpoint.save();
+    }
+
+    return getIntegerPairsFoundTwice();
+  }
+
+  private void processChunks() {
+    ChunkResults chunkResults = new ChunkResults();
+    NoiseScanKernel kernel = NoiseScanKernels.get();
+    int[] nextIntBuffer = new int[RandomIntegerPairRepetitionFinder.NUMBER_OF_POSSIBLE_SEEDS];
+    IntHashSet nextInts =
+        new IntHashSet(RandomIntegerPairRepetitionFinder.NUMBER_OF_POSSIBLE_SEEDS);
+    int numberOfChunks = checkpoint.numberOfChunks();
+
+    int chunk;
+    while ((chunk = nextChunk.getAndIncrement()) < numberOfChunks) {
+      if (checkpoint.isCompleted(chunk)) {
+        continue;
+      }
+
+      chunkResults.clear();
+      long chunkStartIndex = firstIndex + (long) chunk * chunkSize;
+      for (int i = 0; i < chunkSize; i++) {
+        int firstNumber = (int) (Integer.MIN_VALUE + chunkStartIndex + i);
+        RandomIntegerPairRepetitionFinder.findPairRepetition(
+            firstNumber,
+            kernel,
+            nextIntBuffer,
+            nextInts,
+            integerPair -> {
+              System.out.printf("Integer pair found twice: %s%n", integerPair);
+              chunkResults.add(toLong(integerPair));
+            });
+      }
+
+      checkpoint.complete(chunk, chunkResults.results, chunkResults.size);
+      printStatsIfDue();
+    }
+  }
+
+  private synchronized void printStatsIfDue() {
+    long now = System.currentTimeMillis();
+    if (now - lastStatsTime < STATS_INTERVAL_MILLIS) {
+      return;
+    }
+    lastStatsTime = now;
+
+    int chunksCompleted = checkpoint.numberOfCompletedChunks();
+    int numberOfChunks = checkpoint.numberOfChunks();
+    int chunksCompletedInThisRun = chunksCompleted - chunksCompletedAtStart;
+
+    double completionRatio = (double) chunksCompleted / numberOfChunks;
+    long elapsedTime = now - startTime;
+    long remainingTimeEstimated =
+        chunksCompletedInThisRun == 0
+            ? 0
+            : elapsedTime * (numberOfChunks - chunksCompleted) / chunksCompletedInThisRun;
+
+    System.out.printf(
+        Locale.US,
+        "chunks completed: %,d of %,d; integer pairs found twice: %,d - completion: %.4f %% - "
+            + "elapsed time: %,.1f s - remaining time est.: %,.1f s (= %,.1f h)%n",
+        chunksCompleted,
+        numberOfChunks,
+        checkpoint.numberOfResults(),
+        completionRatio * 100.0,
+        elapsedTime / 1_000.0,
+        remainingTimeEstimated / 1_000.0,
+        remainingTimeEstimated / 3_600_000.0);
+  }
+
+  private List<IntegerPair> getIntegerPairsFoundTwice() {
+    long[] results = checkpoint.results();
+    // Sorting the longs sorts by signed first number, then by unsigned second number;
+    // flipping the sign bit of the second number keeps the order fully signed.
+    for (int i = 0; i < results.length; i++) {
+      results[i] ^= 0x80000000L;
+    }
+    Arrays.sort(results);
+
+    List<IntegerPair> integerPairs = new ArrayList<>(results.length);
+    for (long result : results) {
+      integerPairs.add(fromLong(result ^ 0x80000000L));
+    }
+    return integerPairs;
+  }
+
+  private static class ChunkResults {
+    private long[] results = new long[16];
+    private int size;
+
+    private void add(long result) {
+      if (size == results.length) {
+        results = Arrays.copyOf(results, size * 2);
+      }
+      results[size++] = result;
+    }
+
+    private void clear() {
+      size = 0;
+    }
+  }
+
+  static long toLong(IntegerPair integerPair) {
+    return ((long) integerPair.first() << 32) | Integer.toUnsignedLong(integerPair.second());
+  }
+
+  static IntegerPair fromLong(long value) {
+    return new IntegerPair((int) (value >>> 32), (int) value);
+  }
+}
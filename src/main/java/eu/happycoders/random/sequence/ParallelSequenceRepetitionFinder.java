@@ -0,0 +1,352 @@
+package eu.happycoders.random.sequence;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.metrics.FinderMetrics;
+import eu.happycoders.random.metrics.MetricsEmitter;
+import eu.happycoders.random.sequence.SequenceRepetitionFinder.Result;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel variant of {@link SequenceRepetitionFinder} for java.util.{@link java.util.Random}.
+ *
+ * <p>Instead of calling {@code nextInt()} on a shared generator, the finder works on the 48-bit
+ * state of the {@code Random} LCG. The positions 1 to 2<sup>48</sup> are split into contiguous
+ * segments; a worker thread jumps directly to the start of a segment with {@link LcgJump} and scans
+ * it for the first number of the stored sequence. Each occurrence is verified by stepping a copy of
+ * the state, so matches that start near the end of a segment and reach into the next one are
+ * recognized like any other.
+ *
+ * <p>Completed segments and the positions of full matches are written to a checkpoint file, so that
+ * a killed run resumes with the first segment not yet completed. Once a full match has been found,
+ * segments behind it are skipped, as the earliest match is what determines the result.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class ParallelSequenceRepetitionFinder {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  private static final long DEFAULT_SEGMENT_LENGTH = 1L << 30;
+  private static final long CHECKPOINT_INTERVAL_MILLIS = 60_000;
+  private static final long STATS_INTERVAL_MILLIS = 10_000;
+
+  private final long initialState;
+  private final int[] storedSequence;
+  private final long firstPosition;
+  private final long segmentLength;
+  private final int numberOfThreads;
+  private final ChunkCheckpoint checkpoint;
+
+  private final AtomicInteger nextSegment = new AtomicInteger();
+  private final AtomicLong firstMatchPosition = new AtomicLong(Long.MAX_VALUE);
+  private final long[] matchLengthCounts;
+  private final FinderMetrics metrics;
+
+  private long lastStatsTime;
+
+  /**
+   * Creates a finder for the sequence of a {@code new Random(seed)}. The first {@code
+   * storedSequenceLength} numbers are stored and searched for in the positions 1 to 2<sup>48</sup>.
+   */
+  public ParallelSequenceRepetitionFinder(
+      long seed, int storedSequenceLength, int numberOfThreads, Path checkpointFile) {
+    this(
+        initialStateForSeed(seed),
+        storedSequenceFromStart(initialStateForSeed(seed), storedSequenceLength),
+        1,
+        LcgJump.PERIOD,
+        DEFAULT_SEGMENT_LENGTH,
+        numberOfThreads,
+        checkpointFile);
+  }
+
+  /**
+   * Creates a finder that searches the given stored sequence in the positions {@code
+   * [firstPosition, firstPosition + numberOfPositions)} of the sequence starting at the given
+   * state. Position 0 is the first number generated from {@code initialState}.
+   */
+  ParallelSequenceRepetitionFinder(
+      long initialState,
+      int[] storedSequence,
+      long firstPosition,
+      long numberOfPositions,
+      long segmentLength,
+      int numberOfThreads,
+      Path checkpointFile) {
+    if (storedSequence.length == 0) {
+      throw new IllegalArgumentException("storedSequence must not be empty");
+    }
+    if (firstPosition < 0 || numberOfPositions <= 0) {
+      throw new IllegalArgumentException("Invalid position range");
+    }
+    if (segmentLength <= 0 || numberOfPositions % segmentLength != 0) {
+      throw new IllegalArgumentException("numberOfPositions must be a multiple of segmentLength");
+    }
+    if (numberOfThreads <= 0) {
+      throw new IllegalArgumentException("numberOfThreads must be positive");
+    }
+
+    this.initialState = initialState & mask;
+    this.storedSequence = storedSequence.clone();
+    this.firstPosition = firstPosition;
+    this.segmentLength = segmentLength;
+    this.numberOfThreads = numberOfThreads;
+    this.matchLengthCounts = new long[storedSequence.length + 1];
+
+    int numberOfSegments = Math.toIntExact(numberOfPositions / segmentLength);
+    this.checkpoint =
+        ChunkCheckpoint.loadOrCreate(checkpointFile, numberOfSegments, CHECKPOINT_INTERVAL_MILLIS);
+    this.metrics =
+        new FinderMetrics(
+            getClass().getSimpleName(),
+            numberOfPositions,
+            checkpoint.numberOfCompletedChunks() * segmentLength,
+            storedSequence.length);
+  }
+
+  private static long initialStateForSeed(long seed) {
+    // The constructor of Random scrambles the seed like this
+    return (seed ^ multiplier) & mask;
+  }
+
+  private static int[] storedSequenceFromStart(long state, int storedSequenceLength) {
+    if (storedSequenceLength <= 0) {
+      throw new IllegalArgumentException("storedSequenceLength must be positive");
+    }
+    int[] storedSequence = new int[storedSequenceLength];
+    for (int i = 0; i < storedSequenceLength; i++) {
+      state = LcgJump.nextState(state);
+      storedSequence[i] = (int) (state >>> 16);
+    }
+    return storedSequence;
+  }
+
+  public static void main(String[] args) {
+    int numberOfThreads =
+        args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    int storedSequenceLength = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+    Path checkpointFile =
+        Path.of(args.length > 3 ? args[3] : "sequence-repetition-finder.checkpoint");
+
+    ParallelSequenceRepetitionFinder finder =
+        new ParallelSequenceRepetitionFinder(
+            seed, storedSequenceLength, numberOfThreads, checkpointFile);
+    finder.metrics().registerMBean();
+    MetricsEmitter emitter = MetricsEmitter.startIfConfigured(finder.metrics());
+    try {
+      finder.run();
+    } finally {
+      if (emitter != null) {
+        emitter.close();
+      }
+    }
+  }
+
+  /** Returns the metrics of this finder; "numbers generated" are the positions scanned. */
+  public FinderMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * Scans all segments not yet completed and returns the result for the earliest full match, or
+   * {@code null} if the stored sequence doesn't occur in the position range.
+   */
+  public Result run() {
+    lastStatsTime = System.currentTimeMillis();
+    int segmentsCompletedAtStart = checkpoint.numberOfCompletedChunks();
+    nextSegment.set(0);
+    for (long position : checkpoint.results()) {
+      firstMatchPosition.accumulateAndGet(position, Math::min);
+    }
+
+    System.out.printf(
+        Locale.US,
+        "Starting with %d threads; segments completed: %,d of %,d%n",
+        numberOfThreads,
+        segmentsCompletedAtStart,
+        checkpoint.numberOfChunks());
+
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>(numberOfThreads);
+      for (int i = 0; i < numberOfThreads; i++) {
+        futures.add(executor.submit(this::scanSegments));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for worker threads", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Worker thread failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+      checkpoint.save();
+    }
+
+    printStats();
+    return getResult();
+  }
+
+  /** Returns the position of the earliest full match, or -1 if none has been found. */
+  public long matchPosition() {
+    long position = firstMatchPosition.get();
+    return position == Long.MAX_VALUE ? -1 : position;
+  }
+
+  /**
+   * Returns how often the first {@code i} numbers of the stored sequence were found (at index
+   * {@code i}), counted in the segments scanned by the last run.
+   */
+  public synchronized long[] matchLengthCounts() {
+    return matchLengthCounts.clone();
+  }
+
+  private void scanSegments() {
+    long[] localMatchLengthCounts = new long[matchLengthCounts.length];
+    long[] matchPositions = new long[1];
+    FinderMetrics.Recorder metricsRecorder = metrics.newRecorder();
+    int numberOfSegments = checkpoint.numberOfChunks();
+
+    int segment;
+    while ((segment = nextSegment.getAndIncrement()) < numberOfSegments) {
+      long segmentStart = firstPosition + segment * segmentLength;
+      if (segmentStart > firstMatchPosition.get()) {
+        break; // segments are handed out in order, so all further segments are behind the match
+      }
+      if (checkpoint.isCompleted(segment)) {
+        continue;
+      }
+
+      int numberOfMatches =
+          scanSegment(segmentStart, localMatchLengthCounts, matchPositions, metricsRecorder);
+      checkpoint.complete(segment, matchPositions, numberOfMatches);
+      metricsRecorder.flush();
+      printStatsIfDue();
+    }
+
+    synchronized (this) {
+      for (int i = 0; i < matchLengthCounts.length; i++) {
+        matchLengthCounts[i] += localMatchLengthCounts[i];
+      }
+    }
+  }
+
+  /**
+   * Scans one segment, counts the match lengths and stores the positions of full matches in {@code
+   * matchPositions}; returns the number of full matches.
+   */
+  private int scanSegment(
+      long segmentStart,
+      long[] matchLengthCounts,
+      long[] matchPositions,
+      FinderMetrics.Recorder metricsRecorder) {
+    int firstNumber = storedSequence[0];
+    int numberOfMatches = 0;
+
+    // State before generating the number at segmentStart
+    long state = LcgJump.stateAfter(initialState, segmentStart);
+    long segmentEnd = segmentStart + segmentLength;
+    for (long position = segmentStart; position < segmentEnd; position++) {
+      state = (state * multiplier + addend) & mask;
+      if ((int) (state >>> 16) != firstNumber) {
+        continue;
+      }
+
+      int matchLength = matchLength(state);
+      matchLengthCounts[matchLength]++;
+      metricsRecorder.candidateStarted();
+      metricsRecorder.match(matchLength);
+      if (matchLength < storedSequence.length) {
+        metricsRecorder.candidateDropped();
+      }
+      if (matchLength > 1) {
+        printMatchingSequence(matchLength, position);
+      }
+      if (matchLength == storedSequence.length) {
+        // At most one full match per segment is needed: the earliest one
+        matchPositions[numberOfMatches++] = position;
+        firstMatchPosition.accumulateAndGet(position, Math::min);
+        break;
+      }
+    }
+
+    // Like in the checkpoint, the whole segment counts as scanned, also if the scan stopped early
+    metricsRecorder.numbersGenerated(segmentLength);
+    return numberOfMatches;
+  }
+
+  /** Compares the numbers following the state whose number matched the first stored number. */
+  private int matchLength(long state) {
+    int length = 1;
+    while (length < storedSequence.length) {
+      state = LcgJump.nextState(state);
+      if ((int) (state >>> 16) != storedSequence[length]) {
+        break;
+      }
+      length++;
+    }
+    return length;
+  }
+
+  private Result getResult() {
+    long position = matchPosition();
+    if (position < 0) {
+      System.out.println("Stored sequence not found in the scanned positions.");
+      return null;
+    }
+
+    if (position % LcgJump.PERIOD == 0) {
+      System.out.println(
+          "Found same sequence after iterating over the full random number sequence.");
+      return Result.FOUND_SAME_SEQUENCE_AFTER_ITERATING_OVER_FULL_RANDOM_NUMBER_SEQUENCE;
+    } else {
+      System.out.printf(
+          Locale.US,
+          "Found same sequence *before* iterating over the full random number sequence "
+              + "(at position %,d); please increase size of stored sequence.%n",
+          position);
+      return Result.FOUND_SAME_SEQUENCE_EARLY;
+    }
+  }
+
+  private void printMatchingSequence(int matchLength, long position) {
+    System.out.printf(
+        Locale.US,
+        "Found sequence of %d matching number(s) at position %,d: %s%n",
+        matchLength,
+        position,
+        Arrays.toString(Arrays.copyOf(storedSequence, matchLength)));
+  }
+
+  private synchronized void printStatsIfDue() {
+    if (System.currentTimeMillis() - lastStatsTime >= STATS_INTERVAL_MILLIS) {
+      printStats();
+    }
+  }
+
+  private synchronized void printStats() {
+    lastStatsTime = System.currentTimeMillis();
+    System.out.printf(
+        Locale.US,
+        "segments completed: %,d of %,d - %s%n",
+        checkpoint.numberOfCompletedChunks(),
+        checkpoint.numberOfChunks(),
+        metrics.progress());
+  }
+}
@@ -1,67 +1,105 @@
 package eu.happycoders.random.sequence;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.metrics.FinderMetrics;
+import eu.happycoders.random.metrics.MetricsEmitter;
+import java.nio.file.Path;
 import java.util.Locale;
+import java.util.function.Consumer;
 
 /**
  * Finds repetitions of number pairs in the random number sequence used by java.util.{@link
  * java.util.Random}.
  *
+ * <p>Pairs found are appended to a {@link MappedRecordLog}, one {@code long} per pair (first number
+ * in the upper, second number in the lower 32 bits). The number of first numbers checked is stored
+ * as the log's checkpoint, so a killed run continues after the last commit without losing or
+ * duplicating pairs.
+ *
  * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
  */
 public class RandomIntegerPairRepetitionFinder {
 
   private static final int SEED_NOISE_BITS = 16;
-  private static final int NUMBER_OF_POSSIBLE_SEEDS = 1 << SEED_NOISE_BITS;
-
-  private static final long multiplier = 0x5DEECE66DL;
-  private static final long addend = 0xBL;
-  private static final long mask = (1L << 48) - 1;
-
-  private final List<IntegerPair> integerPairsFoundTwice = new ArrayList<>();
-
-  private long startTime;
+  static final int NUMBER_OF_POSSIBLE_SEEDS = 1 << SEED_NOISE_BITS;
+
+  private static final long COMMIT_INTERVAL_MILLIS = 10_000;
+
+  private final MappedRecordLog integerPairsFoundTwice;
+  private final IntHashSet nextInts = new IntHashSet(NUMBER_OF_POSSIBLE_SEEDS);
+  private final int[] nextIntBuffer = new int[NUMBER_OF_POSSIBLE_SEEDS];
+
+  private final FinderMetrics metrics;
+  private final FinderMetrics.Recorder metricsRecorder;
+
+  RandomIntegerPairRepetitionFinder(MappedRecordLog integerPairsFoundTwice) {
+    this.integerPairsFoundTwice = integerPairsFoundTwice;
+    this.metrics =
+        new FinderMetrics(
+            getClass().getSimpleName(),
+            0x100000000L * NUMBER_OF_POSSIBLE_SEEDS,
+            integerPairsFoundTwice.checkpoint() * NUMBER_OF_POSSIBLE_SEEDS,
+            2);
+    this.metricsRecorder = metrics.newRecorder();
+  }
 
   public static void main(String[] args) {
-    new RandomIntegerPairRepetitionFinder().run();
+    Path logFile = Path.of(args.length > 0 ? args[0] : "integer-pair-repetition-finder.log");
+    try (MappedRecordLog log = MappedRecordLog.open(logFile, 1, COMMIT_INTERVAL_MILLIS)) {
+      RandomIntegerPairRepetitionFinder finder = new RandomIntegerPairRepetitionFinder(log);
+      finder.metrics.registerMBean();
+      MetricsEmitter emitter = MetricsEmitter.startIfConfigured(finder.metrics);
+      try {
+        finder.run(0x100000000L);
+      } finally {
+        if (emitter != null) {
+          emitter.close();
+        }
+      }
+    }
   }
 
-  private void run() {
-    startTime = System.currentTimeMillis();
-    int firstNumber = Integer.MAX_VALUE;
-    do {
-      firstNumber++;
+  /** Checks the first numbers up to the given number of elements, continuing after the last run. */
+  void run(long numberOfElements) {
+    long elementsCheckedAtStart = integerPairsFoundTwice.checkpoint();
+    if (elementsCheckedAtStart > 0) {
+      System.out.printf(
+          Locale.US,
+          "Continuing after %,d elements checked and %,d integer pairs found twice%n",
+          elementsCheckedAtStart,
+          integerPairsFoundTwice.size());
+    }
+
+    for (long elementsChecked = elementsCheckedAtStart; elementsChecked < numberOfElements; ) {
+      int firstNumber = (int) (elementsChecked + Integer.MIN_VALUE);
       findPairRepetition(firstNumber);
+      metricsRecorder.numbersGenerated(NUMBER_OF_POSSIBLE_SEEDS);
+      elementsChecked++;
+      integerPairsFoundTwice.commit(elementsChecked);
       if ((firstNumber & 0x3ff) == 0x3ff) {
-        printStats(firstNumber);
+        printStats(elementsChecked);
       }
-    } while (firstNumber < Integer.MAX_VALUE);
+    }
 
+    metricsRecorder.flush();
+    integerPairsFoundTwice.commitNow(numberOfElements);
     System.out.println("FINISHED.");
   }
 
-  private void printStats(int firstNumber) {
-    long elementsChecked = (long) firstNumber - Integer.MIN_VALUE + 1;
-
-    double completionRatio = (double) elementsChecked / 0x100000000L;
-    long elapsedTime = System.currentTimeMillis() - startTime;
-    long totalTimeEstimated = (long) (elapsedTime / completionRatio);
-    long remainingTimeEstimated = totalTimeEstimated - elapsedTime;
+  /** Returns the metrics of this finder; pairs found twice are counted as matches of length 2. */
+  FinderMetrics metrics() {
+    return metrics;
+  }
 
+  private void printStats(long elementsChecked) {
+    metricsRecorder.flush();
     System.out.printf(
         Locale.US,
-        "elements checked: %,d; integer pairs found twice: %,d %s - completion: %.4f %% - "
-            + "elapsed time: %,.1f s - total time est.: %,.1f s - remaining time est.: %,.1f s (= %,.1f h)%n",
+        "elements checked: %,d; integer pairs found twice: %,d - %s%n",
         elementsChecked,
         integerPairsFoundTwice.size(),
-        integerPairsFoundTwice,
-        completionRatio * 100.0,
-        elapsedTime / 1_000.0,
-        totalTimeEstimated / 1_000.0,
-        remainingTimeEstimated / 1_000.0,
-        remainingTimeEstimated / 3_600_000.0);
+        metrics.progress());
   }
 
   // Total estimated time:
@@ -71,32 +109,46 @@ public class RandomIntegerPairRepetitionFinder {
   // Creating a new HashSet with a capacity of 131,072 inside findPairRepetition(): 4,661,406.2 s
   // Creating a new HashSet with a capacity of 262,144 inside findPairRepetition(): 4,207,725.8 s
   // Using a shared HashSet field and clearing it inside findPairRepetition(): 5,754,616.2 s
+  //
+  // Using a shared IntHashSet field cleared in O(1) via generation stamps: see
+  // IntegerSetBenchmark (JMH, src/jmh) for a comparison with the HashSet strategies above.
 
   private void findPairRepetition(int firstNumber) {
-    HashSet<Integer> nextInts = new HashSet<>(262144);
+    findPairRepetition(
+        firstNumber,
+        NoiseScanKernels.get(),
+        nextIntBuffer,
+        nextInts,
+        integerPair -> {
+          System.out.printf(
+              "Integer pair found twice: %,d => %,d%n", integerPair.first, integerPair.second);
+          integerPairsFoundTwice.append(
+              ParallelRandomIntegerPairRepetitionFinder.toLong(integerPair));
+          metricsRecorder.match(2);
+        });
+  }
 
-    long firstNumberSeedBase = createSeedBase(firstNumber);
+  static void findPairRepetition(
+      int firstNumber,
+      NoiseScanKernel kernel,
+      int[] nextIntBuffer,
+      IntHashSet nextInts,
+      Consumer<IntegerPair> pairConsumer) {
+    nextInts.clear();
+    kernel.nextInts(createSeedBase(firstNumber), nextIntBuffer);
 
     for (int noise = 0; noise < NUMBER_OF_POSSIBLE_SEEDS; noise++) {
-      long seed = firstNumberSeedBase | noise;
-      int nextInt = getNextInt(seed);
-      if (nextInts.contains(nextInt)) {
-        System.out.printf("Integer pair found twice: %,d => %,d%n", firstNumber, nextInt);
-        integerPairsFoundTwice.add(new IntegerPair(firstNumber, nextInt));
+      int nextInt = nextIntBuffer[noise];
+      if (!nextInts.add(nextInt)) {
+        pairConsumer.accept(new IntegerPair(firstNumber, nextInt));
       }
-      nextInts.add(nextInt);
     }
   }
 
-  private long createSeedBase(int firstNumber) {
+  private static long createSeedBase(int firstNumber) {
     return Integer.toUnsignedLong(firstNumber) << SEED_NOISE_BITS;
   }
 
-  private int getNextInt(long oldseed) {
-    long nextseed = (oldseed * multiplier + addend) & mask;
-    return (int) (nextseed >>> 16);
-  }
-
   record IntegerPair(int first, int second) {
     @Override
     public String toString() {
@@ -1,13 +1,8 @@
 package eu.happycoders.random.sequence;
 
-import java.util.ArrayList;
+import eu.happycoders.random.metrics.FinderMetrics;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.random.RandomGenerator;
 
 public class SequenceRepetitionFinder {
@@ -16,17 +11,45 @@ public class SequenceRepetitionFinder {
     FOUND_SAME_SEQUENCE_EARLY
   }
 
+  /** Called whenever the comparison of a sequence starting with the first stored number ends. */
+  @FunctionalInterface
+  interface MatchListener {
+    void onMatch(int matchLength, long sequenceStartPosition);
+  }
+
+  // Metrics are flushed every 2^24 numbers
+  private static final long METRICS_FLUSH_MASK = (1L << 24) - 1;
+
   private final RandomGenerator random;
   private final long randomSequenceLength;
   private final int[] storedSequence;
 
-  private final List<Long> foundSequenceStarts = new ArrayList<>();
-  private final Map<Integer, AtomicLong> matchLengthCounters = new HashMap<>();
+  private final MatchListener matchListener;
+
+  // Start positions of the sequences currently being compared, in ascending order. A sequence is
+  // compared for at most storedSequence.length positions, so there are never more sequences in
+  // flight than that.
+  private final long[] foundSequenceStarts;
+  private int numberOfFoundSequenceStarts;
+
+  // Number of sequences by match length
+  private final long[] matchLengthCounters;
 
-  private long startTime;
+  private final FinderMetrics metrics;
+  private final FinderMetrics.Recorder metricsRecorder;
+  private long numbersFlushed;
 
   public SequenceRepetitionFinder(
       RandomGenerator random, long randomSequenceLength, int storedSequenceLength) {
+    this(random, randomSequenceLength, storedSequenceLength, null);
+  }
+
+  /** Creates a finder that reports matches to the given listener instead of printing them. */
+  SequenceRepetitionFinder(
+      RandomGenerator random,
+      long randomSequenceLength,
+      int storedSequenceLength,
+      MatchListener matchListener) {
     if (storedSequenceLength > randomSequenceLength)
       throw new IllegalArgumentException(
           "storedSequenceLength must not be longer than randomSequenceLength");
@@ -34,11 +57,21 @@ public class SequenceRepetitionFinder {
     this.random = random;
     this.randomSequenceLength = randomSequenceLength;
     this.storedSequence = new int[storedSequenceLength];
+    this.matchListener = matchListener != null ? matchListener : this::printMatchingSequence;
+    this.foundSequenceStarts = new long[Math.max(1, storedSequenceLength)];
+    this.matchLengthCounters = new long[storedSequenceLength + 1];
+    this.metrics =
+        new FinderMetrics(
+            getClass().getSimpleName(), randomSequenceLength, 0, storedSequenceLength);
+    this.metricsRecorder = metrics.newRecorder();
   }
 
-  public Result run() {
-    startTime = System.currentTimeMillis();
+  /** Returns the metrics of this finder, e.g., to register them as MBean. */
+  public FinderMetrics metrics() {
+    return metrics;
+  }
 
+  public Result run() {
     storeInitialSequence();
 
     int firstNumberInStoredSequence = storedSequence[0];
@@ -55,6 +88,9 @@ public class SequenceRepetitionFinder {
           startComparingNewSequence(sequencePosition);
           break;
         }
+        if ((sequencePosition & METRICS_FLUSH_MASK) == 0) {
+          flushMetrics(sequencePosition);
+        }
       }
 
       Result result = compareWithAllSequencesCurrentlyBeingCompared(number, sequencePosition);
@@ -73,7 +109,7 @@ public class SequenceRepetitionFinder {
         if (result != null) return result;
 
         // No more sequences being checked? Go back to fast loop!
-      } while (!foundSequenceStarts.isEmpty());
+      } while (numberOfFoundSequenceStarts > 0);
     }
   }
 
@@ -84,16 +120,26 @@ public class SequenceRepetitionFinder {
   }
 
   private void startComparingNewSequence(long sequencePosition) {
-    foundSequenceStarts.add(sequencePosition);
+    foundSequenceStarts[numberOfFoundSequenceStarts++] = sequencePosition;
+    metricsRecorder.candidateStarted();
+  }
+
+  private void flushMetrics(long sequencePosition) {
+    metricsRecorder.numbersGenerated(sequencePosition + 1 - numbersFlushed);
+    numbersFlushed = sequencePosition + 1;
+    metricsRecorder.flush();
   }
 
   private Result compareWithAllSequencesCurrentlyBeingCompared(int number, long sequencePosition) {
-    for (Iterator<Long> iterator = foundSequenceStarts.iterator(); iterator.hasNext(); ) {
-      long foundSequenceStart = iterator.next();
+    // Sequences still matching are moved to the front, closing the gaps of removed sequences
+    int numberOfSequencesKept = 0;
+    for (int i = 0; i < numberOfFoundSequenceStarts; i++) {
+      long foundSequenceStart = foundSequenceStarts[i];
       int foundSequencePos = (int) (sequencePosition - foundSequenceStart);
 
       // Ignore sequence just started
       if (foundSequencePos == 0) {
+        foundSequenceStarts[numberOfSequencesKept++] = foundSequenceStart;
         continue;
       }
 
@@ -101,37 +147,42 @@ public class SequenceRepetitionFinder {
       if (!match || foundSequencePos == storedSequence.length - 1) {
         long sequenceStartPosition = sequencePosition - foundSequencePos;
         int matchLength = match ? foundSequencePos + 1 : foundSequencePos;
-        printMatchingSequence(matchLength, sequenceStartPosition);
-        matchLengthCounters.computeIfAbsent(matchLength, key -> new AtomicLong()).incrementAndGet();
-        iterator.remove();
+        matchLengthCounters[matchLength]++;
+        metricsRecorder.match(matchLength);
+        if (!match) {
+          metricsRecorder.candidateDropped();
+        }
+        matchListener.onMatch(matchLength, sequenceStartPosition);
 
         if (match) {
+          flushMetrics(sequencePosition);
           return getResultForMatchAt(sequenceStartPosition);
         }
+      } else {
+        foundSequenceStarts[numberOfSequencesKept++] = foundSequenceStart;
       }
     }
+    numberOfFoundSequenceStarts = numberOfSequencesKept;
     return null;
   }
 
-  private void printMatchingSequence(int matchLength, long sequencePosition) {
-    double completionRatio = (double) sequencePosition / randomSequenceLength;
-    long elapsedTime = System.currentTimeMillis() - startTime;
-    long totalTimeEstimated = (long) (elapsedTime / completionRatio);
-    long remainingTimeEstimated = totalTimeEstimated - elapsedTime;
+  /** Returns how many sequences matched the first {@code i} stored numbers (at index {@code i}). */
+  long[] matchLengthCounters() {
+    return matchLengthCounters.clone();
+  }
 
+  private void printMatchingSequence(int matchLength, long sequencePosition) {
+    // Flushing at every match would slow down inputs with many partial matches; when printing
+    // anyway, it doesn't matter
+    flushMetrics(sequencePosition + matchLength - 1);
     System.out.printf(
         Locale.US,
-        "Found sequence of %d matching number(s) at position %,d of %,d: "
-            + "%s - completion: %.4f %% - elapsed time: %,.1f s - total time est.: %,.1f s - remaining time est.: %,.1f s (= %,.1f h)%n",
+        "Found sequence of %d matching number(s) at position %,d of %,d: %s - %s%n",
         matchLength,
         sequencePosition,
         randomSequenceLength,
         Arrays.toString(Arrays.copyOf(storedSequence, matchLength)),
-        completionRatio * 100.0,
-        elapsedTime / 1_000.0,
-        totalTimeEstimated / 1_000.0,
-        remainingTimeEstimated / 1_000.0,
-        remainingTimeEstimated / 3_600_000.0);
+        metrics.progress());
   }
 
   private Result getResultForMatchAt(long sequencePosition) {
@@ -1,9 +1,99 @@
 package eu.happycoders.random.sequence;
 
+import eu.happycoders.random.metrics.MetricsEmitter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs the {@link SequenceRepetitionFinder}, appending every match (length, start position) to a
+ * {@link MappedRecordLog} instead of printing it. Only matches of more than one number are printed.
+ * The finder's metrics are registered as MBean and written as JSON lines if configured (see {@link
+ * MetricsEmitter}).
+ *
+ * <p>The finder runs on an unseeded generator and cannot resume a previous run, so each run writes
+ * a fresh log (by default named after the start time) and refuses to append to an existing one. The
+ * log's checkpoint value is not used. The appended matches are committed every {@value
+ * #COMMIT_INTERVAL_MILLIS} ms by a background thread, also while no matches are found, and when the
+ * run ends.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
 public class SequenceRepetitionFinderRunner {
-  public static void main(String[] args) {
-    new SequenceRepetitionFinder(ThreadLocalRandom.current(), 1L << 48, 100).run();
+
+  private static final long COMMIT_INTERVAL_MILLIS = 10_000;
+
+  // The checkpoint is unused, as runs are not resumable
+  private static final long NO_CHECKPOINT = 0;
+
+  private static final DateTimeFormatter FILE_NAME_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  public static void main(String[] args) throws InterruptedException {
+    Path logFile =
+        Path.of(
+            args.length > 0
+                ? args[0]
+                : "sequence-repetition-finder-"
+                    + LocalDateTime.now().format(FILE_NAME_TIMESTAMP)
+                    + ".log");
+    if (Files.exists(logFile)) {
+      System.err.println(
+          "Log file "
+              + logFile
+              + " already exists; runs cannot be resumed, please specify a new file.");
+      return;
+    }
+
+    ScheduledExecutorService committer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "record-log-committer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try (MappedRecordLog log = MappedRecordLog.open(logFile, 2, COMMIT_INTERVAL_MILLIS)) {
+      committer.scheduleWithFixedDelay(
+          () -> log.commitNow(NO_CHECKPOINT),
+          COMMIT_INTERVAL_MILLIS,
+          COMMIT_INTERVAL_MILLIS,
+          TimeUnit.MILLISECONDS);
+      try {
+        SequenceRepetitionFinder finder =
+            new SequenceRepetitionFinder(
+                ThreadLocalRandom.current(),
+                1L << 48,
+                100,
+                (matchLength, sequenceStartPosition) -> {
+                  log.append(matchLength, sequenceStartPosition);
+                  if (matchLength > 1) {
+                    System.out.printf(
+                        Locale.US,
+                        "Found sequence of %d matching numbers at position %,d%n",
+                        matchLength,
+                        sequenceStartPosition);
+                  }
+                });
+        finder.metrics().registerMBean();
+        MetricsEmitter emitter = MetricsEmitter.startIfConfigured(finder.metrics());
+        try {
+          finder.run();
+        } finally {
+          if (emitter != null) {
+            emitter.close();
+          }
+        }
+      } finally {
+        // Stop committing before close() commits for the last time
+        committer.shutdown();
+        committer.awaitTermination(1, TimeUnit.MINUTES);
+      }
+    }
   }
 }
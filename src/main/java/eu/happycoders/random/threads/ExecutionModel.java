@@ -0,0 +1,95 @@
+package eu.happycoders.random.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How the tasks of a {@link MultipleThreadsHarness} run are executed.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public enum ExecutionModel {
+
+  /** A new platform thread per task, like the original demos. */
+  PLATFORM_THREADS("platform threads") {
+    @Override
+    Executor newExecutor() {
+      return command -> new Thread(command).start();
+    }
+  },
+
+  /** A fixed thread pool with one thread per available processor. */
+  FIXED_THREAD_POOL("fixed thread pool") {
+    @Override
+    Executor newExecutor() {
+      return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+  },
+
+  /** A {@link ForkJoinPool} with one worker per available processor. */
+  FORK_JOIN_POOL("ForkJoinPool") {
+    @Override
+    Executor newExecutor() {
+      return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+  },
+
+  /**
+   * A new virtual thread per task. Requires Java 21; the executor is looked up via reflection so
+   * that the code still compiles for Java 17.
+   */
+  VIRTUAL_THREADS("virtual threads") {
+    @Override
+    boolean isAvailable() {
+      return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    @Override
+    Executor newExecutor() {
+      if (!isAvailable()) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+      }
+      try {
+        return (Executor) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException("Could not create virtual thread executor", e);
+      }
+    }
+  };
+
+  private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR =
+      findNewVirtualThreadPerTaskExecutor();
+
+  private final String description;
+
+  ExecutionModel(String description) {
+    this.description = description;
+  }
+
+  private static Method findNewVirtualThreadPerTaskExecutor() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** Returns whether the execution model is supported by the running JVM. */
+  boolean isAvailable() {
+    return true;
+  }
+
+  /**
+   * Creates the executor for one run; executors that are {@link ExecutorService}s are shut down.
+   */
+  abstract Executor newExecutor();
+
+  @Override
+  public String toString() {
+    return description;
+  }
+}
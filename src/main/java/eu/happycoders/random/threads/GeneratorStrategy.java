@@ -0,0 +1,97 @@
+package eu.happycoders.random.threads;
+
+import eu.happycoders.random.util.StripedRandom;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * How the tasks of a {@link MultipleThreadsHarness} run obtain their random generator.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public enum GeneratorStrategy {
+
+  /** All tasks share one {@link Random}; its {@code AtomicLong} seed is contended. */
+  SHARED_RANDOM("shared Random") {
+    private final Random random = new Random();
+
+    @Override
+    Supplier<RandomGenerator> generators() {
+      return () -> random;
+    }
+  },
+
+  /**
+   * All tasks share one {@link Random} behind a {@code synchronized} block. Threads that wait for
+   * the monitor block instead of spinning; virtual threads pin their carrier thread while doing so
+   * (up to Java 23), which {@code -Djdk.tracePinnedThreads=short} makes visible.
+   */
+  SHARED_RANDOM_SYNCHRONIZED("shared Random, synchronized") {
+    private final SynchronizedRandom random = new SynchronizedRandom();
+
+    @Override
+    Supplier<RandomGenerator> generators() {
+      return () -> random;
+    }
+  },
+
+  /** Each task creates its own {@link Random}. */
+  RANDOM_PER_TASK("Random per task") {
+    @Override
+    Supplier<RandomGenerator> generators() {
+      return Random::new;
+    }
+  },
+
+  /** Each task uses the {@link ThreadLocalRandom} of the thread it runs on. */
+  THREAD_LOCAL_RANDOM("ThreadLocalRandom") {
+    @Override
+    Supplier<RandomGenerator> generators() {
+      return ThreadLocalRandom::current;
+    }
+  },
+
+  /** All tasks share one {@link StripedRandom}. */
+  SHARED_STRIPED_RANDOM("shared StripedRandom") {
+    private final StripedRandom random = new StripedRandom();
+
+    @Override
+    Supplier<RandomGenerator> generators() {
+      return () -> random;
+    }
+  };
+
+  private final String description;
+
+  GeneratorStrategy(String description) {
+    this.description = description;
+  }
+
+  /**
+   * Returns the generators for a run. The returned supplier is called once per task, on the thread
+   * that executes the task. The shared strategies return the same generator in every run, so that
+   * all rounds of a demo use the same instance.
+   */
+  abstract Supplier<RandomGenerator> generators();
+
+  @Override
+  public String toString() {
+    return description;
+  }
+
+  private static class SynchronizedRandom implements RandomGenerator {
+    private final Random random = new Random();
+
+    @Override
+    public synchronized int nextInt() {
+      return random.nextInt();
+    }
+
+    @Override
+    public synchronized long nextLong() {
+      return random.nextLong();
+    }
+  }
+}
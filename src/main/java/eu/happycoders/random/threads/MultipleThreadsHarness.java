@@ -0,0 +1,102 @@
+package eu.happycoders.random.threads;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random numbers in a number of concurrent tasks and measures the time. What the tasks
+ * use as random generator is determined by a {@link GeneratorStrategy}, on which threads they run
+ * by an {@link ExecutionModel}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+final class MultipleThreadsHarness {
+
+  private MultipleThreadsHarness() {}
+
+  /**
+   * Runs {@code numberOfTasks} tasks that each generate {@code numbersPerTask} random numbers and
+   * prints the wall time as well as the average and maximum time per task. The tasks wait until all
+   * of them have been submitted, so that they contend for the generator from the start.
+   */
+  static void run(
+      GeneratorStrategy strategy,
+      ExecutionModel executionModel,
+      int numberOfTasks,
+      long numbersPerTask) {
+    Supplier<RandomGenerator> generators = strategy.generators();
+    long[] taskTimes = new long[numberOfTasks];
+    long[] blackholes = new long[numberOfTasks];
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch stopLatch = new CountDownLatch(numberOfTasks);
+
+    long time = System.nanoTime();
+
+    Executor executor = executionModel.newExecutor();
+    for (int i = 0; i < numberOfTasks; i++) {
+      int task = i;
+      executor.execute(
+          () -> {
+            try {
+              startLatch.await();
+              long taskTime = System.nanoTime();
+              blackholes[task] = generateNumbers(generators.get(), numbersPerTask);
+              taskTimes[task] = System.nanoTime() - taskTime;
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              stopLatch.countDown();
+            }
+          });
+    }
+    startLatch.countDown();
+
+    try {
+      stopLatch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } finally {
+      if (executor instanceof ExecutorService executorService) {
+        executorService.shutdown();
+      }
+    }
+
+    time = System.nanoTime() - time;
+
+    long totalTaskTime = 0;
+    long maxTaskTime = 0;
+    long blackhole = 0;
+    for (int i = 0; i < numberOfTasks; i++) {
+      totalTaskTime += taskTimes[i];
+      maxTaskTime = Math.max(maxTaskTime, taskTimes[i]);
+      blackhole += blackholes[i];
+    }
+
+    System.out.printf(
+        Locale.US,
+        "%-28s %-18s %,7d tasks x %,12d numbers: wall time = %,7d ms, "
+            + "per task avg = %,9.2f ms, max = %,7d ms, %6.2f ns/number; blackhole = %d%n",
+        strategy,
+        executionModel,
+        numberOfTasks,
+        numbersPerTask,
+        time / 1_000_000,
+        totalTaskTime / 1_000_000.0 / numberOfTasks,
+        maxTaskTime / 1_000_000,
+        (double) time / (numbersPerTask * numberOfTasks),
+        blackhole);
+  }
+
+  private static long generateNumbers(RandomGenerator random, long numbersPerTask) {
+    long blackhole = 0;
+    for (long i = 0; i < numbersPerTask; i++) {
+      blackhole += random.nextInt();
+    }
+    return blackhole;
+  }
+}
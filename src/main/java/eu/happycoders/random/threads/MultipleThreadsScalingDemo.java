@@ -0,0 +1,90 @@
+package eu.happycoders.random.threads;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures all combinations of the given {@link GeneratorStrategy generator strategies}, {@link
+ * ExecutionModel execution models} and numbers of tasks with {@link MultipleThreadsHarness}. The
+ * total amount of numbers is split evenly across the tasks, so the wall times are comparable.
+ *
+ * <p>Parameters (all optional):
+ *
+ * <ol>
+ *   <li>comma-separated generator strategies, e.g. {@code SHARED_RANDOM,THREAD_LOCAL_RANDOM}, or
+ *       {@code all} (default)
+ *   <li>comma-separated execution models, e.g. {@code FIXED_THREAD_POOL,VIRTUAL_THREADS}, or {@code
+ *       all} (default)
+ *   <li>comma-separated numbers of tasks; {@code <n>x} stands for n times the number of available
+ *       processors (default: {@code 1,2,1x,2x,4x,10000})
+ *   <li>total amount of numbers per run (default: 100,000,000)
+ * </ol>
+ *
+ * <p>Virtual threads are skipped if the JVM doesn't support them (Java 17). To see carrier threads
+ * being pinned by {@link GeneratorStrategy#SHARED_RANDOM_SYNCHRONIZED} on Java 21, start the JVM
+ * with {@code -Djdk.tracePinnedThreads=short}.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class MultipleThreadsScalingDemo {
+
+  private static final String DEFAULT_TASK_COUNTS = "1,2,1x,2x,4x,10000";
+  private static final long DEFAULT_TOTAL_NUMBERS = 100_000_000;
+
+  public static void main(String[] args) {
+    List<GeneratorStrategy> strategies =
+        parseEnums(args.length > 0 ? args[0] : "all", GeneratorStrategy.class);
+    List<ExecutionModel> executionModels =
+        parseEnums(args.length > 1 ? args[1] : "all", ExecutionModel.class);
+    int[] taskCounts = parseTaskCounts(args.length > 2 ? args[2] : DEFAULT_TASK_COUNTS);
+    long totalNumbers = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_TOTAL_NUMBERS;
+
+    System.out.printf(
+        Locale.US,
+        "Java %s, %d available processors%n",
+        Runtime.version(),
+        Runtime.getRuntime().availableProcessors());
+
+    for (ExecutionModel executionModel : executionModels) {
+      if (!executionModel.isAvailable()) {
+        System.out.printf("Skipping %s: not supported by this JVM%n", executionModel);
+        continue;
+      }
+      for (GeneratorStrategy strategy : strategies) {
+        for (int numberOfTasks : taskCounts) {
+          MultipleThreadsHarness.run(
+              strategy, executionModel, numberOfTasks, totalNumbers / numberOfTasks);
+        }
+      }
+    }
+  }
+
+  private static <E extends Enum<E>> List<E> parseEnums(String arg, Class<E> enumClass) {
+    if (arg.equalsIgnoreCase("all")) {
+      return List.of(enumClass.getEnumConstants());
+    }
+    return Arrays.stream(arg.split(","))
+        .map(name -> Enum.valueOf(enumClass, name.strip().toUpperCase(Locale.ROOT)))
+        .toList();
+  }
+
+  private static int[] parseTaskCounts(String arg) {
+    int availableProcessors = Runtime.getRuntime().availableProcessors();
+    return Arrays.stream(arg.split(","))
+        .map(String::strip)
+        .mapToInt(
+            token -> {
+              int count =
+                  token.endsWith("x")
+                      ? Integer.parseInt(token.substring(0, token.length() - 1))
+                          * availableProcessors
+                      : Integer.parseInt(token);
+              if (count <= 0) {
+                throw new IllegalArgumentException("Number of tasks must be positive: " + token);
+              }
+              return count;
+            })
+        .toArray();
+  }
+}
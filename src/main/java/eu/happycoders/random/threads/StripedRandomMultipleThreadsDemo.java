@@ -0,0 +1,19 @@
+package eu.happycoders.random.threads;
+
+public class StripedRandomMultipleThreadsDemo {
+
+  private static final int NUMBER_OF_NUMBERS = 100_000_000;
+
+  public static void main(String[] args) {
+    for (int i = 0; i < 10; i++) {
+      System.out.printf("Round %d%n", i + 1);
+      for (int numberOfThreads = 1; numberOfThreads <= 6; numberOfThreads++) {
+        MultipleThreadsHarness.run(
+            GeneratorStrategy.SHARED_STRIPED_RANDOM,
+            ExecutionModel.PLATFORM_THREADS,
+            numberOfThreads,
+            NUMBER_OF_NUMBERS);
+      }
+    }
+  }
+}
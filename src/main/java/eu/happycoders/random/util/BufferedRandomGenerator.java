@@ -0,0 +1,222 @@
+package eu.happycoders.random.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Method;
+import java.nio.ByteOrder;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * {@link RandomGenerator} decorator that draws random bytes from the decorated generator in bulk
+ * and hands them out from a per-thread buffer, e.g., for request handlers that need a few random
+ * values per request from an expensive generator such as {@link SecureRandom} or from a shared
+ * {@link Random}.
+ *
+ * <p>Each thread gets its own buffer of {@code bufferSize} {@code long}s, so taking a value from it
+ * requires no synchronization at all. The buffer is filled with a single {@link
+ * RandomGenerator#nextBytes(byte[]) nextBytes()} call, which {@code SecureRandom} implements much
+ * more efficiently than many {@code nextLong()} calls; the decorated generator is locked for this
+ * call, so it doesn't need to be thread-safe.
+ *
+ * <p>Without prefetching, the call that finds the buffer empty has to wait for the refill (a
+ * "stall"). With prefetching, each thread has a second buffer, which is refilled by a background
+ * task while the first one is consumed; the call that finds the buffer empty just swaps the
+ * buffers. It only stalls if the background refill hasn't completed yet, i.e., if the thread
+ * consumes values faster than the decorated generator produces them. {@link #prefetching} uses a
+ * virtual thread per refill on Java 21+, and daemon platform threads otherwise.
+ *
+ * <p>The sequence of values seen by a thread is a subsequence of the decorated generator's output.
+ * Each thread holds up to two buffers until it terminates, so the buffer size should take the
+ * number of threads into account.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class BufferedRandomGenerator implements RandomGenerator {
+
+  // Little endian, so that the longs match the nextLong() values the default implementation of
+  // nextBytes() is built from
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final Executor DEFAULT_PREFETCH_EXECUTOR = createDefaultPrefetchExecutor();
+
+  private final RandomGenerator delegate;
+  private final Object delegateLock = new Object();
+  private final int bufferSizeBytes;
+  private final Executor prefetchExecutor;
+  private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+  private final LongAdder stalls = new LongAdder();
+  private final LongAdder stallNanos = new LongAdder();
+  private final LongAdder prefetches = new LongAdder();
+
+  /**
+   * Refill statistics.
+   *
+   * @param stalls the number of calls that had to wait for a buffer to be filled, including the
+   *     first call of each thread
+   * @param stallNanos the total time spent waiting in these calls
+   * @param prefetches the number of buffers filled in the background
+   */
+  public record RefillStats(long stalls, long stallNanos, long prefetches) {}
+
+  /**
+   * Creates a decorator with per-thread buffers of {@code bufferSize} longs, without prefetching.
+   */
+  public BufferedRandomGenerator(RandomGenerator delegate, int bufferSize) {
+    this(delegate, bufferSize, null);
+  }
+
+  /**
+   * Creates a decorator with per-thread buffers of {@code bufferSize} longs, which are refilled
+   * ahead of time by tasks run on the given executor; {@code null} disables prefetching.
+   */
+  public BufferedRandomGenerator(
+      RandomGenerator delegate, int bufferSize, Executor prefetchExecutor) {
+    if (bufferSize <= 0 || bufferSize > Integer.MAX_VALUE / Long.BYTES) {
+      throw new IllegalArgumentException("bufferSize out of range: " + bufferSize);
+    }
+    this.delegate = delegate;
+    this.bufferSizeBytes = bufferSize * Long.BYTES;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  /**
+   * Creates a decorator whose buffers are refilled ahead of time by virtual threads (Java 21+) or
+   * daemon platform threads.
+   */
+  public static BufferedRandomGenerator prefetching(RandomGenerator delegate, int bufferSize) {
+    return new BufferedRandomGenerator(delegate, bufferSize, DEFAULT_PREFETCH_EXECUTOR);
+  }
+
+  private static Executor createDefaultPrefetchExecutor() {
+    // Looked up via reflection so that the code still compiles for Java 17
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "BufferedRandomGenerator-prefetch");
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+  }
+
+  public static void main(String[] args) {
+    int calls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+    int bufferSize = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+    SecureRandom secureRandom = new SecureRandom();
+    Random random = new Random();
+    for (int round = 0; round < 2; round++) {
+      System.out.printf("Round %d%n", round + 1);
+      measure("SecureRandom", secureRandom, calls);
+      measure(
+          "SecureRandom, buffered", new BufferedRandomGenerator(secureRandom, bufferSize), calls);
+      measure("SecureRandom, prefetching", prefetching(secureRandom, bufferSize), calls);
+      measure("Random", random, calls);
+      measure("Random, buffered", new BufferedRandomGenerator(random, bufferSize), calls);
+      measure("Random, prefetching", prefetching(random, bufferSize), calls);
+    }
+  }
+
+  private static void measure(String name, RandomGenerator generator, int calls) {
+    long[] latencies = new long[calls];
+    long blackhole = 0;
+    for (int i = 0; i < calls; i++) {
+      long time = System.nanoTime();
+      blackhole += RandomUtils.nextInt(generator, 0, 100);
+      latencies[i] = System.nanoTime() - time;
+    }
+    Arrays.sort(latencies);
+
+    System.out.printf(
+        Locale.US,
+        "  %-26s p50: %,6d ns, p99: %,6d ns, p99.9: %,7d ns, max: %,9d ns%s  (%d)%n",
+        name,
+        latencies[calls / 2],
+        latencies[(int) (calls * 0.99)],
+        latencies[(int) (calls * 0.999)],
+        latencies[calls - 1],
+        generator instanceof BufferedRandomGenerator buffered ? " - " + buffered.refillStats() : "",
+        blackhole);
+  }
+
+  @Override
+  public long nextLong() {
+    Buffer buffer = buffers.get();
+    if (buffer.position == bufferSizeBytes) {
+      buffer.switchOrRefill();
+    }
+    long value = (long) LONGS.get(buffer.active, buffer.position);
+    buffer.position += Long.BYTES;
+    return value;
+  }
+
+  /** Returns the refill statistics of all threads. */
+  public RefillStats refillStats() {
+    return new RefillStats(stalls.sum(), stallNanos.sum(), prefetches.sum());
+  }
+
+  private void fill(byte[] bytes) {
+    synchronized (delegateLock) {
+      delegate.nextBytes(bytes);
+    }
+  }
+
+  private void fillAndCountStall(byte[] bytes) {
+    long start = System.nanoTime();
+    fill(bytes);
+    stallNanos.add(System.nanoTime() - start);
+    stalls.increment();
+  }
+
+  /** The buffers of a single thread; only the background refill runs in another thread. */
+  private final class Buffer implements Runnable {
+    private byte[] active;
+    private int position;
+
+    // Filled in the background; owned by the background task from submission to standbyReady
+    private byte[] standby;
+    private volatile boolean standbyReady;
+
+    private Buffer() {
+      active = new byte[bufferSizeBytes];
+      fillAndCountStall(active);
+      if (prefetchExecutor != null) {
+        standby = new byte[bufferSizeBytes];
+        prefetchExecutor.execute(this);
+      }
+    }
+
+    private void switchOrRefill() {
+      if (prefetchExecutor != null && standbyReady) {
+        byte[] consumed = active;
+        active = standby;
+        standby = consumed;
+        standbyReady = false;
+        prefetchExecutor.execute(this);
+      } else {
+        fillAndCountStall(active);
+      }
+      position = 0;
+    }
+
+    @Override
+    public void run() {
+      fill(standby);
+      prefetches.increment();
+      standbyReady = true;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package eu.happycoders.random.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random strings over a fixed alphabet.
+ *
+ * <p>The alphabet is copied into a lookup table once, when the generator is created. Each {@code
+ * nextLong()} call then provides several characters: the 64 random bits are split into chunks of
+ * {@code ceil(log2(alphabet length))} bits, and each chunk is used as an index into the table.
+ * Chunks that are not smaller than the alphabet length are skipped (rejection sampling), so all
+ * characters are equally likely. For the 26 lower-case letters, that are twelve 5-bit chunks per
+ * {@code nextLong()}, of which about 81% are accepted.
+ *
+ * <p>If all characters of the alphabet are Latin-1 characters, {@link #nextString(int)} writes into
+ * a presized {@code byte[]}; turning it into a compact string is a plain array copy, without the
+ * resizing of a default-capacity {@link StringBuilder} and without a {@code char[]}. {@link
+ * #nextChars(RandomGenerator, char[], int, int)} and {@link #appendTo(RandomGenerator,
+ * StringBuilder, int)} write into existing buffers and don't allocate at all.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public final class RandomStringGenerator {
+
+  private final char[] chars;
+  private final byte[] latin1Bytes; // null if the alphabet contains non-Latin-1 characters
+  private final int bitsPerChar;
+  private final int charsPerLong;
+  private final int indexMask;
+
+  public RandomStringGenerator(String alphabet) {
+    if (alphabet.isEmpty()) {
+      throw new IllegalArgumentException("alphabet must not be empty");
+    }
+
+    chars = alphabet.toCharArray();
+    latin1Bytes = toLatin1Bytes(chars);
+
+    // At least one bit per chunk, so that single-character alphabets also terminate
+    bitsPerChar = Math.max(1, 32 - Integer.numberOfLeadingZeros(chars.length - 1));
+    charsPerLong = Long.SIZE / bitsPerChar;
+    indexMask = (1 << bitsPerChar) - 1;
+  }
+
+  private static byte[] toLatin1Bytes(char[] chars) {
+    byte[] bytes = new byte[chars.length];
+    for (int i = 0; i < chars.length; i++) {
+      if (chars[i] > 0xFF) {
+        return null;
+      }
+      bytes[i] = (byte) chars[i];
+    }
+    return bytes;
+  }
+
+  /** Returns a random string of the given length, using {@link ThreadLocalRandom}. */
+  public String nextString(int length) {
+    return nextString(ThreadLocalRandom.current(), length);
+  }
+
+  /** Returns a random string of the given length, using the given random generator. */
+  public String nextString(RandomGenerator random, int length) {
+    checkLength(length);
+
+    if (latin1Bytes != null) {
+      byte[] bytes = new byte[length];
+      fill(random, bytes, length);
+      return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    char[] result = new char[length];
+    nextChars(random, result, 0, length);
+    return new String(result);
+  }
+
+  /**
+   * Writes {@code length} random characters into {@code dest}, starting at {@code offset}.
+   *
+   * @throws IndexOutOfBoundsException if the range exceeds the array
+   */
+  public void nextChars(RandomGenerator random, char[] dest, int offset, int length) {
+    checkLength(length);
+    if (offset < 0 || offset > dest.length - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") out of bounds");
+    }
+
+    int end = offset + length;
+    int i = offset;
+    while (i < end) {
+      long bits = random.nextLong();
+      for (int chunk = 0; chunk < charsPerLong && i < end; chunk++) {
+        int index = (int) bits & indexMask;
+        bits >>>= bitsPerChar;
+        if (index < chars.length) {
+          dest[i++] = chars[index];
+        }
+      }
+    }
+  }
+
+  /** Appends {@code length} random characters to the given {@link StringBuilder}. */
+  public void appendTo(RandomGenerator random, StringBuilder sb, int length) {
+    checkLength(length);
+    sb.ensureCapacity(sb.length() + length);
+
+    int remaining = length;
+    while (remaining > 0) {
+      long bits = random.nextLong();
+      for (int chunk = 0; chunk < charsPerLong && remaining > 0; chunk++) {
+        int index = (int) bits & indexMask;
+        bits >>>= bitsPerChar;
+        if (index < chars.length) {
+          sb.append(chars[index]);
+          remaining--;
+        }
+      }
+    }
+  }
+
+  private void fill(RandomGenerator random, byte[] dest, int length) {
+    int i = 0;
+    while (i < length) {
+      long bits = random.nextLong();
+      for (int chunk = 0; chunk < charsPerLong && i < length; chunk++) {
+        int index = (int) bits & indexMask;
+        bits >>>= bitsPerChar;
+        if (index < latin1Bytes.length) {
+          dest[i++] = latin1Bytes[index];
+        }
+      }
+    }
+  }
+
+  private static void checkLength(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("length must not be negative");
+    }
+  }
+}
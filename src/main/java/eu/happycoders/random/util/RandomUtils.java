@@ -1,7 +1,9 @@
 package eu.happycoders.random.util;
 
+import java.nio.ByteBuffer;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class RandomUtils {
   public static int nextInt(Random random, int origin, int bound) {
@@ -11,32 +13,156 @@ public class RandomUtils {
     return origin + random.nextInt(bound - origin);
   }
 
-  public static String randomLowerCaseString(int length) {
-    StringBuilder sb = new StringBuilder();
-    Random r = ThreadLocalRandom.current();
-    for (int i = 0; i < length; i++) {
-      char c = (char) ('a' + r.nextInt(26));
-      sb.append(c);
+  public static int nextInt(RandomGenerator random, int origin, int bound) {
+    if (origin >= bound) {
+      throw new IllegalArgumentException();
+    }
+    return origin + random.nextInt(bound - origin);
+  }
+
+  public static void fill(int[] dest, int origin, int bound) {
+    fill(ThreadLocalRandom.current(), dest, origin, bound);
+  }
+
+  /**
+   * Fills the array with uniformly distributed values in the range [origin, bound).
+   *
+   * <p>Uses Lemire's multiply-shift method: the upper 32 bits of {@code random32 * range} are
+   * uniformly distributed if the (rarely occurring) products whose lower 32 bits are below {@code
+   * 2^32 mod range} are rejected. This avoids the division of {@link Random#nextInt(int)} for
+   * nearly all values. Each {@code nextLong()} call provides the random bits for two values.
+   */
+  public static void fill(RandomGenerator random, int[] dest, int origin, int bound) {
+    if (origin >= bound) {
+      throw new IllegalArgumentException();
+    }
+    long range = (long) bound - origin; // up to 2^32 - 1
+
+    int i = 0;
+    while (i < dest.length) {
+      long bits = random.nextLong();
+
+      int value = nextIntInRange(random, bits >>> 32, range);
+      dest[i++] = origin + value;
+
+      if (i < dest.length) {
+        value = nextIntInRange(random, bits & 0xFFFFFFFFL, range);
+        dest[i++] = origin + value;
+      }
+    }
+  }
+
+  private static int nextIntInRange(RandomGenerator random, long random32, long range) {
+    long product = random32 * range;
+    long low = product & 0xFFFFFFFFL;
+    if (low < range) {
+      long threshold = (1L << 32) % range;
+      while (low < threshold) {
+        random32 = random.nextInt() & 0xFFFFFFFFL;
+        product = random32 * range;
+        low = product & 0xFFFFFFFFL;
+      }
+    }
+    return (int) (product >>> 32);
+  }
+
+  public static void fill(long[] dest) {
+    fill(ThreadLocalRandom.current(), dest);
+  }
+
+  public static void fill(RandomGenerator random, long[] dest) {
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = random.nextLong();
     }
-    return sb.toString();
+  }
+
+  public static void fill(double[] dest) {
+    fill(ThreadLocalRandom.current(), dest);
+  }
+
+  /** Fills the array with uniformly distributed values in the range [0, 1). */
+  public static void fill(RandomGenerator random, double[] dest) {
+    for (int i = 0; i < dest.length; i++) {
+      // Same as RandomGenerator.nextDouble(): 53 random bits scaled to [0, 1)
+      dest[i] = (random.nextLong() >>> 11) * 0x1.0p-53;
+    }
+  }
+
+  public static void fill(ByteBuffer dest) {
+    fill(ThreadLocalRandom.current(), dest);
+  }
+
+  /**
+   * Fills the remaining bytes of the buffer (heap or direct) with random bytes, eight bytes per
+   * {@code nextLong()} call. Afterwards, the buffer's position equals its limit.
+   */
+  public static void fill(RandomGenerator random, ByteBuffer dest) {
+    while (dest.remaining() >= Long.BYTES) {
+      dest.putLong(random.nextLong());
+    }
+
+    if (dest.hasRemaining()) {
+      long bits = random.nextLong();
+      while (dest.hasRemaining()) {
+        dest.put((byte) bits);
+        bits >>>= 8;
+      }
+    }
+  }
+
+  private static final RandomStringGenerator LOWER_CASE =
+      new RandomStringGenerator("abcdefghijklmnopqrstuvwxyz");
+
+  /** Returns a random lower-case string; an empty string if {@code length} is not positive. */
+  public static String randomLowerCaseString(int length) {
+    return length <= 0 ? "" : LOWER_CASE.nextString(length);
   }
 
   private static final String ALPHANUMERIC_WITH_SPACE_ALPHABET =
       " 0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
 
+  private static final RandomStringGenerator ALPHANUMERIC_WITH_SPACE =
+      new RandomStringGenerator(ALPHANUMERIC_WITH_SPACE_ALPHABET);
+
+  /**
+   * Returns a random string of letters, digits, and spaces; an empty string if {@code length} is
+   * not positive.
+   */
   public static String randomAlphanumericalWithSpaceString(int length) {
-    return randomString(length, ALPHANUMERIC_WITH_SPACE_ALPHABET);
+    return length <= 0 ? "" : ALPHANUMERIC_WITH_SPACE.nextString(length);
   }
 
+  /** The generator for the alphabet of the most recent {@link #randomString} call. */
+  private static volatile CachedGenerator lastGenerator;
+
+  private record CachedGenerator(String alphabet, RandomStringGenerator generator) {}
+
+  /**
+   * Returns a random string over the given alphabet. The {@link RandomStringGenerator} for the
+   * alphabet is cached, so repeated calls with the same alphabet only allocate the result.
+   * Alternating between alphabets creates a new generator per call; in that case, create a {@code
+   * RandomStringGenerator} per alphabet once and reuse it.
+   *
+   * <p>Unlike {@link RandomStringGenerator#nextString(int)}, returns an empty string if {@code
+   * length} is not positive, even for an empty alphabet.
+   *
+   * @throws IllegalArgumentException if {@code length} is positive and the alphabet is empty
+   */
   public static String randomString(int length, String alphabet) {
-    StringBuilder sb = new StringBuilder();
-    Random r = ThreadLocalRandom.current();
-    for (int i = 0; i < length; i++) {
-      int pos = r.nextInt(alphabet.length());
-      char c = alphabet.charAt(pos);
-      sb.append(c);
-    }
-    return sb.toString();
+    if (length <= 0) {
+      return "";
+    }
+    return generatorFor(alphabet).nextString(length);
+  }
+
+  static RandomStringGenerator generatorFor(String alphabet) {
+    CachedGenerator cached = lastGenerator;
+    if (cached == null || !cached.alphabet().equals(alphabet)) {
+      // Racing threads may each create a generator; they are immutable, so any of them will do
+      cached = new CachedGenerator(alphabet, new RandomStringGenerator(alphabet));
+      lastGenerator = cached;
+    }
+    return cached.generator();
   }
 
   public static String randomStringWithStream(int length, String alphabet) {
@@ -0,0 +1,159 @@
+package eu.happycoders.random.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.random.RandomGenerator;
+
+/**
+ * Thread-safe {@link RandomGenerator} that can be shared by many threads without the contention of
+ * a shared java.util.{@link java.util.Random}.
+ *
+ * <p>{@code Random} keeps its seed in a single {@code AtomicLong}; with multiple threads, most
+ * compare-and-set operations fail and have to be retried (see {@code RandomMultipleThreadsDemo}).
+ * Like {@link java.util.concurrent.atomic.LongAdder}, this class stripes its state across several
+ * cells, each on its own cache line. A thread starts at the cell selected by its probe value; if a
+ * compare-and-set fails, the thread changes its probe and moves on to another cell, so threads
+ * quickly spread out across the cells.
+ *
+ * <p>Each cell is a SplitMix64 generator (the algorithm of {@link java.util.SplittableRandom}) with
+ * its own start state and its own increment ("gamma"). Values drawn by a single thread are
+ * therefore not reproducible when several threads share the generator; use {@link
+ * java.util.SplittableRandom#split()} for reproducible parallel streams.
+ *
+ * <p>Unlike {@link java.util.concurrent.ThreadLocalRandom}, an instance can be stored in fields and
+ * passed between platform threads and virtual threads.
+ *
+ * @author <a href="sven@happycoders.eu>Sven Woltmann</a>
+ */
+public class StripedRandom implements RandomGenerator {
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private static final VarHandle STATE;
+
+  static {
+    try {
+      STATE = MethodHandles.lookup().findVarHandle(CellValues.class, "state", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /** Probe shared by all instances, like the thread probe used by {@code LongAdder}. */
+  private static final ThreadLocal<Probe> PROBE = ThreadLocal.withInitial(Probe::new);
+
+  private final Cell[] cells;
+  private final int cellMask;
+
+  /** Creates a generator with a random seed and two cells per available processor. */
+  public StripedRandom() {
+    this(System.nanoTime() ^ Thread.currentThread().getId() * GOLDEN_GAMMA);
+  }
+
+  /** Creates a generator with the given seed and two cells per available processor. */
+  public StripedRandom(long seed) {
+    this(seed, 2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a generator with the given seed and at least the given number of cells (rounded up to
+   * the next power of two).
+   */
+  public StripedRandom(long seed, int minNumberOfCells) {
+    if (minNumberOfCells <= 0 || minNumberOfCells > 1 << 16) {
+      throw new IllegalArgumentException("minNumberOfCells must be in the range [1, 65536]");
+    }
+    int numberOfCells = Integer.highestOneBit(minNumberOfCells * 2 - 1);
+    cells = new Cell[numberOfCells];
+    cellMask = numberOfCells - 1;
+
+    long s = seed;
+    for (int i = 0; i < numberOfCells; i++) {
+      long state = mix64(s += GOLDEN_GAMMA);
+      long gamma = mixGamma(s += GOLDEN_GAMMA);
+      cells[i] = new Cell(state, gamma);
+    }
+  }
+
+  @Override
+  public long nextLong() {
+    Probe probe = PROBE.get();
+    int h = probe.value;
+    while (true) {
+      Cell cell = cells[h & cellMask];
+      long state = cell.state;
+      long nextState = state + cell.gamma;
+      if (STATE.compareAndSet(cell, state, nextState)) {
+        return mix64(nextState);
+      }
+
+      // Contention: move on to another cell
+      h = advanceProbe(h);
+      probe.value = h;
+    }
+  }
+
+  int numberOfCells() {
+    return cells.length;
+  }
+
+  private static int advanceProbe(int probe) {
+    // Marsaglia xorshift, as in ThreadLocalRandom.advanceProbe()
+    probe ^= probe << 13;
+    probe ^= probe >>> 17;
+    probe ^= probe << 5;
+    return probe;
+  }
+
+  /** Output function of SplittableRandom (variant 13 of David Stafford's mixers). */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Gamma function of SplittableRandom: an odd value with enough bit transitions. */
+  private static long mixGamma(long z) {
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    int n = Long.bitCount(z ^ (z >>> 1));
+    return (n < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+  }
+
+  private static class Probe {
+    private int value;
+
+    private Probe() {
+      int h = (int) mix64(Thread.currentThread().getId() * GOLDEN_GAMMA + System.nanoTime());
+      value = h != 0 ? h : 1; // xorshift must not start at 0
+    }
+  }
+
+  // The padding classes keep the state of each cell on its own cache line; fields of a superclass
+  // are laid out before those of its subclasses, so the JVM cannot reorder them.
+
+  @SuppressWarnings("unused")
+  private static class CellLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+  }
+
+  private static class CellValues extends CellLeftPadding {
+    volatile long state;
+    final long gamma;
+
+    CellValues(long state, long gamma) {
+      this.state = state;
+      this.gamma = gamma;
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private static class Cell extends CellValues {
+    long p11, p12, p13, p14, p15, p16, p17;
+
+    Cell(long state, long gamma) {
+      super(state, gamma);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package eu.happycoders.random.lcg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LcgJumpTest {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long mask = LcgKernel.mask;
+
+  /** Internal state of {@code new Random(seed)} before the first call. */
+  private static long initialState(long seed) {
+    return (seed ^ multiplier) & mask;
+  }
+
+  @Test
+  void jumpMatchesSteppingOneByOne() {
+    long state = 0x1234_5678_9ABCL;
+    long stepped = state;
+    for (int steps = 0; steps <= 1_000; steps++) {
+      assertThat(LcgJump.stateAfter(state, steps)).isEqualTo(stepped);
+      stepped = LcgJump.nextState(stepped);
+    }
+  }
+
+  @Test
+  void nthIntMatchesRandom() {
+    Random random = new Random(4711);
+    long state = initialState(4711);
+
+    for (int n = 1; n <= 100_000; n++) {
+      int expected = random.nextInt();
+      if (n % 9_973 == 1) {
+        assertThat(LcgJump.nthInt(state, n)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  void stepsBackwards() {
+    long state = 0xCAFE_BABE_F00DL;
+
+    assertThat(LcgJump.previousState(LcgJump.nextState(state))).isEqualTo(state);
+    assertThat(LcgJump.stateAfter(state, -1)).isEqualTo(LcgJump.previousState(state));
+    assertThat(LcgJump.stateAfter(LcgJump.stateAfter(state, 1_000_000_000L), -1_000_000_000L))
+        .isEqualTo(state);
+  }
+
+  @Test
+  void returnsPastOutputs() {
+    Random random = new Random(1);
+    int first = random.nextInt();
+    int second = random.nextInt();
+    int third = random.nextInt();
+    long stateAfterThird = LcgJump.stateAfter(initialState(1), 3);
+
+    assertThat(LcgJump.nthInt(stateAfterThird, 0)).isEqualTo(third);
+    assertThat(LcgJump.nthInt(stateAfterThird, -1)).isEqualTo(second);
+    assertThat(LcgJump.nthInt(stateAfterThird, -2)).isEqualTo(first);
+  }
+
+  @Test
+  void periodIsTwoToThe48() {
+    long state = 0x0BAD_C0DE_0001L;
+
+    assertThat(LcgJump.stateAfter(state, LcgJump.PERIOD)).isEqualTo(state);
+    assertThat(LcgJump.stateAfter(state, LcgJump.PERIOD / 2)).isNotEqualTo(state);
+  }
+
+  @Test
+  void jumpCanBeReusedAndComposed() {
+    LcgJump jump = LcgJump.of(1L << 40);
+    long state = 42;
+
+    long twice = jump.apply(jump.apply(state));
+
+    assertThat(jump.steps()).isEqualTo(1L << 40);
+    assertThat(twice).isEqualTo(LcgJump.stateAfter(state, 1L << 41));
+  }
+}
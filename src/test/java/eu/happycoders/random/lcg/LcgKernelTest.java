@@ -0,0 +1,118 @@
+package eu.happycoders.random.lcg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LcgKernelTest {
+
+  private static final long SEED = 4711;
+
+  @Test
+  void singleStepMatchesRandom() {
+    Random random = new Random(SEED);
+    long seed = initialSeed(SEED);
+
+    for (int i = 0; i < 1_000; i++) {
+      seed = LcgKernel.nextSeed(seed);
+      assertThat(LcgKernel.intFromSeed(seed)).isEqualTo(random.nextInt());
+    }
+  }
+
+  @Test
+  void batchesMatchRandom() {
+    Random random = new Random(SEED);
+    int[] batch4 = new int[5];
+    int[] batch8 = new int[10];
+
+    long seed = LcgKernel.nextInts4(initialSeed(SEED), batch4, 1);
+    seed = LcgKernel.nextInts8(seed, batch8, 2);
+
+    for (int i = 1; i < 5; i++) {
+      assertThat(batch4[i]).isEqualTo(random.nextInt());
+    }
+    for (int i = 2; i < 10; i++) {
+      assertThat(batch8[i]).isEqualTo(random.nextInt());
+    }
+    assertThat(LcgKernel.intFromSeed(LcgKernel.nextSeed(seed))).isEqualTo(random.nextInt());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 7, 8, 9, 100, 1_003})
+  void nextIntsMatchesRandom(int length) {
+    Random random = new Random(SEED);
+    int[] numbers = new int[length + 2];
+
+    long seed = LcgKernel.nextInts(initialSeed(SEED), numbers, 1, length);
+
+    assertThat(numbers[0]).isZero();
+    for (int i = 1; i <= length; i++) {
+      assertThat(numbers[i]).isEqualTo(random.nextInt());
+    }
+    assertThat(numbers[length + 1]).isZero();
+    assertThat(seed).isEqualTo(LcgJump.stateAfter(initialSeed(SEED), length));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 3, 4, 5, 100})
+  void javaUtilRandomKernelMatchesStaticMethods(int length) {
+    LcgKernel kernel = LcgKernel.javaUtilRandom();
+    int[] expected = new int[length];
+    int[] actual = new int[length];
+
+    long expectedSeed = LcgKernel.nextInts(initialSeed(SEED), expected, 0, length);
+    long actualSeed = kernel.outputs(initialSeed(SEED), actual, 0, length);
+
+    assertThat(actual).isEqualTo(expected);
+    assertThat(actualSeed).isEqualTo(expectedSeed);
+    assertThat(kernel.step(actualSeed)).isEqualTo(LcgKernel.nextSeed(expectedSeed));
+  }
+
+  @Test
+  void parameterizedKernelMatchesNaiveLcg() {
+    // 32-bit LCG from Numerical Recipes, upper 16 bits as output
+    LcgKernel kernel = LcgKernel.of(1_664_525, 1_013_904_223, 32, 16);
+    int[] outputs = new int[23];
+
+    long lastState = kernel.outputs(1, outputs, 0, outputs.length);
+
+    long state = 1;
+    for (int output : outputs) {
+      state = (state * 1_664_525 + 1_013_904_223) & 0xFFFFFFFFL;
+      assertThat(output).isEqualTo((int) (state >>> 16));
+    }
+    assertThat(lastState).isEqualTo(state);
+  }
+
+  @Test
+  void parameterizedKernelSupports64BitState() {
+    LcgKernel kernel = LcgKernel.of(6_364_136_223_846_793_005L, 1_442_695_040_888_963_407L, 64, 32);
+    int[] outputs = new int[9];
+
+    kernel.outputs(42, outputs, 0, outputs.length);
+
+    long state = 42;
+    for (int output : outputs) {
+      state = state * 6_364_136_223_846_793_005L + 1_442_695_040_888_963_407L;
+      assertThat(output).isEqualTo((int) (state >>> 32));
+    }
+  }
+
+  @Test
+  void rejectsInvalidParameters() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> LcgKernel.of(5, 1, 65, 32));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> LcgKernel.of(5, 1, 16, 17));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> LcgKernel.of(5, 1, 48, 33));
+  }
+
+  private static long initialSeed(long seed) {
+    return (seed ^ LcgKernel.multiplier) & LcgKernel.mask;
+  }
+}
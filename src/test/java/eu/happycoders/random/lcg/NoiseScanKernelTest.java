@@ -0,0 +1,85 @@
+package eu.happycoders.random.lcg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class NoiseScanKernelTest {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  static Stream<NoiseScanKernel> kernels() {
+    // The Vector API kernel is only compiled and available with the "vector" profile
+    NoiseScanKernel best = NoiseScanKernels.get();
+    return best == NoiseScanKernels.scalar()
+        ? Stream.of(NoiseScanKernels.scalar())
+        : Stream.of(NoiseScanKernels.scalar(), best);
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void nextIntsMatchReferenceImplementation(NoiseScanKernel kernel) {
+    int[] nextInts = new int[NoiseScanKernel.NUMBER_OF_NOISES];
+    for (int firstNumber : new int[] {0, 1, -1, Integer.MIN_VALUE, 1_568_757_050}) {
+      long seedBase = Integer.toUnsignedLong(firstNumber) << 16;
+      kernel.nextInts(seedBase, nextInts);
+
+      for (int noise = 0; noise < NoiseScanKernel.NUMBER_OF_NOISES; noise++) {
+        assertThat(nextInts[noise]).isEqualTo(referenceNextInt(seedBase | noise));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void findsNoiseOfRealRandomSequence(NoiseScanKernel kernel) {
+    Random random = new Random();
+    for (int i = 0; i < 20; i++) {
+      int first = random.nextInt();
+      int second = random.nextInt();
+      long seedBase = Integer.toUnsignedLong(first) << 16;
+
+      int[] noises = new int[4];
+      int count = kernel.findMatchingNoises(seedBase, second, noises);
+
+      assertThat(count).isPositive();
+      for (int j = 0; j < Math.min(count, noises.length); j++) {
+        assertThat(referenceNextInt(seedBase | noises[j])).isEqualTo(second);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void findsSameNoisesAsReferenceImplementation(NoiseScanKernel kernel) {
+    long seedBase = Integer.toUnsignedLong(1_568_757_050) << 16;
+    int[] noises = new int[4];
+    int count = kernel.findMatchingNoises(seedBase, 1_047_012_071, noises);
+
+    int expectedCount = 0;
+    for (int noise = 0; noise < NoiseScanKernel.NUMBER_OF_NOISES; noise++) {
+      if (referenceNextInt(seedBase | noise) == 1_047_012_071) {
+        assertThat(noises[expectedCount]).isEqualTo(noise);
+        expectedCount++;
+      }
+    }
+    assertThat(count).isEqualTo(expectedCount);
+  }
+
+  @ParameterizedTest
+  @MethodSource("kernels")
+  void countsMatchesBeyondArrayLength(NoiseScanKernel kernel) {
+    long seedBase = Integer.toUnsignedLong(1_568_757_050) << 16;
+    assertThat(kernel.findMatchingNoises(seedBase, 1_047_012_071, new int[0])).isEqualTo(1);
+    assertThat(kernel.findMatchingNoises(seedBase, 1, new int[0])).isZero();
+  }
+
+  private static int referenceNextInt(long seed) {
+    return (int) (((seed * multiplier + addend) & mask) >>> 16);
+  }
+}
@@ -0,0 +1,136 @@
+package eu.happycoders.random.lcg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SuccessorLookupTableTest {
+
+  private static final SuccessorLookupTable TABLE = SuccessorLookupTable.build();
+
+  @Test
+  void findsSameNoisesAsScanForMatchingNumbers() {
+    Random random = new Random(42);
+    NoiseScanKernel scalar = NoiseScanKernels.scalar();
+
+    for (int i = 0; i < 1_000; i++) {
+      long seed = random.nextLong() & LcgKernel.mask;
+      long seedBase = seed & ~0xFFFFL;
+      int nextInt = LcgKernel.intFromSeed(LcgKernel.nextSeed(seed));
+
+      assertSameNoises(scalar, seedBase, nextInt);
+    }
+  }
+
+  @Test
+  void findsSameNoisesAsScanForArbitraryNumbers() {
+    Random random = new Random(4711);
+    NoiseScanKernel scalar = NoiseScanKernels.scalar();
+
+    for (int i = 0; i < 200; i++) {
+      assertSameNoises(scalar, Integer.toUnsignedLong(random.nextInt()) << 16, random.nextInt());
+    }
+  }
+
+  @Test
+  void findsNoisesAtEdgesOfSeedRange() {
+    NoiseScanKernel scalar = NoiseScanKernels.scalar();
+    for (long seed : new long[] {0, 0xFFFF, 0xFFFF_FFFF_FFFFL, 0xFFFF_FFFF_0000L}) {
+      long seedBase = seed & ~0xFFFFL;
+      assertSameNoises(scalar, seedBase, LcgKernel.intFromSeed(LcgKernel.nextSeed(seed)));
+    }
+  }
+
+  @Test
+  void keepsSmallestMatchesInAscendingOrder() {
+    int[] noises = new int[2];
+    int written = 0;
+    for (int noise : new int[] {500, 300, 700, 100}) {
+      SuccessorLookupTable.insertInOrder(noises, written, noise);
+      written = Math.min(written + 1, noises.length);
+    }
+    assertThat(noises).containsExactly(100, 300);
+
+    int[] none = new int[0];
+    SuccessorLookupTable.insertInOrder(none, 0, 42);
+    assertThat(none).isEmpty();
+  }
+
+  @Test
+  void generatesSameNextIntsAsScan() {
+    int[] expected = new int[NoiseScanKernel.NUMBER_OF_NOISES];
+    int[] actual = new int[NoiseScanKernel.NUMBER_OF_NOISES];
+
+    NoiseScanKernels.scalar().nextInts(0x1234_5678_0000L, expected);
+    TABLE.nextInts(0x1234_5678_0000L, actual);
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  void writesAndMapsTable(@TempDir Path tempDir) {
+    Path file = tempDir.resolve("table.bin");
+
+    SuccessorLookupTable created = SuccessorLookupTable.loadOrBuild(file);
+    SuccessorLookupTable loaded = SuccessorLookupTable.loadOrBuild(file);
+
+    assertThat(file).hasSize(TABLE.sizeInBytes());
+    assertThat(created.isMapped()).isTrue();
+    assertThat(loaded.isMapped()).isTrue();
+    assertThat(TABLE.isMapped()).isFalse();
+
+    Random random = new Random(0);
+    for (int i = 0; i < 1_000; i++) {
+      long seedBase = Integer.toUnsignedLong(random.nextInt()) << 16;
+      int nextInt = random.nextInt();
+      int[] expected = new int[4];
+      int[] actual = new int[4];
+      assertThat(loaded.findMatchingNoises(seedBase, nextInt, actual))
+          .isEqualTo(TABLE.findMatchingNoises(seedBase, nextInt, expected));
+      assertThat(actual).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void rebuildsInvalidFiles(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("other.bin");
+
+    // Wrong magic
+    Files.write(file, new byte[TABLE.sizeInBytes()]);
+    assertThat(SuccessorLookupTable.loadOrBuild(file).isMapped()).isTrue();
+    assertThat(SuccessorLookupTable.loadOrBuild(file).findMatchingNoises(0, 0, new int[4]))
+        .isEqualTo(TABLE.findMatchingNoises(0, 0, new int[4]));
+
+    // Truncated, e.g., by a crash of an older version while writing
+    Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 1_000));
+    assertThat(SuccessorLookupTable.loadOrBuild(file).isMapped()).isTrue();
+    assertThat(file).hasSize(TABLE.sizeInBytes());
+  }
+
+  @Test
+  void leavesNoTemporaryFiles(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("table.bin");
+    TABLE.writeTo(file);
+    TABLE.writeTo(file);
+
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertThat(files).containsExactly(file);
+    }
+  }
+
+  private static void assertSameNoises(NoiseScanKernel scalar, long seedBase, int nextInt) {
+    int[] expected = new int[4];
+    int[] actual = new int[4];
+    int expectedCount = scalar.findMatchingNoises(seedBase, nextInt, expected);
+
+    assertThat(TABLE.findMatchingNoises(seedBase, nextInt, actual)).isEqualTo(expectedCount);
+    assertThat(actual).isEqualTo(expected);
+  }
+}
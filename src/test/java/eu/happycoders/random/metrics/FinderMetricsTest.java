@@ -0,0 +1,124 @@
+package eu.happycoders.random.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FinderMetricsTest {
+
+  @Test
+  void recordersAddToSharedCountersOnlyWhenFlushed() throws Exception {
+    FinderMetrics metrics = new FinderMetrics("test", 1_000, 100, 3);
+
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              () -> {
+                FinderMetrics.Recorder recorder = metrics.newRecorder();
+                recorder.numbersGenerated(50);
+                recorder.candidateStarted();
+                recorder.candidateStarted();
+                recorder.candidateDropped();
+                recorder.match(1);
+                recorder.match(3);
+                assertThat(metrics.getCandidatesStarted()).isLessThanOrEqualTo(2L * threads.length);
+                recorder.flush();
+                recorder.flush(); // no effect, the recorder has been reset
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(metrics.getNumbersGenerated()).isEqualTo(300);
+    assertThat(metrics.getCandidatesStarted()).isEqualTo(8);
+    assertThat(metrics.getCandidatesDropped()).isEqualTo(4);
+    assertThat(metrics.getMatchesByLength()).containsExactly(0, 4, 0, 4);
+    assertThat(metrics.getCompletionRatio()).isEqualTo(0.3);
+  }
+
+  @Test
+  void completionIsUnknownWithoutTotal() {
+    FinderMetrics metrics = new FinderMetrics("test", 0, 0, 1);
+
+    assertThat(metrics.getCompletionRatio()).isNaN();
+    assertThat(metrics.getEstimatedRemainingSeconds()).isNaN();
+    assertThat(metrics.toJson()).contains("\"completionRatio\":null");
+  }
+
+  @Test
+  void jsonContainsCounters() {
+    FinderMetrics metrics = new FinderMetrics("a \"quoted\" name", 0, 0, 2);
+    metrics.addNumbersGenerated(12_345);
+    metrics.addMatches(2, 7);
+
+    assertThat(metrics.toJson())
+        .startsWith("{\"name\":\"a \\\"quoted\\\" name\",")
+        .contains("\"numbersGenerated\":12345")
+        .contains("\"matchesByLength\":[0,0,7]")
+        .endsWith("}")
+        .doesNotContain("\n");
+  }
+
+  @Test
+  void mbeanExposesCounters() throws Exception {
+    FinderMetrics metrics = new FinderMetrics("mbean-test", 0, 0, 1);
+    metrics.addCandidatesStarted(42);
+    metrics.registerMBean();
+    new FinderMetrics("mbean-test", 0, 0, 1).registerMBean(); // replaces the first one
+    metrics.registerMBean();
+
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name =
+          new ObjectName("eu.happycoders.random:type=FinderMetrics,name=\"mbean-test\"");
+      assertThat(server.getAttribute(name, "CandidatesStarted")).isEqualTo(42L);
+      assertThat(server.getAttribute(name, "MatchesByLength")).isEqualTo(new long[] {0, 0});
+    } finally {
+      metrics.unregisterMBean();
+    }
+  }
+
+  @Test
+  void emitterWritesJsonLines() throws Exception {
+    FinderMetrics metrics = new FinderMetrics("emitter-test", 0, 0, 1);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+
+    try (MetricsEmitter emitter = MetricsEmitter.start(metrics, out, 10)) {
+      metrics.addNumbersGenerated(1);
+      Thread.sleep(50);
+    }
+
+    String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSizeGreaterThanOrEqualTo(2);
+    assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+    assertThat(lines[lines.length - 1]).contains("\"numbersGenerated\":1");
+  }
+
+  @Test
+  void emitterRejectsInvalidIntervalBeforeOpeningFile(@TempDir Path dir) {
+    Path file = dir.resolve("metrics.jsonl");
+    System.setProperty(MetricsEmitter.FILE_PROPERTY, file.toString());
+    System.setProperty(MetricsEmitter.INTERVAL_PROPERTY, "0");
+    try {
+      assertThatExceptionOfType(IllegalArgumentException.class)
+          .isThrownBy(() -> MetricsEmitter.startIfConfigured(new FinderMetrics("test", 0, 0, 1)));
+      assertThat(file).doesNotExist();
+    } finally {
+      System.clearProperty(MetricsEmitter.FILE_PROPERTY);
+      System.clearProperty(MetricsEmitter.INTERVAL_PROPERTY);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package eu.happycoders.random.period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CycleDetectorTest {
+
+  @Test
+  void truncatedRandomLcgHasFullPeriod() {
+    Cycle cycle = CycleDetector.brent(123, StateTransitions.truncatedJavaUtilRandom(18), 1L << 20);
+
+    assertThat(cycle).isEqualTo(new Cycle(0, 1 << 18));
+  }
+
+  @Test
+  void xorshiftWithMaximalShiftsHasPeriodTwoToTheBitsMinusOne() {
+    Cycle cycle = CycleDetector.brent(1, StateTransitions.xorshift(16, 7, 9, 8), 1L << 20);
+
+    assertThat(cycle).isEqualTo(new Cycle(0, (1 << 16) - 1));
+  }
+
+  @Test
+  void lcgWithEvenMultiplierEndsInFixedPoint() {
+    // s' = 2s mod 2^10 reaches 0 after at most 10 steps and stays there
+    Cycle cycle = CycleDetector.brent(3, StateTransitions.lcg(2, 0, 10), 100);
+
+    assertThat(cycle).isEqualTo(new Cycle(10, 1));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 42, 4711, 65_535})
+  void findsSameCycleAsNaiveDetection(long start) {
+    LongUnaryOperator function = StateTransitions.javaUtilRandomSeedToFirstInt();
+
+    assertThat(CycleDetector.brent(start, function, 1L << 24))
+        .isEqualTo(naiveCycle(start, function));
+  }
+
+  @Test
+  void findsCycleOfGeneratorOutputs() {
+    // A generator that outputs its complete 12-bit LCG state
+    LongUnaryOperator transition = StateTransitions.lcg(5, 3, 12);
+    Cycle cycle =
+        CycleDetector.brentOnOutputs(
+            () ->
+                new RandomGenerator() {
+                  private long state = 7;
+
+                  @Override
+                  public long nextLong() {
+                    state = transition.applyAsLong(state);
+                    return state;
+                  }
+                },
+            1L << 16);
+
+    assertThat(cycle).isEqualTo(new Cycle(0, 1 << 12));
+  }
+
+  @Test
+  void throwsIfNoCycleWithinMaxSteps() {
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () -> CycleDetector.brent(0, StateTransitions.truncatedJavaUtilRandom(20), 1_000));
+  }
+
+  private static Cycle naiveCycle(long start, LongUnaryOperator function) {
+    Map<Long, Long> positions = new HashMap<>();
+    long value = start;
+    for (long position = 0; ; position++) {
+      Long previousPosition = positions.putIfAbsent(value, position);
+      if (previousPosition != null) {
+        return new Cycle(previousPosition, position - previousPosition);
+      }
+      value = function.applyAsLong(value);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package eu.happycoders.random.period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.period.DistinguishedPointSearch.Collision;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongUnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class DistinguishedPointSearchTest {
+
+  @Test
+  void findsSeedsWithSameFirstNumber() {
+    LongUnaryOperator function = StateTransitions.javaUtilRandomSeedToFirstInt();
+
+    List<Collision> collisions =
+        new DistinguishedPointSearch(function, 32, 8, 4, 1 << 16).findCollisions(5, 1);
+
+    assertThat(collisions).hasSizeGreaterThanOrEqualTo(5);
+    for (Collision collision : collisions) {
+      assertThat(collision.first()).isNotEqualTo(collision.second());
+      assertThat(new Random(collision.first()).nextInt())
+          .isEqualTo(new Random(collision.second()).nextInt())
+          .isEqualTo((int) collision.image());
+    }
+  }
+
+  @Test
+  void stopsWhenTableIsFull() {
+    // A bijective function has no collisions
+    DistinguishedPointSearch search =
+        new DistinguishedPointSearch(StateTransitions.truncatedJavaUtilRandom(32), 32, 4, 2, 100);
+
+    assertThat(search.findCollisions(1, 1)).isEmpty();
+    assertThat(search.numberOfDistinguishedPoints()).isEqualTo(100);
+  }
+
+  @Test
+  void offHeapTableRejectsSizesThatDoNotFitIntoByteBuffer() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new OffHeapPointTable(OffHeapPointTable.MAX_SIZE + 1));
+  }
+
+  @Test
+  void offHeapTableReturnsExistingEntry() {
+    OffHeapPointTable table = new OffHeapPointTable(4);
+
+    assertThat(table.putIfAbsent(0x100, 7, 99)).isEqualTo(OffHeapPointTable.ADDED);
+    assertThat(table.putIfAbsent(0x200, 8, 0)).isEqualTo(OffHeapPointTable.ADDED);
+
+    int slot = table.putIfAbsent(0x100, 9, 1);
+    assertThat(slot).isNotNegative();
+    assertThat(table.startAt(slot)).isEqualTo(7);
+    assertThat(table.lengthAt(slot)).isEqualTo(99);
+    assertThat(table.size()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,168 @@
+package eu.happycoders.random.predictor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class AlgebraicSeedRecoveryTest {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  @Test
+  void findsSameSeedsAsBruteForce() {
+    Random random = new Random(42);
+    for (int i = 0; i < 200; i++) {
+      int first = random.nextInt();
+      int second = random.nextInt();
+
+      assertThat(AlgebraicSeedRecovery.seedsFromInts(first, second))
+          .containsExactly(bruteForce(first, second));
+    }
+  }
+
+  @Test
+  void findsNoSeedForImpossibleSequence() {
+    assertThat(AlgebraicSeedRecovery.seedsFromInts(1, 2)).isEmpty();
+  }
+
+  @Test
+  void recoversStateFromInts() {
+    long state = stateAfterFirstCall(4711);
+    Random random = new Random(4711);
+
+    long[] seeds = AlgebraicSeedRecovery.seedsFromInts(random.nextInt(), random.nextInt());
+
+    assertThat(seeds).contains(state);
+  }
+
+  @Test
+  void additionalIntsFilterCandidates() {
+    Random random = new Random(4711);
+    int[] values = {random.nextInt(), random.nextInt(), random.nextInt()};
+
+    assertThat(AlgebraicSeedRecovery.seedsFromInts(values))
+        .containsExactly(stateAfterFirstCall(4711));
+  }
+
+  @Test
+  void recoversStateFromLong() {
+    for (long seed = 0; seed < 100; seed++) {
+      long value = new Random(seed).nextLong();
+
+      long[] seeds = AlgebraicSeedRecovery.seedsFromLong(value);
+
+      assertThat(seeds).contains(stateAfterFirstCall(seed));
+      for (long state : seeds) {
+        Random random = AlgebraicSeedRecovery.randomWithState(state);
+        assertThat((((long) (int) (state >>> 16)) << 32) + random.nextInt()).isEqualTo(value);
+      }
+    }
+  }
+
+  @Test
+  void recoversStatesWhoseUnknownBitsAreZero() {
+    // The window of the second output wraps past 2^48 for these states
+    Random random = new Random(4711);
+    for (int i = 0; i < 200; i++) {
+      long state = random.nextLong() & mask & ~0xFFFFL;
+      int first = (int) (state >>> 16);
+      long next = (state * multiplier + addend) & mask;
+      int second = (int) (next >>> 16);
+
+      assertThat(AlgebraicSeedRecovery.seedsFromInts(first, second))
+          .contains(state)
+          .containsExactly(bruteForce(first, second));
+      assertThat(AlgebraicSeedRecovery.seedsFromLong(((long) first << 32) + second))
+          .contains(state);
+    }
+  }
+
+  @Test
+  void recoversStateWithZeroUnknownBitsFromPowerOfTwoBoundedInts() {
+    int bound = 1 << 20;
+    long state = 0x1234_5000_0000L;
+    long next = (state * multiplier + addend) & mask;
+    long third = (next * multiplier + addend) & mask;
+    int[] values = {
+      AlgebraicSeedRecovery.boundedIntFromSeed(state, bound),
+      AlgebraicSeedRecovery.boundedIntFromSeed(next, bound),
+      AlgebraicSeedRecovery.boundedIntFromSeed(third, bound)
+    };
+
+    assertThat(AlgebraicSeedRecovery.seedsFromBoundedInts(bound, values)).contains(state);
+  }
+
+  @Test
+  void recoversStateFromPowerOfTwoBoundedInts() {
+    int bound = 1 << 20;
+    Random random = new Random(123);
+    int[] values = new int[4];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(bound);
+    }
+
+    long[] seeds = AlgebraicSeedRecovery.seedsFromBoundedInts(bound, values);
+
+    assertThat(seeds).containsExactly(stateAfterFirstCall(123));
+  }
+
+  @Test
+  void recoversStateFromBoundedInts() {
+    int bound = 3_000_017;
+    Random random = new Random(987_654_321);
+    int[] values = new int[4];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(bound);
+    }
+
+    long[] seeds = AlgebraicSeedRecovery.seedsFromBoundedInts(bound, values);
+
+    assertThat(seeds).containsExactly(stateAfterFirstCall(987_654_321));
+  }
+
+  @Test
+  void continuesSequenceFromRecoveredState() {
+    Random random = new Random(2024);
+    long[] seeds = AlgebraicSeedRecovery.seedsFromInts(random.nextInt(), random.nextInt());
+    assertThat(seeds).hasSize(1);
+
+    Random predictor = AlgebraicSeedRecovery.randomWithState(seeds[0]);
+    predictor.nextInt();
+    for (int i = 0; i < 10; i++) {
+      assertThat(predictor.nextInt()).isEqualTo(random.nextInt());
+    }
+  }
+
+  @Test
+  void throwsWhenBoundIsTooSmall() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> AlgebraicSeedRecovery.seedsFromBoundedInts(100, 1, 2, 3));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> AlgebraicSeedRecovery.seedsFromBoundedInts(16, 1, 2, 3));
+  }
+
+  @Test
+  void throwsWhenBoundedValueIsOutOfRange() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> AlgebraicSeedRecovery.seedsFromBoundedInts(1 << 20, 1, 1 << 20));
+  }
+
+  private static long stateAfterFirstCall(long seed) {
+    long initialState = (seed ^ multiplier) & mask;
+    return (initialState * multiplier + addend) & mask;
+  }
+
+  private static long[] bruteForce(int first, int second) {
+    long seedBase = Integer.toUnsignedLong(first) << 16;
+    return LongStream.range(0, 1 << 16)
+        .map(noise -> seedBase | noise)
+        .filter(seed -> (int) (((seed * multiplier + addend) & mask) >>> 16) == second)
+        .toArray();
+  }
+}
@@ -0,0 +1,96 @@
+package eu.happycoders.random.predictor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.predictor.BoundedIntSeedSearch.Result;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BoundedIntSeedSearchTest {
+
+  private static final long FIRST_SEED = -50_000;
+  private static final long NUMBER_OF_SEEDS = 300_000;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 7, 16, 100, 1 << 30, 1_500_000_000})
+  void findsSameSeedsAsNaiveSearch(int bound) {
+    int[] values = valuesOf(4711, bound, 2);
+
+    Result result = new BoundedIntSeedSearch(bound, values).search(FIRST_SEED, NUMBER_OF_SEEDS, 2);
+
+    long[] expected =
+        LongStream.range(FIRST_SEED, FIRST_SEED + NUMBER_OF_SEEDS)
+            .filter(seed -> generates(seed, bound, values))
+            .toArray();
+    assertThat(result.seeds()).isEqualTo(expected);
+    if (!result.stoppedEarly()) {
+      assertThat(result.seedsSearched()).isEqualTo(NUMBER_OF_SEEDS);
+    }
+  }
+
+  @Test
+  void findsSetSeedExampleSeedAndStopsEarly() {
+    int[] values = valuesOf(42, 100, 12);
+
+    Result result = new BoundedIntSeedSearch(100, values).search(0, 1L << 24, 1);
+
+    assertThat(result.seeds()).containsExactly(42L);
+    assertThat(result.stoppedEarly()).isTrue();
+    assertThat(result.seedsSearched()).isLessThan(1L << 24);
+    assertThat(result.seedsPerSecond()).isPositive();
+  }
+
+  @Test
+  void findsNoSeedOutsideRange() {
+    int[] values = valuesOf(42, 100, 12);
+
+    Result result = new BoundedIntSeedSearch(100, values).search(43, 100_000, 1);
+
+    assertThat(result.seeds()).isEmpty();
+    assertThat(result.seedsSearched()).isEqualTo(100_000);
+  }
+
+  @Test
+  void isMatchUniqueOnlyWithEnoughInformation() {
+    BoundedIntSeedSearch search = new BoundedIntSeedSearch(100, valuesOf(42, 100, 10));
+
+    // 10 * log2(100) = 66.4 bits
+    assertThat(search.isMatchUniqueIn(1L << 32)).isTrue();
+    assertThat(search.isMatchUniqueIn(1L << 62)).isFalse();
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BoundedIntSeedSearch(0, 0, 0));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BoundedIntSeedSearch(100, 1));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BoundedIntSeedSearch(100, 1, 100));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BoundedIntSeedSearch(100, 1, 2).search(0, 0, 1));
+  }
+
+  private static int[] valuesOf(long seed, int bound, int count) {
+    Random random = new Random(seed);
+    int[] values = new int[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = random.nextInt(bound);
+    }
+    return values;
+  }
+
+  private static boolean generates(long seed, int bound, int[] values) {
+    Random random = new Random(seed);
+    for (int value : values) {
+      if (random.nextInt(bound) != value) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,163 @@
+package eu.happycoders.random.predictor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.predictor.Observation.NextBoolean;
+import eu.happycoders.random.predictor.Observation.NextBoundedInt;
+import eu.happycoders.random.predictor.Observation.NextDouble;
+import eu.happycoders.random.predictor.Observation.NextFloat;
+import eu.happycoders.random.predictor.Observation.NextInt;
+import eu.happycoders.random.predictor.Observation.NextLong;
+import eu.happycoders.random.predictor.Observation.Skip;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ObservationSolverTest {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long addend = LcgKernel.addend;
+  private static final long mask = LcgKernel.mask;
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 42, 4711, -8_000_000_000L})
+  void recoversStateFromTwoInts(long seed) {
+    Random random = new Random(seed);
+
+    ObservationSolver solver =
+        new ObservationSolver().add(new NextInt(random.nextInt()), new NextInt(random.nextInt()));
+
+    assertThat(solver.candidates()).contains(stateAfterFirstCall(seed));
+  }
+
+  // 108_124_806_433_988: the state after the first call is 0x13579BDF0000, whose lower 16 bits
+  // (unknown to the solver) are zero
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 42, 4711, -8_000_000_000L, 108_124_806_433_988L})
+  void recoversStateFromLong(long seed) {
+    Random random = new Random(seed);
+
+    ObservationSolver solver = new ObservationSolver().add(new NextLong(random.nextLong()));
+
+    assertThat(solver.candidates()).contains(stateAfterFirstCall(seed));
+    assertContinuesLike(random, solver);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 42, 4711, -8_000_000_000L})
+  void recoversStateFromDoubles(long seed) {
+    Random random = new Random(seed);
+
+    ObservationSolver solver =
+        new ObservationSolver()
+            .add(new NextDouble(random.nextDouble()), new NextDouble(random.nextDouble()));
+
+    assertThat(solver.state()).isEqualTo(stateAfterFirstCall(seed));
+    assertContinuesLike(random, solver);
+  }
+
+  @Test
+  void recoversStateFromFloats() {
+    Random random = new Random(12345);
+
+    ObservationSolver solver = new ObservationSolver();
+    for (int i = 0; i < 3; i++) {
+      solver.add(new NextFloat(random.nextFloat()));
+    }
+
+    assertThat(solver.state()).isEqualTo(stateAfterFirstCall(12345));
+    assertContinuesLike(random, solver);
+  }
+
+  @Test
+  void combinesIntWithBooleansAndBoundedInts() {
+    Random random = new Random(777);
+    ObservationSolver solver = new ObservationSolver();
+
+    solver.add(new NextInt(random.nextInt()));
+    assertThat(solver.candidates()).hasSize(1 << 16); // brute-force candidates of the first int
+
+    for (int i = 0; i < 8; i++) {
+      solver.add(
+          new NextBoolean(random.nextBoolean()), new NextBoundedInt(100, random.nextInt(100)));
+    }
+
+    assertThat(solver.state()).isEqualTo(stateAfterFirstCall(777));
+    assertContinuesLike(random, solver);
+  }
+
+  @Test
+  void searchesAlgebraicallyOverConsecutivePowerOfTwoBoundedInts() {
+    Random random = new Random(31337);
+    ObservationSolver solver = new ObservationSolver();
+
+    // A single nextInt(65536) leaves 2^32 states, too many for an immediate search
+    solver.add(new NextBoundedInt(1 << 16, random.nextInt(1 << 16)));
+    solver.add(new NextBoundedInt(1 << 16, random.nextInt(1 << 16)));
+    solver.add(new NextBoundedInt(1 << 16, random.nextInt(1 << 16)));
+    solver.add(new NextBoundedInt(1 << 16, random.nextInt(1 << 16)));
+
+    assertThat(solver.state()).isEqualTo(stateAfterFirstCall(31337));
+    assertContinuesLike(random, solver);
+  }
+
+  @Test
+  void skipsUnobservedDraws() {
+    Random random = new Random(2024);
+    ObservationSolver solver = new ObservationSolver();
+
+    solver.add(new NextInt(random.nextInt()));
+    random.nextLong();
+    random.nextBoolean();
+    solver.add(new Skip(3));
+    solver.add(new NextInt(random.nextInt()));
+    random.nextDouble();
+    solver.add(new Skip(2), new NextInt(random.nextInt()));
+
+    assertThat(solver.state()).isEqualTo(stateAfterFirstCall(2024));
+    assertContinuesLike(random, solver);
+  }
+
+  @Test
+  void reportsMissingInformation() {
+    Random random = new Random(1);
+    ObservationSolver solver = new ObservationSolver();
+    for (int i = 0; i < 100; i++) {
+      solver.add(new NextBoolean(random.nextBoolean()));
+    }
+
+    assertThat(solver.isDetermined()).isFalse();
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(solver::candidates);
+  }
+
+  @Test
+  void reportsContradictingObservations() {
+    ObservationSolver solver = new ObservationSolver().add(new NextInt(1), new NextInt(2));
+
+    assertThat(solver.candidates()).isEmpty();
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(solver::state);
+  }
+
+  @Test
+  void rejectsImpossibleOutputs() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new NextDouble(0.1 + 1e-17 * Math.PI));
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new NextDouble(1.0));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new NextBoundedInt(10, 10));
+  }
+
+  private static long stateAfterFirstCall(long seed) {
+    return (((seed ^ multiplier) & mask) * multiplier + addend) & mask;
+  }
+
+  private static void assertContinuesLike(Random expected, ObservationSolver solver) {
+    Random actual = solver.randomAfterObservations();
+    for (int i = 0; i < 10; i++) {
+      assertThat(actual.nextInt()).isEqualTo(expected.nextInt());
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package eu.happycoders.random.predictor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.happycoders.random.predictor.RandomIntegerBatchPredictor.Result;
+import eu.happycoders.random.predictor.RandomIntegerPredictor.SeedRecovery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class RandomIntegerBatchPredictorTest {
+
+  @Test
+  void predictsAllSequencesInInputOrder() {
+    Random random = new Random(42);
+    List<int[]> sequences = new ArrayList<>();
+    List<int[]> expectedPredictions = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      sequences.add(new int[] {random.nextInt(), random.nextInt(), random.nextInt()});
+      expectedPredictions.add(new int[] {random.nextInt(), random.nextInt()});
+    }
+
+    List<Result> results;
+    try (RandomIntegerBatchPredictor predictor =
+        new RandomIntegerBatchPredictor(3, 2, SeedRecovery.ALGEBRAIC)) {
+      results = predictor.predictAll(sequences);
+    }
+
+    assertThat(results).hasSize(sequences.size());
+    for (int i = 0; i < results.size(); i++) {
+      Result result = results.get(i);
+      assertThat(result.index()).isEqualTo(i);
+      assertThat(result.isSuccess()).isTrue();
+      assertThat(result.givenNumbers()).isEqualTo(sequences.get(i));
+      assertThat(result.predictions()).isEqualTo(expectedPredictions.get(i));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(SeedRecovery.class)
+  void predictsSequencesWhoseFirstStateHasNoNoise(SeedRecovery seedRecovery) {
+    List<int[]> sequences = new ArrayList<>();
+    List<int[]> expectedPredictions = new ArrayList<>();
+    Random states = new Random(4711);
+    for (int i = 0; i < 20; i++) {
+      // Lower 16 bits (the noise) are zero, so the successor window wraps past 2^48
+      long state = states.nextLong() & 0xFFFF_FFFF_0000L;
+      Random random = AlgebraicSeedRecovery.randomWithState(state);
+      sequences.add(new int[] {(int) (state >>> 16), random.nextInt()});
+      expectedPredictions.add(new int[] {random.nextInt(), random.nextInt()});
+    }
+
+    List<Result> results;
+    try (RandomIntegerBatchPredictor predictor =
+        new RandomIntegerBatchPredictor(2, 2, seedRecovery)) {
+      results = predictor.predictAll(sequences);
+    }
+
+    for (int i = 0; i < results.size(); i++) {
+      assertThat(results.get(i).isSuccess()).isTrue();
+      assertThat(results.get(i).predictions()).isEqualTo(expectedPredictions.get(i));
+    }
+  }
+
+  @Test
+  void reportsErrorsPerSequence() {
+    List<String> lines =
+        List.of("1568757050, 1047012071", "1 2", "abc 5", "", "1461184574 -2007849466", "7");
+
+    List<Result> results = new ArrayList<>();
+    try (RandomIntegerBatchPredictor predictor =
+        new RandomIntegerBatchPredictor(2, 1, SeedRecovery.BRUTE_FORCE)) {
+      predictor.predictLines(lines.iterator(), results::add);
+    }
+
+    assertThat(results)
+        .extracting(Result::isSuccess)
+        .containsExactly(true, false, false, false, true, false);
+    assertThat(results.get(0).predictions()).containsExactly(-491_646_049);
+    assertThat(results.get(1).error()).startsWith("Found no matching seed");
+    assertThat(results.get(2).error()).isEqualTo("Not a number: abc");
+    assertThat(results.get(2).givenNumbers()).isNull();
+    assertThat(results.get(3).error()).isEqualTo("Empty line");
+    assertThat(results.get(4).predictions()).containsExactly(-737_247_132);
+    assertThat(results.get(5).error()).isEqualTo("Please specify at least two numbers.");
+  }
+}
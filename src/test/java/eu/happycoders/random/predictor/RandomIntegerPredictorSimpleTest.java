@@ -3,6 +3,8 @@ package eu.happycoders.random.predictor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.lcg.SuccessorLookupTable;
 import org.junit.jupiter.api.Test;
 
 class RandomIntegerPredictorSimpleTest {
@@ -26,6 +28,15 @@ class RandomIntegerPredictorSimpleTest {
             -242_760_411);
   }
 
+  @Test
+  void predictsSequence1WithSuccessorLookupTable() {
+    RandomIntegerPredictorSimple predictor =
+        new RandomIntegerPredictorSimple(
+            SuccessorLookupTable.build(), 1_568_757_050, 1_047_012_071);
+    int[] predict = predictor.predict(3);
+    assertThat(predict).containsExactly(-491_646_049, 670_726_983, -476_980_395);
+  }
+
   @Test
   void predictsSequence2() {
     RandomIntegerPredictorSimple predictor =
@@ -35,6 +46,15 @@ class RandomIntegerPredictorSimpleTest {
         .containsExactly(-737_247_132, 753_421_446, 811_546_579, 1_098_632_800, -498_492_950);
   }
 
+  @Test
+  void predictsSequence2WithScalarKernel() {
+    RandomIntegerPredictorSimple predictor =
+        new RandomIntegerPredictorSimple(NoiseScanKernels.scalar(), 1_461_184_574, -2_007_849_466);
+    int[] predict = predictor.predict(5);
+    assertThat(predict)
+        .containsExactly(-737_247_132, 753_421_446, 811_546_579, 1_098_632_800, -498_492_950);
+  }
+
   @Test
   void throwsWhenNonExistingSequenceIsSpecified() {
     RandomIntegerPredictorSimple predictor = new RandomIntegerPredictorSimple(1, 2);
@@ -3,6 +3,9 @@ package eu.happycoders.random.predictor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.predictor.RandomIntegerPredictor.SeedRecovery;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 class RandomIntegerPredictorTest {
@@ -33,6 +36,65 @@ class RandomIntegerPredictorTest {
         .containsExactly(-737_247_132, 753_421_446, 811_546_579, 1_098_632_800, -498_492_950);
   }
 
+  @Test
+  void predictsSequence2WithScalarKernel() {
+    RandomIntegerPredictor predictor =
+        new RandomIntegerPredictor(NoiseScanKernels.scalar(), 1_461_184_574, -2_007_849_466);
+    int[] predict = predictor.predict(5);
+    assertThat(predict)
+        .containsExactly(-737_247_132, 753_421_446, 811_546_579, 1_098_632_800, -498_492_950);
+  }
+
+  @Test
+  void predictsSequence1WithAlgebraicSeedRecovery() {
+    RandomIntegerPredictor predictor =
+        new RandomIntegerPredictor(SeedRecovery.ALGEBRAIC, 1_568_757_050, 1_047_012_071);
+    int[] predict = predictor.predict(3);
+    assertThat(predict).containsExactly(-491_646_049, 670_726_983, -476_980_395);
+  }
+
+  @Test
+  void algebraicSeedRecoveryPredictsSequenceWhoseFirstStateHasNoNoise() {
+    long state = 0x2468_ACE1_0000L; // lower 16 bits (the noise) are zero
+    Random random = AlgebraicSeedRecovery.randomWithState(state);
+    int first = (int) (state >>> 16);
+    int second = random.nextInt();
+    int[] expected = {random.nextInt(), random.nextInt(), random.nextInt()};
+
+    assertThat(new RandomIntegerPredictor(SeedRecovery.ALGEBRAIC, first, second).predict(3))
+        .containsExactly(expected);
+    assertThat(new RandomIntegerPredictor(first, second).predict(3)).containsExactly(expected);
+  }
+
+  @Test
+  void predictsNthNumber() {
+    RandomIntegerPredictor predictor =
+        new RandomIntegerPredictor(SeedRecovery.ALGEBRAIC, 1_568_757_050, 1_047_012_071);
+    assertThat(predictor.predictNth(1)).isEqualTo(-491_646_049);
+    assertThat(predictor.predictNth(10)).isEqualTo(-242_760_411);
+  }
+
+  @Test
+  void predictsNumberOneMillionCallsAhead() {
+    Random random = new Random(42);
+    int first = random.nextInt();
+    int second = random.nextInt();
+    for (int i = 1; i < 1_000_000; i++) {
+      random.nextInt();
+    }
+    int expected = random.nextInt();
+
+    RandomIntegerPredictor predictor = new RandomIntegerPredictor(first, second);
+    assertThat(predictor.predictNth(1_000_000)).isEqualTo(expected);
+  }
+
+  @Test
+  void throwsWithAlgebraicSeedRecoveryWhenNonExistingSequenceIsSpecified() {
+    RandomIntegerPredictor predictor = new RandomIntegerPredictor(SeedRecovery.ALGEBRAIC, 1, 2);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> predictor.predict(10));
+  }
+
   @Test
   void throwsWhenNonExistingSequenceIsSpecified() {
     RandomIntegerPredictor predictor = new RandomIntegerPredictor(1, 2);
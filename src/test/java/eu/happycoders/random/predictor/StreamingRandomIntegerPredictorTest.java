@@ -0,0 +1,110 @@
+package eu.happycoders.random.predictor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.NoiseScanKernel;
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StreamingRandomIntegerPredictorTest {
+
+  @Test
+  void predictsSequence1AfterTwoNumbers() {
+    StreamingRandomIntegerPredictor predictor = new StreamingRandomIntegerPredictor();
+
+    predictor.accept(1_568_757_050);
+    assertThat(predictor.isDetermined()).isFalse();
+    assertThat(predictor.numberOfCandidates()).isEqualTo(65_536);
+
+    predictor.accept(1_047_012_071);
+    assertThat(predictor.isDetermined()).isTrue();
+    assertThat(predictor.predict(3)).containsExactly(-491_646_049, 670_726_983, -476_980_395);
+    assertThat(predictor.predictNth(10)).isEqualTo(-242_760_411);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 42, 4711, -8_000_000_000L})
+  void keepsPredictingWhileNumbersArrive(long seed) {
+    Random random = new Random(seed);
+    StreamingRandomIntegerPredictor predictor =
+        new StreamingRandomIntegerPredictor(NoiseScanKernels.scalar());
+
+    for (int i = 0; i < 100; i++) {
+      predictor.accept(random.nextInt());
+    }
+
+    assertThat(predictor.numberOfObservations()).isEqualTo(100);
+    assertThat(predictor.isDetermined()).isTrue();
+    int[] predicted = predictor.predict(5);
+    for (int number : predicted) {
+      assertThat(number).isEqualTo(random.nextInt());
+    }
+  }
+
+  @Test
+  void narrowsDownAmbiguousCandidates() {
+    // Two numbers practically never match two seeds, so the kernel adds a wrong candidate
+    NoiseScanKernel scalar = NoiseScanKernels.scalar();
+    NoiseScanKernel ambiguousKernel =
+        new NoiseScanKernel() {
+          @Override
+          public int findMatchingNoises(long seedBase, int nextInt, int[] noises) {
+            int count = scalar.findMatchingNoises(seedBase, nextInt, noises);
+            noises[count] = noises[0] ^ 1;
+            return count + 1;
+          }
+
+          @Override
+          public void nextInts(long seedBase, int[] nextInts) {
+            scalar.nextInts(seedBase, nextInts);
+          }
+        };
+    Random random = new Random(42);
+
+    StreamingRandomIntegerPredictor predictor =
+        new StreamingRandomIntegerPredictor(ambiguousKernel);
+    predictor.accept(random.nextInt());
+    predictor.accept(random.nextInt());
+
+    assertThat(predictor.numberOfCandidates()).isEqualTo(2);
+    assertThat(predictor.isDetermined()).isFalse();
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> predictor.predict(1));
+
+    predictor.accept(random.nextInt());
+
+    assertThat(predictor.isDetermined()).isTrue();
+    int[] predicted = predictor.predict(5);
+    for (int number : predicted) {
+      assertThat(number).isEqualTo(random.nextInt());
+    }
+  }
+
+  @Test
+  void throwsAndKeepsCandidatesWhenNumberDoesNotMatch() {
+    Random random = new Random(42);
+    StreamingRandomIntegerPredictor predictor = new StreamingRandomIntegerPredictor();
+    predictor.accept(random.nextInt());
+    predictor.accept(random.nextInt());
+    int next = random.nextInt();
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> predictor.accept(next + 1));
+
+    assertThat(predictor.isDetermined()).isTrue();
+    predictor.accept(next);
+    assertThat(predictor.predict(1)).containsExactly(random.nextInt());
+  }
+
+  @Test
+  void throwsWhenNonExistingSequenceIsSpecified() {
+    StreamingRandomIntegerPredictor predictor = new StreamingRandomIntegerPredictor();
+    predictor.accept(1);
+
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> predictor.accept(2));
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(predictor::candidates);
+  }
+}
@@ -0,0 +1,67 @@
+package eu.happycoders.random.quality;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class QualityBatteryTest {
+
+  @Test
+  void runsAllTestsWithOwnGenerators() {
+    AtomicLong seeds = new AtomicLong();
+
+    QualityBattery.Report report =
+        QualityBattery.standard()
+            .run(() -> new SplittableRandom(seeds.incrementAndGet()), 1 << 18, 4);
+
+    assertThat(report.results())
+        .extracting(TestResult::testName)
+        .containsExactly(
+            "Frequency (monobit)",
+            "Runs",
+            "Chi-square buckets",
+            "Serial correlation",
+            "Birthday spacings",
+            "Gap");
+    assertThat(report.results()).allSatisfy(r -> assertThat(r.samples()).isEqualTo(1 << 18));
+    assertThat(seeds.get()).isEqualTo(6);
+    assertThat(report.bytesConsumed()).isEqualTo(6L * 8 * (1 << 18));
+    assertThat(report.gigabytesPerSecond()).isPositive();
+    assertThat(report.passed(1e-4)).isTrue();
+  }
+
+  @Test
+  void reportsAreReproducibleWithSeededSupplier() {
+    // Not thread-safe on purpose: the generators must be created on the calling thread
+    long[] seed = new long[1];
+    QualityBattery.Report first =
+        QualityBattery.standard().run(() -> new SplittableRandom(seed[0]++), 10_000, 4);
+    seed[0] = 0;
+    QualityBattery.Report second =
+        QualityBattery.standard().run(() -> new SplittableRandom(seed[0]++), 10_000, 4);
+
+    assertThat(second.results()).isEqualTo(first.results());
+  }
+
+  @Test
+  void detectsConstantGenerator() {
+    QualityBattery.Report report =
+        new QualityBattery(List.of(FrequencyTest::new, ChiSquareBucketTest::new))
+            .run(() -> () -> 42L, 10_000, 2);
+
+    assertThat(report.passed(1e-4)).isFalse();
+    assertThat(report.results()).noneMatch(result -> result.passed(1e-4));
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new QualityBattery(List.of()));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> QualityBattery.standard().run(SplittableRandom::new, 0, 1));
+  }
+}
@@ -0,0 +1,43 @@
+package eu.happycoders.random.quality;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class SpecialFunctionsTest {
+
+  @Test
+  void calculatesErfc() {
+    assertThat(SpecialFunctions.erfc(0)).isEqualTo(1.0);
+    assertThat(SpecialFunctions.erfc(0.5)).isCloseTo(0.4795001221869535, within(1e-14));
+    assertThat(SpecialFunctions.erfc(1)).isCloseTo(0.15729920705028513, within(1e-14));
+    assertThat(SpecialFunctions.erfc(3)).isCloseTo(2.209049699858544e-5, within(1e-17));
+    assertThat(SpecialFunctions.erfc(-1)).isCloseTo(1.8427007929497148, within(1e-14));
+  }
+
+  @Test
+  void calculatesNormalPValue() {
+    assertThat(SpecialFunctions.normalPValue(1.959963984540054)).isCloseTo(0.05, within(1e-12));
+    assertThat(SpecialFunctions.normalPValue(-2.5758293035489)).isCloseTo(0.01, within(1e-12));
+  }
+
+  @Test
+  void calculatesChiSquarePValue() {
+    // Critical values from chi-square tables
+    assertThat(SpecialFunctions.chiSquarePValue(3.841458820694124, 1))
+        .isCloseTo(0.05, within(1e-12));
+    assertThat(SpecialFunctions.chiSquarePValue(18.307038053275146, 10))
+        .isCloseTo(0.05, within(1e-12));
+    assertThat(SpecialFunctions.chiSquarePValue(1023, 1023)).isCloseTo(0.4941, within(1e-3));
+    assertThat(SpecialFunctions.chiSquarePValue(0, 5)).isEqualTo(1.0);
+  }
+
+  @Test
+  void calculatesLnGamma() {
+    assertThat(SpecialFunctions.lnGamma(1)).isCloseTo(0, within(1e-14));
+    assertThat(SpecialFunctions.lnGamma(0.5))
+        .isCloseTo(Math.log(Math.sqrt(Math.PI)), within(1e-14));
+    assertThat(SpecialFunctions.lnGamma(11)).isCloseTo(Math.log(3_628_800), within(1e-12));
+  }
+}
@@ -0,0 +1,73 @@
+package eu.happycoders.random.quality;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class StreamingTestTest {
+
+  private static final int SAMPLES = 1 << 20;
+  private static final double ALPHA = 1e-4;
+
+  static Stream<Supplier<StreamingTest>> tests() {
+    return Stream.of(
+        FrequencyTest::new,
+        RunsTest::new,
+        ChiSquareBucketTest::new,
+        SerialCorrelationTest::new,
+        BirthdaySpacingsTest::new,
+        GapTest::new);
+  }
+
+  @ParameterizedTest
+  @MethodSource("tests")
+  void goodGeneratorPasses(Supplier<StreamingTest> testSupplier) {
+    SplittableRandom random = new SplittableRandom(42);
+
+    TestResult result = run(testSupplier.get(), random::nextLong, 1000);
+
+    assertThat(result.samples()).isEqualTo(SAMPLES);
+    assertThat(result.passed(ALPHA)).as(result.toString()).isTrue();
+  }
+
+  @ParameterizedTest
+  @MethodSource("tests")
+  void resultDoesNotDependOnBlockSize(Supplier<StreamingTest> testSupplier) {
+    TestResult inSmallBlocks = run(testSupplier.get(), new SplittableRandom(7)::nextLong, 3);
+    TestResult inLargeBlocks = run(testSupplier.get(), new SplittableRandom(7)::nextLong, 4096);
+
+    // Only rounding errors of sums of doubles may differ
+    assertThat(inSmallBlocks.statistic()).isCloseTo(inLargeBlocks.statistic(), within(1e-12));
+    assertThat(inSmallBlocks.pValue()).isCloseTo(inLargeBlocks.pValue(), within(1e-12));
+  }
+
+  @ParameterizedTest
+  @MethodSource("tests")
+  void weylSequenceFails(Supplier<StreamingTest> testSupplier) {
+    long[] state = {0};
+    // A pure Weyl sequence passes the frequency and runs tests, so bit 12 is biased towards 1
+    LongSupplier weyl = () -> (state[0] += 0x9E3779B97F4A7C15L) | (state[0] << 7 & 0x1000);
+    TestResult result = run(testSupplier.get(), weyl, 1000);
+
+    assertThat(result.passed(ALPHA)).as(result.toString()).isFalse();
+  }
+
+  private static TestResult run(StreamingTest test, LongSupplier generator, int blockSize) {
+    long[] block = new long[blockSize];
+    for (int remaining = SAMPLES; remaining > 0; ) {
+      int length = Math.min(blockSize, remaining);
+      for (int i = 0; i < length; i++) {
+        block[i] = generator.getAsLong();
+      }
+      test.accept(block, length);
+      remaining -= length;
+    }
+    return test.result();
+  }
+}
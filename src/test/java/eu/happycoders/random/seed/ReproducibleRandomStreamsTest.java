@@ -0,0 +1,115 @@
+package eu.happycoders.random.seed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.seed.ReproducibleRandomStreams.Chunk;
+import eu.happycoders.random.seed.ReproducibleRandomStreams.Derivation;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ReproducibleRandomStreamsTest {
+
+  private static final long multiplier = LcgKernel.multiplier;
+  private static final long mask = LcgKernel.mask;
+
+  @ParameterizedTest
+  @EnumSource(Derivation.class)
+  void childWithSameIndexHasSameSequence(Derivation derivation) {
+    ReproducibleRandomStreams streams = ReproducibleRandomStreams.of(4711, derivation);
+    assertThat(firstLongs(streams.child(3)))
+        .isEqualTo(firstLongs(ReproducibleRandomStreams.of(4711, derivation).child(3)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(Derivation.class)
+  void childrenAndRootSeedsHaveDifferentSequences(Derivation derivation) {
+    ReproducibleRandomStreams streams = ReproducibleRandomStreams.of(4711, derivation);
+    assertThat(firstLongs(streams.child(0))).isNotEqualTo(firstLongs(streams.child(1)));
+    assertThat(firstLongs(streams.child(0)))
+        .isNotEqualTo(firstLongs(ReproducibleRandomStreams.of(4712, derivation).child(0)));
+  }
+
+  @Test
+  void lcgChildrenStartAtMultiplesOfStride() {
+    ReproducibleRandomStreams streams = ReproducibleRandomStreams.of(42, Derivation.LCG_JUMP);
+    assertThat(firstLongs(streams.child(0))).isEqualTo(firstLongs(new Random(42)));
+
+    long initialState = (42 ^ multiplier) & mask;
+    RandomGenerator child = streams.child(5);
+    for (int n = 1; n <= 10; n++) {
+      assertThat(child.nextInt()).isEqualTo(LcgJump.nthInt(initialState, (5L << 32) + n));
+    }
+  }
+
+  @Test
+  void throwsForInvalidIndexes() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> ReproducibleRandomStreams.of(1).child(-1));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(
+            () ->
+                ReproducibleRandomStreams.of(1, Derivation.LCG_JUMP)
+                    .child(ReproducibleRandomStreams.MAX_LCG_CHILDREN));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> ReproducibleRandomStreams.of(1).chunk(3, 30, 10));
+  }
+
+  @Test
+  void chunksCoverAllWorkItems() {
+    List<Chunk> chunks =
+        ReproducibleRandomStreams.of(1).chunks(25, 10).collect(Collectors.toList());
+
+    assertThat(chunks).extracting(Chunk::index).containsExactly(0L, 1L, 2L);
+    assertThat(chunks).extracting(Chunk::start).containsExactly(0L, 10L, 20L);
+    assertThat(chunks).extracting(Chunk::length).containsExactly(10, 10, 5);
+    assertThat(ReproducibleRandomStreams.of(1).chunks(0, 10)).isEmpty();
+  }
+
+  @ParameterizedTest
+  @EnumSource(Derivation.class)
+  void parallelResultsDoNotDependOnParallelism(Derivation derivation) {
+    ReproducibleRandomStreams streams = ReproducibleRandomStreams.of(42, derivation);
+    double[] sequential = sumsOfDoubles(streams, 1, false);
+    for (int parallelism : new int[] {1, 2, 4, 8}) {
+      assertThat(sumsOfDoubles(streams, parallelism, true)).isEqualTo(sequential);
+    }
+  }
+
+  private static double[] sumsOfDoubles(
+      ReproducibleRandomStreams streams, int parallelism, boolean parallel) {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return pool.submit(
+              () -> {
+                Stream<Chunk> chunks = streams.chunks(100_000, 1_000);
+                return (parallel ? chunks.parallel() : chunks)
+                    .mapToDouble(
+                        chunk -> {
+                          double sum = 0;
+                          for (int i = 0; i < chunk.length(); i++) {
+                            sum += chunk.random().nextDouble();
+                          }
+                          return sum;
+                        })
+                    .toArray();
+              })
+          .join();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static long[] firstLongs(RandomGenerator random) {
+    return random.longs(10).toArray();
+  }
+}
@@ -0,0 +1,62 @@
+package eu.happycoders.random.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IntHashSetTest {
+
+  @Test
+  void addReturnsFalseForDuplicates() {
+    IntHashSet set = new IntHashSet(10);
+    assertThat(set.add(5)).isTrue();
+    assertThat(set.add(-5)).isTrue();
+    assertThat(set.add(5)).isFalse();
+    assertThat(set.add(0)).isTrue();
+    assertThat(set.add(0)).isFalse();
+    assertThat(set.size()).isEqualTo(3);
+  }
+
+  @Test
+  void clearRemovesAllElements() {
+    IntHashSet set = new IntHashSet(10);
+    set.add(1);
+    set.add(2);
+    set.clear();
+
+    assertThat(set.size()).isZero();
+    assertThat(set.contains(1)).isFalse();
+    assertThat(set.contains(2)).isFalse();
+    assertThat(set.add(1)).isTrue();
+  }
+
+  @Test
+  void behavesLikeHashSetOverManyGenerations() {
+    IntHashSet set = new IntHashSet(1000);
+    Random random = new Random(42);
+
+    for (int generation = 0; generation < 100; generation++) {
+      Set<Integer> expected = new HashSet<>();
+      for (int i = 0; i < 1000; i++) {
+        // Small range, so that there are plenty of duplicates
+        int value = random.nextInt(1500) - 750;
+        assertThat(set.add(value)).isEqualTo(expected.add(value));
+      }
+      assertThat(set.size()).isEqualTo(expected.size());
+      set.clear();
+    }
+  }
+
+  @Test
+  void throwsWhenFull() {
+    IntHashSet set = new IntHashSet(2);
+    set.add(1);
+    set.add(2);
+    assertThat(set.add(2)).isFalse();
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> set.add(3));
+  }
+}
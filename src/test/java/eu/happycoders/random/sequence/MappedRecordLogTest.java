@@ -0,0 +1,161 @@
+package eu.happycoders.random.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.NoiseScanKernels;
+import eu.happycoders.random.sequence.RandomIntegerPairRepetitionFinder.IntegerPair;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedRecordLogTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void recordsAndCheckpointSurviveReopening() {
+    Path file = tempDir.resolve("log");
+
+    try (MappedRecordLog log = MappedRecordLog.open(file, 2, 0)) {
+      log.append(1, -2);
+      log.append(new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+      log.commitNow(4711);
+    }
+
+    try (MappedRecordLog log = MappedRecordLog.open(file)) {
+      assertThat(log.longsPerRecord()).isEqualTo(2);
+      assertThat(log.size()).isEqualTo(2);
+      assertThat(log.checkpoint()).isEqualTo(4711);
+      assertThat(log.get(0, 1)).isEqualTo(-2);
+
+      long[] record = new long[2];
+      log.read(1, record);
+      assertThat(record).containsExactly(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+  }
+
+  @Test
+  void uncommittedRecordsAreDiscardedOnReopen() {
+    Path file = tempDir.resolve("log");
+
+    MappedRecordLog log = MappedRecordLog.open(file, 1, Long.MAX_VALUE);
+    log.append(1);
+    log.commitNow(1);
+    log.append(2);
+    assertThat(log.commit(2)).isFalse(); // commit interval not elapsed
+    // Simulate a crash: the file is reopened without closing the log
+
+    try (MappedRecordLog reopened = MappedRecordLog.open(file, 1, 0)) {
+      assertThat(reopened.size()).isEqualTo(1);
+      assertThat(reopened.checkpoint()).isEqualTo(1);
+
+      reopened.append(3);
+      assertThat(reopened.get(1, 0)).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void appendsAcrossSegments() {
+    Path file = tempDir.resolve("log");
+    int numberOfRecords = 3_000_000; // 16 MB segments hold 2 M single-long records
+
+    try (MappedRecordLog log = MappedRecordLog.open(file, 1, 0)) {
+      for (int i = 0; i < numberOfRecords; i++) {
+        log.append(i * 31L);
+      }
+    }
+
+    try (MappedRecordLog log = MappedRecordLog.open(file)) {
+      assertThat(log.size()).isEqualTo(numberOfRecords);
+      for (int i = 0; i < numberOfRecords; i += 99_991) {
+        assertThat(log.get(i, 0)).isEqualTo(i * 31L);
+      }
+      assertThat(log.get(numberOfRecords - 1, 0)).isEqualTo((numberOfRecords - 1) * 31L);
+    }
+  }
+
+  @Test
+  void wrongRecordSizeIsRejected() {
+    Path file = tempDir.resolve("log");
+    MappedRecordLog.open(file, 2, 0).close();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> MappedRecordLog.open(file, 3, 0));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> MappedRecordLog.open(tempDir.resolve("other"), 0, 0));
+  }
+
+  @Test
+  void otherFilesAreRejected() throws Exception {
+    Path file = tempDir.resolve("not-a-log");
+    Files.writeString(file, "Hello, world!");
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> MappedRecordLog.open(file));
+    assertThat(Files.readString(file)).isEqualTo("Hello, world!");
+  }
+
+  @Test
+  void queryingDoesNotModifyFile() throws Exception {
+    Path file = tempDir.resolve("log");
+    try (MappedRecordLog log = MappedRecordLog.open(file, 1, 0)) {
+      log.append(42);
+    }
+    byte[] contents = Files.readAllBytes(file);
+
+    try (MappedRecordLog log = MappedRecordLog.open(file)) {
+      assertThat(log.get(0, 0)).isEqualTo(42);
+      assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> log.append(1));
+      assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> log.commitNow(1));
+    }
+
+    assertThat(Files.readAllBytes(file)).isEqualTo(contents);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> MappedRecordLog.open(tempDir.resolve("missing")));
+  }
+
+  @Test
+  void appendingRecordOfWrongSizeIsRejected() {
+    try (MappedRecordLog log = MappedRecordLog.open(tempDir.resolve("log"), 2, 0)) {
+      assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> log.append(1));
+      assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> log.get(0, 0));
+    }
+  }
+
+  @Test
+  void pairFinderResumesFromLog() {
+    Path file = tempDir.resolve("pairs.log");
+    int numberOfElements = 48;
+
+    try (MappedRecordLog log = MappedRecordLog.open(file, 1, 0)) {
+      new RandomIntegerPairRepetitionFinder(log).run(numberOfElements / 2);
+    }
+    try (MappedRecordLog log = MappedRecordLog.open(file, 1, 0)) {
+      assertThat(log.checkpoint()).isEqualTo(numberOfElements / 2);
+      new RandomIntegerPairRepetitionFinder(log).run(numberOfElements);
+    }
+
+    List<IntegerPair> logged = new ArrayList<>();
+    try (MappedRecordLog log = MappedRecordLog.open(file)) {
+      assertThat(log.checkpoint()).isEqualTo(numberOfElements);
+      for (long i = 0; i < log.size(); i++) {
+        logged.add(ParallelRandomIntegerPairRepetitionFinder.fromLong(log.get(i, 0)));
+      }
+    }
+
+    List<IntegerPair> expected = new ArrayList<>();
+    int[] nextIntBuffer = new int[RandomIntegerPairRepetitionFinder.NUMBER_OF_POSSIBLE_SEEDS];
+    IntHashSet nextInts =
+        new IntHashSet(RandomIntegerPairRepetitionFinder.NUMBER_OF_POSSIBLE_SEEDS);
+    for (int i = 0; i < numberOfElements; i++) {
+      RandomIntegerPairRepetitionFinder.findPairRepetition(
+          Integer.MIN_VALUE + i, NoiseScanKernels.get(), nextIntBuffer, nextInts, expected::add);
+    }
+
+    assertThat(logged).containsExactlyElementsOf(expected);
+  }
+}
@@ -0,0 +1,97 @@
+package eu.happycoders.random.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import eu.happycoders.random.sequence.MultiPatternSequenceFinder.PatternResult;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class MultiPatternSequenceFinderTest {
+
+  @Test
+  void findsSubsequencesOfRandomSequenceAtTheirOffsets() {
+    int[] sequence = new int[100_000];
+    Random random = new Random(42);
+    for (int i = 0; i < sequence.length; i++) {
+      sequence[i] = random.nextInt();
+    }
+    int[][] patterns = MultiPatternSequenceFinder.subsequencesAt(sequence, 5, 10, 5_000, 99_995);
+
+    List<PatternResult> results =
+        new MultiPatternSequenceFinder(new Random(42), sequence.length, false, patterns).run();
+
+    assertThat(results)
+        .containsExactly(
+            new PatternResult(0, 10, 1),
+            new PatternResult(1, 5_000, 1),
+            new PatternResult(2, 99_995, 1));
+  }
+
+  @Test
+  void reportsFirstPositionAndNumberOfMatchesPerPattern() {
+    RandomGenerator random = mock(RandomGenerator.class);
+    when(random.nextInt()).thenReturn(1, 2, 3, 1, 2, 4, 1, 2, 3);
+
+    List<PatternResult> results =
+        new MultiPatternSequenceFinder(
+                random,
+                9,
+                false,
+                new int[] {1, 2, 3},
+                new int[] {1, 2},
+                new int[] {2, 4},
+                new int[] {3},
+                new int[] {4, 1, 2, 3, 5})
+            .run();
+
+    assertThat(results)
+        .containsExactly(
+            new PatternResult(0, 0, 2),
+            new PatternResult(1, 0, 3),
+            new PatternResult(2, 4, 1),
+            new PatternResult(3, 2, 2),
+            new PatternResult(4, -1, 0));
+    assertThat(results.get(4).isFound()).isFalse();
+  }
+
+  @Test
+  void stopsWhenAllPatternsAreFound() {
+    RandomGenerator random = mock(RandomGenerator.class);
+    when(random.nextInt())
+        .thenReturn(5, 7, 5, 6, 7)
+        .thenThrow(new IllegalStateException("Read beyond last pattern"));
+
+    List<PatternResult> results =
+        new MultiPatternSequenceFinder(
+                random, Long.MAX_VALUE, true, new int[] {5, 6}, new int[] {7})
+            .run();
+
+    assertThat(results).containsExactly(new PatternResult(0, 2, 1), new PatternResult(1, 1, 1));
+  }
+
+  @Test
+  void findsPrefixOfMatchingSeedOnly() {
+    int[][] patterns = MultiPatternSequenceFinder.prefixesOfSeeds(4, 1L, 2L, 3L);
+
+    List<PatternResult> results =
+        new MultiPatternSequenceFinder(new Random(2), 10_000, false, patterns).run();
+
+    assertThat(results)
+        .containsExactly(
+            new PatternResult(0, -1, 0), new PatternResult(1, 0, 1), new PatternResult(2, -1, 0));
+  }
+
+  @Test
+  void rejectsEmptyPatterns() {
+    RandomGenerator random = mock(RandomGenerator.class);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new MultiPatternSequenceFinder(random, 10, false));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new MultiPatternSequenceFinder(random, 10, false, new int[0]));
+  }
+}
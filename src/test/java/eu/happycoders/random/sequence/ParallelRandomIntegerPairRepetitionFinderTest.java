@@ -0,0 +1,105 @@
+package eu.happycoders.random.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import eu.happycoders.random.lcg.LcgKernel;
+import eu.happycoders.random.sequence.RandomIntegerPairRepetitionFinder.IntegerPair;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelRandomIntegerPairRepetitionFinderTest {
+
+  private static final long FIRST_INDEX = 0x8000_0000L - 32;
+  private static final int NUMBER_OF_INDEXES = 64;
+  private static final int CHUNK_SIZE = 8;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void findsSamePairsAsSingleThreadedSearch() {
+    List<IntegerPair> expected = findSingleThreaded();
+
+    List<IntegerPair> actual =
+        new ParallelRandomIntegerPairRepetitionFinder(
+                FIRST_INDEX, NUMBER_OF_INDEXES, CHUNK_SIZE, 4, null)
+            .run();
+
+    assertThat(actual).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void resumesFromCheckpoint() {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+
+    List<IntegerPair> firstRun =
+        new ParallelRandomIntegerPairRepetitionFinder(
+                FIRST_INDEX, NUMBER_OF_INDEXES, CHUNK_SIZE, 2, checkpointFile)
+            .run();
+    assertThat(Files.exists(checkpointFile)).isTrue();
+
+    ChunkCheckpoint checkpoint =
+        ChunkCheckpoint.loadOrCreate(checkpointFile, NUMBER_OF_INDEXES / CHUNK_SIZE, 0);
+    assertThat(checkpoint.numberOfCompletedChunks()).isEqualTo(NUMBER_OF_INDEXES / CHUNK_SIZE);
+
+    List<IntegerPair> secondRun =
+        new ParallelRandomIntegerPairRepetitionFinder(
+                FIRST_INDEX, NUMBER_OF_INDEXES, CHUNK_SIZE, 2, checkpointFile)
+            .run();
+    assertThat(secondRun).containsExactlyElementsOf(firstRun);
+  }
+
+  @Test
+  void checkpointKeepsCompletedChunksAndResults() {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+
+    ChunkCheckpoint checkpoint = ChunkCheckpoint.loadOrCreate(checkpointFile, 100, 0);
+    checkpoint.complete(3, new long[] {17L, -5L, 99L}, 2);
+    checkpoint.complete(64, new long[0], 0);
+    checkpoint.save();
+
+    ChunkCheckpoint loaded = ChunkCheckpoint.loadOrCreate(checkpointFile, 100, 0);
+    assertThat(loaded.isCompleted(3)).isTrue();
+    assertThat(loaded.isCompleted(4)).isFalse();
+    assertThat(loaded.isCompleted(64)).isTrue();
+    assertThat(loaded.results()).containsExactly(17L, -5L);
+  }
+
+  @Test
+  void checkpointForDifferentNumberOfChunksIsRejected() {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    ChunkCheckpoint.loadOrCreate(checkpointFile, 100, 0).save();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> ChunkCheckpoint.loadOrCreate(checkpointFile, 200, 0));
+  }
+
+  @Test
+  void integerPairIsEncodedLosslessly() {
+    IntegerPair integerPair = new IntegerPair(-1_234_567, Integer.MIN_VALUE);
+    long encoded = ParallelRandomIntegerPairRepetitionFinder.toLong(integerPair);
+    assertThat(ParallelRandomIntegerPairRepetitionFinder.fromLong(encoded)).isEqualTo(integerPair);
+  }
+
+  private static List<IntegerPair> findSingleThreaded() {
+    List<IntegerPair> integerPairs = new ArrayList<>();
+    for (long index = FIRST_INDEX; index < FIRST_INDEX + NUMBER_OF_INDEXES; index++) {
+      int firstNumber = (int) (Integer.MIN_VALUE + index);
+      Set<Integer> nextInts = new HashSet<>();
+      for (int noise = 0; noise < 1 << 16; noise++) {
+        long seed = Integer.toUnsignedLong(firstNumber) << 16 | noise;
+        int nextInt = LcgKernel.intFromSeed(LcgKernel.nextSeed(seed));
+        if (!nextInts.add(nextInt)) {
+          integerPairs.add(new IntegerPair(firstNumber, nextInt));
+        }
+      }
+    }
+    return integerPairs;
+  }
+}
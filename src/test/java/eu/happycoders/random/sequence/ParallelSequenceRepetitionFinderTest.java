@@ -0,0 +1,85 @@
+package eu.happycoders.random.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import eu.happycoders.random.lcg.LcgJump;
+import eu.happycoders.random.sequence.SequenceRepetitionFinder.Result;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelSequenceRepetitionFinderTest {
+
+  private static final long INITIAL_STATE = 0x1234_5678_9ABCL;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void sameSequenceIsDetectedAfterFullPeriod() {
+    int[] storedSequence = numbersAt(0, 5);
+
+    ParallelSequenceRepetitionFinder finder =
+        new ParallelSequenceRepetitionFinder(
+            INITIAL_STATE, storedSequence, LcgJump.PERIOD - 64, 128, 16, 4, null);
+
+    assertThat(finder.run())
+        .isEqualTo(Result.FOUND_SAME_SEQUENCE_AFTER_ITERATING_OVER_FULL_RANDOM_NUMBER_SEQUENCE);
+    assertThat(finder.matchPosition()).isEqualTo(LcgJump.PERIOD);
+  }
+
+  @Test
+  void matchStraddlingSegmentBoundaryIsDetected() {
+    // Segment 0 ends at position 500, so the match reaches into segment 1
+    int[] storedSequence = numbersAt(500, 4);
+
+    ParallelSequenceRepetitionFinder finder =
+        new ParallelSequenceRepetitionFinder(
+            INITIAL_STATE, storedSequence, 0, 2 * 501, 501, 2, null);
+
+    assertThat(finder.run()).isEqualTo(Result.FOUND_SAME_SEQUENCE_EARLY);
+    assertThat(finder.matchPosition()).isEqualTo(500);
+    assertThat(finder.matchLengthCounts()[4]).isEqualTo(1);
+  }
+
+  @Test
+  void partialMatchesAreCounted() {
+    int[] storedSequence = numbersAt(300, 3);
+    storedSequence[2] ^= 1;
+
+    ParallelSequenceRepetitionFinder finder =
+        new ParallelSequenceRepetitionFinder(INITIAL_STATE, storedSequence, 0, 1_024, 64, 3, null);
+
+    assertThat(finder.run()).isNull();
+    assertThat(finder.matchPosition()).isEqualTo(-1);
+    assertThat(finder.matchLengthCounts()).containsExactly(0, 0, 1, 0);
+  }
+
+  @Test
+  void resumesFromCheckpoint() {
+    Path checkpointFile = tempDir.resolve("checkpoint");
+    int[] storedSequence = numbersAt(700, 3);
+
+    ParallelSequenceRepetitionFinder firstRun =
+        new ParallelSequenceRepetitionFinder(
+            INITIAL_STATE, storedSequence, 0, 1_024, 64, 2, checkpointFile);
+    assertThat(firstRun.run()).isEqualTo(Result.FOUND_SAME_SEQUENCE_EARLY);
+
+    ChunkCheckpoint checkpoint = ChunkCheckpoint.loadOrCreate(checkpointFile, 16, 0);
+    assertThat(checkpoint.isCompleted(700 / 64)).isTrue();
+    assertThat(checkpoint.results()).containsExactly(700L);
+
+    ParallelSequenceRepetitionFinder secondRun =
+        new ParallelSequenceRepetitionFinder(
+            INITIAL_STATE, storedSequence, 0, 1_024, 64, 2, checkpointFile);
+    assertThat(secondRun.run()).isEqualTo(Result.FOUND_SAME_SEQUENCE_EARLY);
+    assertThat(secondRun.matchPosition()).isEqualTo(700);
+  }
+
+  private static int[] numbersAt(long position, int length) {
+    int[] numbers = new int[length];
+    for (int i = 0; i < length; i++) {
+      numbers[i] = LcgJump.nthInt(INITIAL_STATE, position + i + 1);
+    }
+    return numbers;
+  }
+}
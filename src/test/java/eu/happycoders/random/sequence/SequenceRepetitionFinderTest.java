@@ -5,7 +5,10 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import eu.happycoders.random.metrics.FinderMetrics;
 import eu.happycoders.random.sequence.SequenceRepetitionFinder.Result;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.random.RandomGenerator;
 import org.junit.jupiter.api.Test;
 
@@ -113,4 +116,31 @@ class SequenceRepetitionFinderTest {
     assertThat(result)
         .isEqualTo(Result.FOUND_SAME_SEQUENCE_AFTER_ITERATING_OVER_FULL_RANDOM_NUMBER_SEQUENCE);
   }
+
+  @Test
+  void matchesAreReportedAndCountedByLength() {
+    RandomGenerator random = mock(RandomGenerator.class);
+    when(random.nextInt())
+        .thenReturn(
+            1, 2, 3, 4, 5, 6, 1, 2, 3, 7, 1, 9, //
+            1, 2, 3, 4, 5, 6, 1, 2, 3, 7, 1, 9)
+        .thenThrow(new IllegalStateException("Sequence traversed twice"));
+    List<String> matches = new ArrayList<>();
+
+    SequenceRepetitionFinder sequenceRepetitionFinder =
+        new SequenceRepetitionFinder(
+            random, 12, 4, (matchLength, position) -> matches.add(matchLength + "@" + position));
+    Result result = sequenceRepetitionFinder.run();
+
+    assertThat(result)
+        .isEqualTo(Result.FOUND_SAME_SEQUENCE_AFTER_ITERATING_OVER_FULL_RANDOM_NUMBER_SEQUENCE);
+    assertThat(matches).containsExactly("3@6", "1@10", "4@12");
+    assertThat(sequenceRepetitionFinder.matchLengthCounters()).containsExactly(0, 1, 0, 1, 1);
+
+    FinderMetrics metrics = sequenceRepetitionFinder.metrics();
+    assertThat(metrics.getMatchesByLength()).containsExactly(0, 1, 0, 1, 1);
+    assertThat(metrics.getCandidatesStarted()).isEqualTo(3);
+    assertThat(metrics.getCandidatesDropped()).isEqualTo(2);
+    assertThat(metrics.getNumbersGenerated()).isEqualTo(16);
+  }
 }
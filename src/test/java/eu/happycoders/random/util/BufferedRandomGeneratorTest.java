@@ -0,0 +1,139 @@
+package eu.happycoders.random.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class BufferedRandomGeneratorTest {
+
+  /** Not thread-safe on purpose: concurrent unsynchronized calls would hand out duplicates. */
+  private static final class CountingGenerator implements RandomGenerator {
+    private long counter;
+
+    @Override
+    public long nextLong() {
+      return counter++;
+    }
+  }
+
+  @Test
+  void throwsForInvalidBufferSize() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BufferedRandomGenerator(new CountingGenerator(), 0));
+  }
+
+  @Test
+  void singleThreadSeesDelegateSequence() {
+    BufferedRandomGenerator random = new BufferedRandomGenerator(new CountingGenerator(), 16);
+    for (long i = 0; i < 100; i++) {
+      assertThat(random.nextLong()).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void sameValuesAsDelegateForSplittableRandom() {
+    BufferedRandomGenerator random = new BufferedRandomGenerator(new SplittableRandom(42), 7);
+    SplittableRandom reference = new SplittableRandom(42);
+    for (int i = 0; i < 100; i++) {
+      assertThat(random.nextLong()).isEqualTo(reference.nextLong());
+    }
+  }
+
+  @Test
+  void countsEveryRefillAsStallWithoutPrefetching() {
+    BufferedRandomGenerator random = new BufferedRandomGenerator(new CountingGenerator(), 10);
+    for (int i = 0; i < 95; i++) {
+      random.nextLong();
+    }
+
+    BufferedRandomGenerator.RefillStats stats = random.refillStats();
+    assertThat(stats.stalls()).isEqualTo(10);
+    assertThat(stats.prefetches()).isZero();
+  }
+
+  @Test
+  void prefetchedBuffersDoNotStall() {
+    // Runs the prefetch immediately, so the standby buffer is always ready
+    Executor directExecutor = Runnable::run;
+    BufferedRandomGenerator random =
+        new BufferedRandomGenerator(new CountingGenerator(), 10, directExecutor);
+    for (long i = 0; i < 95; i++) {
+      assertThat(random.nextLong()).isEqualTo(i);
+    }
+
+    BufferedRandomGenerator.RefillStats stats = random.refillStats();
+    assertThat(stats.stalls()).isEqualTo(1); // the initial fill
+    assertThat(stats.prefetches()).isEqualTo(10);
+  }
+
+  @Test
+  void stallsIfPrefetchHasNotCompleted() {
+    List<Runnable> pendingPrefetches = new ArrayList<>();
+    BufferedRandomGenerator random =
+        new BufferedRandomGenerator(new CountingGenerator(), 10, pendingPrefetches::add);
+    for (int i = 0; i < 15; i++) {
+      random.nextLong();
+    }
+    assertThat(random.refillStats().stalls()).isEqualTo(2);
+
+    pendingPrefetches.remove(0).run();
+    for (int i = 0; i < 10; i++) {
+      random.nextLong();
+    }
+    assertThat(random.refillStats().stalls()).isEqualTo(2);
+    assertThat(random.refillStats().prefetches()).isEqualTo(1);
+    assertThat(pendingPrefetches).hasSize(1);
+  }
+
+  @Test
+  void boundedValuesAreWithinBounds() {
+    BufferedRandomGenerator random =
+        BufferedRandomGenerator.prefetching(new SplittableRandom(), 64);
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(RandomUtils.nextInt(random, 10, 20)).isBetween(10, 19);
+      assertThat(random.nextDouble()).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+    }
+  }
+
+  @Test
+  void sharedInstanceDoesNotHandOutSameValueTwice() throws InterruptedException {
+    BufferedRandomGenerator random =
+        BufferedRandomGenerator.prefetching(new CountingGenerator(), 100);
+    int numberOfThreads = 4;
+    int numbersPerThread = 50_000;
+
+    List<long[]> results = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < numberOfThreads; t++) {
+      long[] values = new long[numbersPerThread];
+      results.add(values);
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int i = 0; i < numbersPerThread; i++) {
+                  values[i] = random.nextLong();
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Set<Long> allValues = new HashSet<>();
+    for (long[] values : results) {
+      for (long value : values) {
+        assertThat(allValues.add(value)).isTrue();
+      }
+    }
+  }
+}
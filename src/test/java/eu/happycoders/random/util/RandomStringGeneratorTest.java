@@ -0,0 +1,84 @@
+package eu.happycoders.random.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class RandomStringGeneratorTest {
+
+  @Test
+  void generatesStringOfRequestedLengthFromAlphabet() {
+    String alphabet = "abcdefghijklmnopqrstuvwxyz";
+    String string = new RandomStringGenerator(alphabet).nextString(1_000);
+
+    assertThat(string).hasSize(1_000);
+    assertThat(string.chars()).allMatch(c -> alphabet.indexOf(c) >= 0);
+  }
+
+  @Test
+  void usesAllCharactersUniformly() {
+    String alphabet = "0123456789";
+    String string =
+        new RandomStringGenerator(alphabet).nextString(new SplittableRandom(7), 1_000_000);
+
+    int[] counts = new int[alphabet.length()];
+    for (int i = 0; i < string.length(); i++) {
+      counts[alphabet.indexOf(string.charAt(i))]++;
+    }
+    for (int count : counts) {
+      assertThat(count).isBetween(98_500, 101_500);
+    }
+  }
+
+  @Test
+  void isReproducibleWithSeededGenerator() {
+    RandomStringGenerator generator = new RandomStringGenerator("ABC");
+
+    assertThat(generator.nextString(new SplittableRandom(1), 50))
+        .isEqualTo(generator.nextString(new SplittableRandom(1), 50));
+  }
+
+  @Test
+  void supportsSingleCharacterAlphabet() {
+    assertThat(new RandomStringGenerator("x").nextString(5)).isEqualTo("xxxxx");
+  }
+
+  @Test
+  void supportsNonLatin1Alphabet() {
+    String alphabet = "αβγδ€";
+    String string = new RandomStringGenerator(alphabet).nextString(100);
+
+    assertThat(string).hasSize(100);
+    assertThat(string.chars()).allMatch(c -> alphabet.indexOf(c) >= 0);
+  }
+
+  @Test
+  void writesIntoCharArrayRange() {
+    char[] dest = "----------".toCharArray();
+    new RandomStringGenerator("ab").nextChars(new SplittableRandom(3), dest, 2, 6);
+
+    assertThat(new String(dest)).matches("--[ab]{6}--");
+  }
+
+  @Test
+  void appendsToStringBuilder() {
+    StringBuilder sb = new StringBuilder("id-");
+    new RandomStringGenerator("0123456789abcdef").appendTo(new SplittableRandom(5), sb, 16);
+
+    assertThat(sb.toString()).matches("id-[0-9a-f]{16}");
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new RandomStringGenerator(""));
+
+    RandomStringGenerator generator = new RandomStringGenerator("ab");
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> generator.nextString(-1));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+        .isThrownBy(() -> generator.nextChars(new SplittableRandom(), new char[4], 2, 3));
+  }
+}
@@ -0,0 +1,134 @@
+package eu.happycoders.random.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class RandomUtilsTest {
+
+  @Test
+  void fillsIntArrayWithValuesInRange() {
+    int[] values = new int[10_001];
+    RandomUtils.fill(values, -5, 5);
+
+    assertThat(Arrays.stream(values).min().getAsInt()).isEqualTo(-5);
+    assertThat(Arrays.stream(values).max().getAsInt()).isEqualTo(4);
+  }
+
+  @Test
+  void fillsIntArrayUniformly() {
+    int bound = 7;
+    int[] values = new int[700_000];
+    RandomUtils.fill(new SplittableRandom(42), values, 0, bound);
+
+    int[] counts = new int[bound];
+    for (int value : values) {
+      counts[value]++;
+    }
+    // Expected 100,000 per value; standard deviation is about 293
+    for (int count : counts) {
+      assertThat(count).isBetween(98_500, 101_500);
+    }
+  }
+
+  @Test
+  void fillsIntArrayWithFullRange() {
+    int[] values = new int[1_000];
+    RandomUtils.fill(values, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    assertThat(Arrays.stream(values).min().getAsInt()).isLessThan(Integer.MIN_VALUE / 2);
+    assertThat(Arrays.stream(values).max().getAsInt())
+        .isGreaterThan(Integer.MAX_VALUE / 2)
+        .isLessThan(Integer.MAX_VALUE);
+  }
+
+  @Test
+  void throwsWhenOriginIsNotLessThanBound() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> RandomUtils.fill(new int[1], 5, 5));
+  }
+
+  @Test
+  void fillsDoubleArrayWithValuesInUnitInterval() {
+    double[] values = new double[10_000];
+    RandomUtils.fill(values);
+
+    assertThat(Arrays.stream(values).min().getAsDouble()).isGreaterThanOrEqualTo(0.0);
+    assertThat(Arrays.stream(values).max().getAsDouble()).isLessThan(1.0);
+  }
+
+  @Test
+  void fillsLongArray() {
+    long[] values = new long[10_000];
+    RandomUtils.fill(values);
+
+    assertThat(values).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void fillsRemainingBytesOfHeapBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocate(1_003);
+    buffer.position(2);
+    RandomUtils.fill(new SplittableRandom(1), buffer);
+
+    assertThat(buffer.position()).isEqualTo(buffer.limit());
+    assertThat(buffer.get(0)).isZero();
+    assertThat(buffer.get(1)).isZero();
+    assertThat(countZeroBytes(buffer, 2)).isLessThan(20);
+  }
+
+  @Test
+  void fillsRemainingBytesOfDirectBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1_005);
+    buffer.limit(1_001);
+    RandomUtils.fill(new SplittableRandom(1), buffer);
+
+    assertThat(buffer.position()).isEqualTo(1_001);
+    assertThat(countZeroBytes(buffer, 0)).isLessThan(20);
+    buffer.limit(buffer.capacity());
+    assertThat(buffer.get(1_001)).isZero();
+  }
+
+  private static int countZeroBytes(ByteBuffer buffer, int from) {
+    int count = 0;
+    for (int i = from; i < buffer.limit(); i++) {
+      if (buffer.get(i) == 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  void randomStringsAreEmptyForNonPositiveLengths() {
+    assertThat(RandomUtils.randomString(0, "")).isEmpty();
+    assertThat(RandomUtils.randomString(-1, "")).isEmpty();
+    assertThat(RandomUtils.randomString(0, "abc")).isEmpty();
+    assertThat(RandomUtils.randomString(-5, "abc")).isEmpty();
+    assertThat(RandomUtils.randomLowerCaseString(-1)).isEmpty();
+    assertThat(RandomUtils.randomAlphanumericalWithSpaceString(-1)).isEmpty();
+  }
+
+  @Test
+  void randomStringRejectsEmptyAlphabetForPositiveLength() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> RandomUtils.randomString(1, ""));
+  }
+
+  @Test
+  void randomStringReusesGeneratorForSameAlphabet() {
+    RandomStringGenerator generator = RandomUtils.generatorFor("xyz");
+    assertThat(RandomUtils.generatorFor(new String("xyz"))).isSameAs(generator);
+    assertThat(RandomUtils.generatorFor("abc")).isNotSameAs(generator);
+  }
+
+  @Test
+  void randomStringHasRequestedLengthAndAlphabet() {
+    assertThat(RandomUtils.randomString(100, "ab")).hasSize(100).matches("[ab]+");
+    assertThat(RandomUtils.randomLowerCaseString(50)).hasSize(50).matches("[a-z]+");
+  }
+}
@@ -0,0 +1,87 @@
+package eu.happycoders.random.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class StripedRandomTest {
+
+  @Test
+  void numberOfCellsIsRoundedUpToPowerOfTwo() {
+    assertThat(new StripedRandom(1, 1).numberOfCells()).isEqualTo(1);
+    assertThat(new StripedRandom(1, 5).numberOfCells()).isEqualTo(8);
+    assertThat(new StripedRandom(1, 8).numberOfCells()).isEqualTo(8);
+  }
+
+  @Test
+  void throwsForInvalidNumberOfCells() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new StripedRandom(1, 0));
+  }
+
+  @Test
+  void singleCellGeneratorIsReproducible() {
+    StripedRandom random1 = new StripedRandom(42, 1);
+    StripedRandom random2 = new StripedRandom(42, 1);
+    for (int i = 0; i < 100; i++) {
+      assertThat(random1.nextLong()).isEqualTo(random2.nextLong());
+    }
+  }
+
+  @Test
+  void boundedValuesAreWithinBounds() {
+    StripedRandom random = new StripedRandom();
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(random.nextInt(10, 20)).isBetween(10, 19);
+      assertThat(random.nextDouble()).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+    }
+  }
+
+  @Test
+  void sharedInstanceDoesNotHandOutSameValueTwice() throws InterruptedException {
+    StripedRandom random = new StripedRandom(4711, 2);
+    int numberOfThreads = 4;
+    int numbersPerThread = 50_000;
+
+    List<long[]> results = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    CountDownLatch startLatch = new CountDownLatch(1);
+    for (int t = 0; t < numberOfThreads; t++) {
+      long[] values = new long[numbersPerThread];
+      results.add(values);
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  startLatch.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+                for (int i = 0; i < numbersPerThread; i++) {
+                  values[i] = random.nextLong();
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    startLatch.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // A lost compare-and-set update would hand out the same value to two threads
+    Set<Long> distinct = new HashSet<>();
+    for (long[] values : results) {
+      for (long value : values) {
+        distinct.add(value);
+      }
+    }
+    assertThat(distinct).hasSize(numberOfThreads * numbersPerThread);
+  }
+}